@@ -0,0 +1,58 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+
+/**
+ * A single benchmark run by the {@link biolockj.benchmark.BenchmarkRunner}.<br>
+ * Test data is built once by {@link #setUp(File)}, then {@link #run()} is called repeatedly and timed. Each call to
+ * {@link #run()} is one operation, so the runner reports the average time per operation.
+ */
+public abstract class Benchmark {
+
+	/**
+	 * Construct a benchmark with the given name, usually "Class.method" of the code being measured.
+	 *
+	 * @param name Benchmark name
+	 */
+	protected Benchmark( final String name ) {
+		this.name = name;
+	}
+
+	/**
+	 * Get the benchmark name.
+	 *
+	 * @return Benchmark name
+	 */
+	public String getName() {
+		return this.name;
+	}
+
+	/**
+	 * Run 1 operation. The return value is consumed by the runner, so the JIT cannot eliminate the work.
+	 *
+	 * @return Result of the operation
+	 * @throws Exception if errors occur
+	 */
+	public abstract Object run() throws Exception;
+
+	/**
+	 * Build the test data for this benchmark. Called once before the warmup iterations.
+	 *
+	 * @param dir Directory for test files
+	 * @throws Exception if unable to build the test data
+	 */
+	public void setUp( final File dir ) throws Exception {}
+
+	private final String name;
+}
@@ -0,0 +1,223 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.util.*;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.util.OtuUtil;
+import biolockj.util.TaxaUtil;
+
+/**
+ * Build the {@link biolockj.Config} and the seeded test data used by the benchmarks, so every run measures the same
+ * input.<br>
+ * OTUs are built from a fixed taxonomy tree: each leaf index maps to 1 parent at each level, so every OTU path is
+ * consistent with the others.
+ */
+public class BenchmarkData {
+
+	// Prevent instantiation
+	private BenchmarkData() {}
+
+	/**
+	 * Build a Kraken2 (mpa format) report with a line for each taxa at every level, as output by
+	 * {@link biolockj.module.classifier.wgs.Kraken2Classifier}. Parent lines report the sum of their children.
+	 *
+	 * @param file Output file
+	 * @param numOtus Number of leaf (species) OTUs
+	 * @param seed Random seed
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeKraken2Report( final File file, final int numOtus, final long seed ) throws IOException {
+		final Random random = new Random( seed );
+		final TreeMap<String, Long> counts = new TreeMap<>();
+		for( int i = 0; i < numOtus; i++ ) {
+			final long count = 1 + random.nextInt( MAX_COUNT );
+			final StringBuilder path = new StringBuilder();
+			final int[] index = getTaxaIndex( i, numOtus );
+			for( int level = 0; level < LEVELS.length; level++ ) {
+				if( level > 0 ) path.append( Constants.OTU_SEPARATOR );
+				path.append( KRAKEN_DELIMS[ level ] ).append( getTaxaName( level, index[ level ] ) );
+				final String key = path.toString();
+				counts.put( key, ( counts.get( key ) == null ? 0L: counts.get( key ) ) + count );
+			}
+		}
+
+		try( BufferedWriter writer = new BufferedWriter( new FileWriter( file ) ) ) {
+			for( final String taxa: counts.keySet() )
+				writer.write( taxa + Constants.TAB_DELIM + counts.get( taxa ) + Constants.RETURN );
+		}
+	}
+
+	/**
+	 * Build an OTU count file, formatted as {@link biolockj.module.implicit.parser.ParserModule} output.
+	 *
+	 * @param file Output file
+	 * @param otuCounts OTU counts
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeOtuCountFile( final File file, final Map<String, Long> otuCounts ) throws IOException {
+		try( BufferedWriter writer = new BufferedWriter( new FileWriter( file ) ) ) {
+			for( final String otu: otuCounts.keySet() )
+				writer.write( otu + Constants.TAB_DELIM + otuCounts.get( otu ) + Constants.RETURN );
+		}
+	}
+
+	/**
+	 * Build a FastQ file with Illumina style headers.
+	 *
+	 * @param file Output file
+	 * @param numReads Number of reads
+	 * @param readLen Number of bases per read
+	 * @param seed Random seed
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeFastq( final File file, final int numReads, final int readLen, final long seed )
+		throws IOException {
+		final Random random = new Random( seed );
+		final char[] seq = new char[ readLen ];
+		final char[] qual = new char[ readLen ];
+		try( BufferedWriter writer = new BufferedWriter( new FileWriter( file ) ) ) {
+			for( int i = 0; i < numReads; i++ ) {
+				for( int j = 0; j < readLen; j++ ) {
+					seq[ j ] = BASES[ random.nextInt( BASES.length ) ];
+					qual[ j ] = (char) ( '!' + 20 + random.nextInt( 21 ) );
+				}
+				writer.write( getReadHeader( i ) + Constants.RETURN );
+				writer.write( seq );
+				writer.write( Constants.RETURN + "+" + Constants.RETURN );
+				writer.write( qual );
+				writer.write( Constants.RETURN );
+			}
+		}
+	}
+
+	/**
+	 * Build a taxonomy table with samples as rows and taxa as columns, as read by
+	 * {@link biolockj.util.TaxaUtil#readTaxaTable(File)}.
+	 *
+	 * @param file Output file, named as a {@link biolockj.util.TaxaUtil} table
+	 * @param numSamples Number of samples
+	 * @param numTaxa Number of taxa
+	 * @param seed Random seed
+	 * @throws IOException if unable to write the file
+	 */
+	public static void writeTaxaTable( final File file, final int numSamples, final int numTaxa, final long seed )
+		throws IOException {
+		final Random random = new Random( seed );
+		try( BufferedWriter writer = new BufferedWriter( new FileWriter( file ) ) ) {
+			writer.write( SAMPLE_ID_HEADER );
+			for( int i = 0; i < numTaxa; i++ )
+				writer.write( Constants.TAB_DELIM + getTaxaName( LEVELS.length - 2, i ) );
+			writer.write( Constants.RETURN );
+			for( int s = 0; s < numSamples; s++ ) {
+				writer.write( getSampleId( s ) );
+				for( int i = 0; i < numTaxa; i++ )
+					writer.write( Constants.TAB_DELIM + random.nextInt( MAX_COUNT ) );
+				writer.write( Constants.RETURN );
+			}
+		}
+	}
+
+	/**
+	 * Build random OTU counts for a sample.
+	 *
+	 * @param numOtus Number of OTUs in the taxonomy tree
+	 * @param seed Random seed
+	 * @return TreeMap(OTU, count)
+	 */
+	public static TreeMap<String, Long> getOtuCounts( final int numOtus, final long seed ) {
+		final Random random = new Random( seed );
+		final TreeMap<String, Long> otuCounts = new TreeMap<>();
+		for( int i = 0; i < numOtus; i++ )
+			if( random.nextInt( 4 ) > 0 ) otuCounts.put( getOtu( i, numOtus ), 1L + random.nextInt( MAX_COUNT ) );
+		return otuCounts;
+	}
+
+	/**
+	 * Build the full OTU path of the leaf OTU at the given index.
+	 *
+	 * @param leaf Leaf index
+	 * @param numOtus Number of OTUs in the taxonomy tree
+	 * @return OTU path, with every level from {@value biolockj.Constants#DOMAIN} to {@value biolockj.Constants#SPECIES}
+	 */
+	public static String getOtu( final int leaf, final int numOtus ) {
+		final StringBuilder otu = new StringBuilder();
+		final int[] index = getTaxaIndex( leaf, numOtus );
+		for( int level = 0; level < LEVELS.length; level++ ) {
+			if( level > 0 ) otu.append( Constants.OTU_SEPARATOR );
+			otu.append( OtuUtil.buildOtuTaxa( LEVELS[ level ], getTaxaName( level, index[ level ] ) ) );
+		}
+		return otu.toString();
+	}
+
+	/**
+	 * Get the header line of the read at the given index.
+	 *
+	 * @param read Read index
+	 * @return Illumina style header
+	 */
+	public static String getReadHeader( final int read ) {
+		return "@M01234:56:000000000-ABCDE:1:" + ( 1101 + read / 10000 ) + ":" + read % 10000 + ":" + read % 997 +
+			" 1:N:0:" + read % 12;
+	}
+
+	/**
+	 * Get the sample ID at the given index.
+	 *
+	 * @param sample Sample index
+	 * @return Sample ID
+	 */
+	public static String getSampleId( final int sample ) {
+		return String.format( "sample%05d", sample );
+	}
+
+	/**
+	 * Set the minimum {@link biolockj.Config} properties used by the benchmarked code: FastQ paired reads, every
+	 * taxonomy level, and no logging (log messages are cached in memory until the log file is created).
+	 *
+	 * @throws Exception if unable to initialize the Config
+	 */
+	public static void initConfig() throws Exception {
+		Log.enableLogs( false );
+		Config.initBlankProps();
+		Config.setConfigProperty( Constants.INTERNAL_SEQ_TYPE, Constants.FASTQ );
+		Config.setConfigProperty( Constants.INTERNAL_PAIRED_READS, Constants.TRUE );
+		Config.setConfigProperty( Constants.INPUT_FORWARD_READ_SUFFIX, "_R1" );
+		Config.setConfigProperty( Constants.INPUT_REVERSE_READ_SUFFIX, "_R2" );
+		Config.setConfigProperty( Constants.REPORT_UNCLASSIFIED_TAXA, Constants.TRUE );
+		Config.setConfigProperty( Constants.REPORT_TAXONOMY_LEVELS, Arrays.asList( LEVELS ) );
+		TaxaUtil.initTaxaLevels();
+	}
+
+	private static int[] getTaxaIndex( final int leaf, final int numOtus ) {
+		final int[] index = new int[ LEVELS.length ];
+		index[ LEVELS.length - 1 ] = leaf;
+		for( int level = LEVELS.length - 2; level >= 0; level-- )
+			index[ level ] = index[ level + 1 ] % Math.max( 1, Math.min( LEVEL_SIZE[ level ], numOtus ) );
+		return index;
+	}
+
+	private static String getTaxaName( final int level, final int index ) {
+		return Character.toUpperCase( LEVELS[ level ].charAt( 0 ) ) + LEVELS[ level ].substring( 1 ) + "_" + index;
+	}
+
+	private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+	private static final String[] KRAKEN_DELIMS = { "d__", "p__", "c__", "o__", "f__", "g__", "s__" };
+	private static final int[] LEVEL_SIZE = { 2, 25, 60, 150, 400, 1500 };
+	private static final String[] LEVELS = { Constants.DOMAIN, Constants.PHYLUM, Constants.CLASS, Constants.ORDER,
+		Constants.FAMILY, Constants.GENUS, Constants.SPECIES };
+	private static final int MAX_COUNT = 1000;
+	private static final String SAMPLE_ID_HEADER = "SampleID";
+}
@@ -0,0 +1,174 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.*;
+import org.apache.commons.io.FileUtils;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import biolockj.util.BioLockJUtil;
+
+/**
+ * Run the BioLockJ hot path benchmarks and save the results as JSON, so results can be compared between releases.<br>
+ * Each benchmark runs warmup iterations followed by measured iterations. Each iteration calls
+ * {@link biolockj.benchmark.Benchmark#run()} until the iteration time has passed, and the average time per call is
+ * recorded. The JSON output follows the JMH result format (1 object per benchmark with a "primaryMetric"), so the same
+ * tools can be used to compare results.
+ * <p>
+ * Usage: java biolockj.benchmark.BenchmarkRunner [-o results.json] [-f regex] [-w warmup] [-i iterations] [-t millis]
+ * <ul>
+ * <li>-o Output JSON file (default: {@value #DEFAULT_OUTPUT})
+ * <li>-f Only run benchmarks with a name that matches this regular expression
+ * <li>-w Number of warmup iterations (default: {@value #DEFAULT_WARMUP})
+ * <li>-i Number of measured iterations (default: {@value #DEFAULT_ITERATIONS})
+ * <li>-t Milliseconds per iteration (default: {@value #DEFAULT_ITERATION_MILLIS})
+ * </ul>
+ */
+public class BenchmarkRunner {
+
+	// Prevent instantiation
+	private BenchmarkRunner() {}
+
+	/**
+	 * Run the benchmarks.
+	 *
+	 * @param args Runtime parameters, as described in the class comment
+	 * @throws Exception if any benchmark fails
+	 */
+	public static void main( final String[] args ) throws Exception {
+		final Map<String, String> params = parseArgs( args );
+		final File output = new File( getParam( params, "-o", DEFAULT_OUTPUT ) );
+		final String filter = params.get( "-f" );
+		final int warmup = Integer.valueOf( getParam( params, "-w", String.valueOf( DEFAULT_WARMUP ) ) );
+		final int iterations = Integer.valueOf( getParam( params, "-i", String.valueOf( DEFAULT_ITERATIONS ) ) );
+		final long millis = Long.valueOf( getParam( params, "-t", String.valueOf( DEFAULT_ITERATION_MILLIS ) ) );
+
+		BenchmarkData.initConfig();
+		final File dir = Files.createTempDirectory( "biolockj_benchmark" ).toFile();
+		final JSONArray results = new JSONArray();
+		try {
+			for( final Benchmark benchmark: getBenchmarks() ) {
+				if( filter != null && !benchmark.getName().matches( filter ) ) continue;
+				System.out.println( "Benchmark: " + benchmark.getName() );
+				benchmark.setUp( dir );
+				for( int i = 0; i < warmup; i++ )
+					System.out.println( "  Warmup " + ( i + 1 ) + ": " + format( runIteration( benchmark, millis ) ) );
+
+				final List<Double> scores = new ArrayList<>();
+				for( int i = 0; i < iterations; i++ ) {
+					scores.add( runIteration( benchmark, millis ) );
+					System.out.println( "  Iteration " + ( i + 1 ) + ": " + format( scores.get( i ) ) );
+				}
+				results.put( getResult( benchmark, scores, warmup, millis ) );
+			}
+		} finally {
+			FileUtils.deleteQuietly( dir );
+		}
+
+		if( output.getParentFile() != null ) output.getParentFile().mkdirs();
+		FileUtils.writeStringToFile( output, results.toString( 4 ), StandardCharsets.UTF_8 );
+		System.out.println( "Saved " + results.length() + " benchmark results: " + output.getAbsolutePath() +
+			" (sink=" + sink + ")" );
+	}
+
+	private static String format( final double score ) {
+		return String.format( "%.3f %s", score, SCORE_UNIT );
+	}
+
+	private static List<Benchmark> getBenchmarks() {
+		final List<Benchmark> benchmarks = new ArrayList<>();
+		benchmarks.addAll( SeqBenchmarks.getBenchmarks() );
+		benchmarks.addAll( OtuBenchmarks.getBenchmarks() );
+		benchmarks.addAll( TaxaBenchmarks.getBenchmarks() );
+		return benchmarks;
+	}
+
+	private static String getParam( final Map<String, String> params, final String name, final String defaultVal ) {
+		return params.get( name ) == null ? defaultVal: params.get( name );
+	}
+
+	private static JSONObject getResult( final Benchmark benchmark, final List<Double> scores, final int warmup,
+		final long millis ) {
+		double sum = 0.0;
+		for( final Double score: scores )
+			sum += score;
+		final double mean = sum / scores.size();
+		double variance = 0.0;
+		for( final Double score: scores )
+			variance += ( score - mean ) * ( score - mean );
+		final double stdDev = scores.size() > 1 ? Math.sqrt( variance / ( scores.size() - 1 ) ): 0.0;
+		final double error = Z_99_9 * stdDev / Math.sqrt( scores.size() );
+
+		final JSONObject metric = new JSONObject();
+		metric.put( "score", mean );
+		metric.put( "scoreError", scores.size() > 1 ? error: JSONObject.NULL );
+		metric.put( "scoreConfidence", new JSONArray( Arrays.asList( mean - error, mean + error ) ) );
+		metric.put( "scoreUnit", SCORE_UNIT );
+		metric.put( "rawData", new JSONArray().put( new JSONArray( scores ) ) );
+
+		final JSONObject result = new JSONObject();
+		result.put( "benchmark", benchmark.getName() );
+		result.put( "mode", "avgt" );
+		result.put( "threads", 1 );
+		result.put( "forks", 0 );
+		result.put( "jdkVersion", System.getProperty( "java.version" ) );
+		result.put( "vmName", System.getProperty( "java.vm.name" ) );
+		result.put( "vmVersion", System.getProperty( "java.vm.version" ) );
+		result.put( "bljVersion", BioLockJUtil.getVersion() );
+		result.put( "warmupIterations", warmup );
+		result.put( "warmupTime", millis + " ms" );
+		result.put( "measurementIterations", scores.size() );
+		result.put( "measurementTime", millis + " ms" );
+		result.put( "primaryMetric", metric );
+		return result;
+	}
+
+	private static Map<String, String> parseArgs( final String[] args ) {
+		final Map<String, String> params = new HashMap<>();
+		for( int i = 0; i < args.length; i++ ) {
+			if( !args[ i ].startsWith( "-" ) || i + 1 == args.length )
+				throw new IllegalArgumentException( "Invalid parameter: " + args[ i ] );
+			params.put( args[ i ], args[ ++i ] );
+		}
+		return params;
+	}
+
+	/**
+	 * Call the benchmark until the iteration time has passed (at least once).
+	 *
+	 * @return Average milliseconds per call
+	 */
+	private static double runIteration( final Benchmark benchmark, final long millis ) throws Exception {
+		final long end = System.nanoTime() + millis * 1000000L;
+		final long start = System.nanoTime();
+		long ops = 0L;
+		long now = start;
+		do {
+			final Object result = benchmark.run();
+			sink += result == null ? 0: result.hashCode();
+			ops++;
+			now = System.nanoTime();
+		} while( now < end );
+		return ( now - start ) / 1000000.0 / ops;
+	}
+
+	private static final String DEFAULT_OUTPUT = "benchmark-results.json";
+	private static final int DEFAULT_WARMUP = 3;
+	private static final int DEFAULT_ITERATIONS = 5;
+	private static final long DEFAULT_ITERATION_MILLIS = 1000L;
+	private static final String SCORE_UNIT = "ms/op";
+	private static volatile long sink = 0L;
+	private static final double Z_99_9 = 3.29;
+}
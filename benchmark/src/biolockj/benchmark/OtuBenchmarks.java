@@ -0,0 +1,146 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.*;
+import java.util.*;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.module.implicit.parser.ParserModuleImpl;
+import biolockj.module.report.otu.RarefyOtuCounts;
+import biolockj.node.ParsedSample;
+import biolockj.node.wgs.Kraken2Node;
+import biolockj.util.MetaUtil;
+import biolockj.util.OtuCountMatrix;
+import biolockj.util.OtuCountMatrix.SampleCounts;
+import biolockj.util.OtuUtil;
+
+/**
+ * Benchmarks for OTU count parsing, {@link biolockj.node.ParsedSample} roll-up and OTU rarefaction.
+ */
+public class OtuBenchmarks {
+
+	// Prevent instantiation
+	private OtuBenchmarks() {}
+
+	/**
+	 * Get the OTU benchmarks.
+	 *
+	 * @return List of benchmarks
+	 */
+	public static List<Benchmark> getBenchmarks() {
+		final List<Benchmark> benchmarks = new ArrayList<>();
+
+		benchmarks.add( new Benchmark( "OtuUtil.compileSampleOtuCounts" ) {
+			@Override
+			public Object run() throws Exception {
+				return OtuUtil.compileSampleOtuCounts( this.otuFile ).size();
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				this.otuFile = new File( dir, "bench_" + Constants.OTU_COUNT + "_" + BenchmarkData.getSampleId( 0 ) +
+					Constants.TSV_EXT );
+				BenchmarkData.writeOtuCountFile( this.otuFile, BenchmarkData.getOtuCounts( NUM_OTUS, SEED ) );
+			}
+
+			private File otuFile = null;
+		} );
+
+		benchmarks.add( new Benchmark( "ParsedSample.getOtuCounts" ) {
+			@Override
+			public Object run() throws Exception {
+				final ParsedSample sample = new ParsedSample( this.node );
+				sample.setOtuCounts( new TreeMap<>( this.otuCounts ) );
+				return sample.getOtuCounts().size();
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				this.otuCounts = BenchmarkData.getOtuCounts( NUM_PARSED_OTUS, SEED );
+				this.node = new Kraken2Node( BenchmarkData.getSampleId( 0 ), "d__Bacteria" + Constants.TAB_DELIM + 1 );
+			}
+
+			private Kraken2Node node = null;
+			private TreeMap<String, Long> otuCounts = null;
+		} );
+
+		benchmarks.add( new Benchmark( "RarefyOtuCounts.rarefy" ) {
+			@Override
+			public Object run() throws Exception {
+				final int start = this.otuCounts.getRowStart( 0 );
+				for( int i = 0; i < this.counts.length; i++ )
+					this.otuCounts.setEntryCount( start + i, this.counts[ i ] );
+				this.module.rarefy( this.otuCounts, 0, this.quantileNum );
+				int numOtus = 0;
+				for( int k = start; k < this.otuCounts.getRowEnd( 0 ); k++ )
+					if( this.otuCounts.getEntryCount( k ) > 0 ) numOtus++;
+				return numOtus;
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				final String sampleId = BenchmarkData.getSampleId( 0 );
+				final SampleCounts sample = new SampleCounts( sampleId );
+				long total = 0L;
+				for( final Map.Entry<String, Long> otu: BenchmarkData.getOtuCounts( NUM_RAREFY_OTUS, SEED ).entrySet() ) {
+					sample.add( otu.getKey(), otu.getValue() );
+					total += otu.getValue();
+				}
+				this.otuCounts = new OtuCountMatrix( Collections.singletonList( sample ) );
+				this.counts = new long[ this.otuCounts.getRowEnd( 0 ) - this.otuCounts.getRowStart( 0 ) ];
+				for( int i = 0; i < this.counts.length; i++ )
+					this.counts[ i ] = this.otuCounts.getEntryCount( this.otuCounts.getRowStart( 0 ) + i );
+				this.quantileNum = total / 2;
+
+				final String field = "bench_" + Constants.OTU_COUNT;
+				final File meta = new File( dir, "metadata" + Constants.TSV_EXT );
+				try( BufferedWriter writer = new BufferedWriter( new FileWriter( meta ) ) ) {
+					writer.write( "SampleID" + Constants.TAB_DELIM + field + Constants.RETURN );
+					writer.write( sampleId + Constants.TAB_DELIM + total + Constants.RETURN );
+				}
+				MetaUtil.setFile( meta );
+				MetaUtil.refreshCache();
+				ParserModuleImpl.setNumHitsFieldName( field );
+				Config.setConfigProperty( BenchRarefyOtuCounts.ITERATIONS, String.valueOf( RAREFY_ITERATIONS ) );
+				Config.setConfigProperty( BenchRarefyOtuCounts.REMOVE_LOW, Constants.FALSE );
+			}
+
+			private final BenchRarefyOtuCounts module = new BenchRarefyOtuCounts();
+			private long[] counts = null;
+			private OtuCountMatrix otuCounts = null;
+			private long quantileNum = 0L;
+		} );
+
+		return benchmarks;
+	}
+
+	/**
+	 * Expose the protected {@link biolockj.module.report.otu.RarefyOtuCounts} rarefy method.
+	 */
+	private static class BenchRarefyOtuCounts extends RarefyOtuCounts {
+		@Override
+		protected boolean rarefy( final OtuCountMatrix otuCounts, final int row, final long quantileNum )
+			throws Exception {
+			return super.rarefy( otuCounts, row, quantileNum );
+		}
+
+		static final String ITERATIONS = NUM_ITERATIONS;
+		static final String REMOVE_LOW = REMOVE_LOW_ABUNDANT_SAMPLES;
+	}
+
+	private static final int NUM_OTUS = 5000;
+	private static final int NUM_PARSED_OTUS = 2000;
+	private static final int NUM_RAREFY_OTUS = 100;
+	private static final int RAREFY_ITERATIONS = 10;
+	private static final long SEED = 42L;
+}
@@ -0,0 +1,93 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+import java.util.*;
+import biolockj.util.LineCounter;
+import biolockj.util.SeqUtil;
+
+/**
+ * Benchmarks for the {@link biolockj.util.SeqUtil} methods called for every sequence file or read.
+ */
+public class SeqBenchmarks {
+
+	// Prevent instantiation
+	private SeqBenchmarks() {}
+
+	/**
+	 * Get the sequence benchmarks.
+	 *
+	 * @return List of benchmarks
+	 */
+	public static List<Benchmark> getBenchmarks() {
+		final List<Benchmark> benchmarks = new ArrayList<>();
+
+		benchmarks.add( new Benchmark( "SeqUtil.getSampleId" ) {
+			@Override
+			public Object run() throws Exception {
+				int len = 0;
+				for( final String name: this.names )
+					len += SeqUtil.getSampleId( name ).length();
+				return len;
+			}
+
+			@Override
+			public void setUp( final File dir ) {
+				for( int i = 0; i < NUM_NAMES; i++ )
+					this.names.add( BenchmarkData.getSampleId( i ) + ( i % 2 == 0 ? "_R1": "_R2" ) + ".fastq.gz" );
+			}
+
+			private final List<String> names = new ArrayList<>();
+		} );
+
+		benchmarks.add( new Benchmark( "SeqUtil.getHeader" ) {
+			@Override
+			public Object run() {
+				int len = 0;
+				for( final String header: this.headers )
+					len += SeqUtil.getHeader( header ).length();
+				return len;
+			}
+
+			@Override
+			public void setUp( final File dir ) {
+				for( int i = 0; i < NUM_NAMES; i++ )
+					this.headers.add( BenchmarkData.getReadHeader( i ) );
+			}
+
+			private final List<String> headers = new ArrayList<>();
+		} );
+
+		benchmarks.add( new Benchmark( "LineCounter.countLines" ) {
+			@Override
+			public Object run() throws Exception {
+				return LineCounter.countLines( this.fastq );
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				this.fastq = new File( dir, "countNumReads_R1.fastq" );
+				BenchmarkData.writeFastq( this.fastq, NUM_READS, READ_LEN, SEED );
+			}
+
+			private File fastq = null;
+		} );
+
+		return benchmarks;
+	}
+
+	private static final int NUM_NAMES = 1000;
+	private static final int NUM_READS = 50000;
+	private static final int READ_LEN = 150;
+	private static final long SEED = 42L;
+}
@@ -0,0 +1,109 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.benchmark;
+
+import java.io.File;
+import java.util.*;
+import biolockj.Constants;
+import biolockj.module.implicit.parser.wgs.Kraken2Parser;
+import biolockj.util.TaxaUtil;
+
+/**
+ * Benchmarks for taxonomy table building and parsing, and for classifier output parsing.
+ */
+public class TaxaBenchmarks {
+
+	// Prevent instantiation
+	private TaxaBenchmarks() {}
+
+	/**
+	 * Get the taxonomy benchmarks.
+	 *
+	 * @return List of benchmarks
+	 */
+	public static List<Benchmark> getBenchmarks() {
+		final List<Benchmark> benchmarks = new ArrayList<>();
+
+		benchmarks.add( new Benchmark( "TaxaUtil.getLevelTaxaCounts" ) {
+			@Override
+			public Object run() {
+				return TaxaUtil.getLevelTaxaCounts( this.sampleOtuCounts, Constants.GENUS ).size();
+			}
+
+			@Override
+			public void setUp( final File dir ) {
+				for( int i = 0; i < NUM_SAMPLES; i++ )
+					this.sampleOtuCounts.put( BenchmarkData.getSampleId( i ),
+						BenchmarkData.getOtuCounts( NUM_OTUS, SEED + i ) );
+			}
+
+			private final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = new TreeMap<>();
+		} );
+
+		benchmarks.add( new Benchmark( "TaxaUtil.readTaxaTable" ) {
+			@Override
+			public Object run() throws Exception {
+				return TaxaUtil.readTaxaTable( this.table ).size();
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				this.table = new File( dir, "bench_taxaCount_" + Constants.GENUS + Constants.TSV_EXT );
+				BenchmarkData.writeTaxaTable( this.table, NUM_SAMPLES, NUM_TAXA, SEED );
+			}
+
+			private File table = null;
+		} );
+
+		benchmarks.add( new Benchmark( "Kraken2Parser.parseSample" ) {
+			@Override
+			public Object run() throws Exception {
+				return this.parser.parse( this.report );
+			}
+
+			@Override
+			public void setUp( final File dir ) throws Exception {
+				this.report = new File( dir, BenchmarkData.getSampleId( 0 ) + Constants.TSV_EXT );
+				BenchmarkData.writeKraken2Report( this.report, NUM_OTUS, SEED );
+			}
+
+			private final BenchKraken2Parser parser = new BenchKraken2Parser();
+			private File report = null;
+		} );
+
+		return benchmarks;
+	}
+
+	/**
+	 * Expose the protected {@link biolockj.module.implicit.parser.wgs.Kraken2Parser} parseSample method.
+	 */
+	private static class BenchKraken2Parser extends Kraken2Parser {
+		/**
+		 * Parse the report, then clear the parsed samples so the next call parses the same sample again.
+		 *
+		 * @param file Kraken2 report
+		 * @return Number of samples parsed
+		 * @throws Exception if errors occur
+		 */
+		int parse( final File file ) throws Exception {
+			parseSample( file );
+			final int count = getParsedSamples().size();
+			getParsedSamples().clear();
+			return count;
+		}
+	}
+
+	private static final int NUM_OTUS = 2000;
+	private static final int NUM_SAMPLES = 200;
+	private static final int NUM_TAXA = 1000;
+	private static final long SEED = 42L;
+}
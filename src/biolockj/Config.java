@@ -350,6 +350,11 @@ public class Config {
 		val = replaceEnvVar( val );
 		if( val != null && val.isEmpty() ) val = null;
 		usedProps.put( prop, val );
+		final BioModule exeModule = Pipeline.exeModule();
+		if( exeModule != null && !isInternalProperty( property ) ) synchronized( moduleUsedProps ) {
+			if( moduleUsedProps.get( exeModule ) == null ) moduleUsedProps.put( exeModule, new TreeMap<>() );
+			moduleUsedProps.get( exeModule ).put( property, val );
+		}
 		return val;
 	}
 	public static String getString( final BioModule module, final String property ) {
@@ -376,7 +381,24 @@ public class Config {
 	 */
 	public static Map<String, String> getUsedProps() {
 		getString( null, Constants.PIPELINE_DEFAULT_PROPS );
-		return new HashMap<>( usedProps );
+		synchronized( usedProps ) {
+			return new HashMap<>( usedProps );
+		}
+	}
+
+	/**
+	 * Return the properties read while the given module was the {@link biolockj.Pipeline#exeModule()}, excluding
+	 * {@value biolockj.Constants#INTERNAL_PREFIX} properties. Properties are listed by the name requested, not the
+	 * module-specific name used to find the value.
+	 *
+	 * @param module BioModule
+	 * @return Map of property name to value (value is null if undefined)
+	 */
+	public static TreeMap<String, String> getUsedProps( final BioModule module ) {
+		synchronized( moduleUsedProps ) {
+			final Map<String, String> map = moduleUsedProps.get( module );
+			return map == null ? new TreeMap<>(): new TreeMap<>( map );
+		}
 	}
 
 	/**
@@ -896,12 +918,13 @@ public class Config {
 	 */
 	public static final String BLJ_BASH_VAR = "${BLJ}";
 
-	private static final Map<String, String> bashVarMap = new HashMap<>();
+	private static final Map<String, String> bashVarMap = Collections.synchronizedMap( new HashMap<>() );
 	private static File configFile = null;
+	private static final Map<BioModule, Map<String, String>> moduleUsedProps = new HashMap<>();
 	private static File pipelineDir = null;
 	private static Properties props = null;
 	private static Properties unmodifiedInputProps = new Properties();
-	private static final Map<String, String> usedProps = new HashMap<>();
+	private static final Map<String, String> usedProps = Collections.synchronizedMap( new HashMap<>() );
 	
 }
 
@@ -66,14 +66,18 @@ public class Constants {
 		Properties.registerProp( R_USE_UINQUE_COLORS, Properties.BOOLEAN_TYPE, "force to use a unique color for every value in every field plotted; only recommended for low numbers of metadata columns/values." );
 		
 		Properties.registerProp( SCRIPT_DEFAULT_HEADER, Properties.STRING_TYPE, SCRIPT_DEFAULT_HEADER_DESC);
+		Properties.registerProp( SCRIPT_MAX_LOCAL_WORKERS, Properties.INTEGER_TYPE, SCRIPT_MAX_LOCAL_WORKERS_DESC);
 		Properties.registerProp( SCRIPT_NUM_WORKERS, Properties.INTEGER_TYPE, SCRIPT_NUM_WORKERS_DESC);
 		Properties.registerProp( SCRIPT_NUM_THREADS, Properties.INTEGER_TYPE, SCRIPT_NUM_THREADS_DESC);
 		Properties.registerProp( SCRIPT_PERMISSIONS, Properties.STRING_TYPE, SCRIPT_PERMISSIONS_DESC);
+		Properties.registerProp( SCRIPT_POLL_FLAG_FILES, Properties.BOOLEAN_TYPE, SCRIPT_POLL_FLAG_FILES_DESC);
 		Properties.registerProp( SCRIPT_TIMEOUT, Properties.INTEGER_TYPE, SCRIPT_TIMEOUT_DESC);
 		Properties.registerProp( PIPELINE_COPY_FILES, Properties.BOOLEAN_TYPE, PIPELINE_COPY_FILES_DESC );
 		Properties.registerProp( PIPELINE_DEFAULT_PROPS, Properties.FILE_PATH_LIST, PIPELINE_DEFAULT_PROPS_DESC );
 		Properties.registerProp( PIPELINE_ENV, Properties.STRING_TYPE, "Environment in which a pipeline is run. Options: " + PIPELINE_ENV_CLUSTER + ", " + PIPELINE_ENV_AWS + ", " + PIPELINE_ENV_LOCAL );
+		Properties.registerProp( PIPELINE_MAX_CONCURRENT_MODULES, Properties.INTEGER_TYPE, PIPELINE_MAX_CONCURRENT_MODULES_DESC );
 		Properties.registerProp( PIPELINE_PRIVS, Properties.STRING_TYPE, PIPELINE_PRIVS_DESC );
+		Properties.registerProp( PIPELINE_RESULT_CACHE, Properties.FILE_PATH, PIPELINE_RESULT_CACHE_DESC );
 		Properties.registerProp( DOWNLOAD_DIR, Properties.FILE_PATH, DOWNLOAD_DIR_DESC );
 		Properties.registerProp( LIMIT_DEBUG_CLASSES, Properties.LIST_TYPE, LIMIT_DEBUG_CLASSES_DESC );
 		Properties.registerProp( LOG_LEVEL_PROPERTY, Properties.STRING_TYPE, "Options: DEBUG, INFO, WARN, ERROR" );
@@ -619,6 +623,20 @@ public class Constants {
 	 */
 	public static final String PIPELINE_LOCATION_KEY = "Pipeline root directory: ";
 
+	/**
+	 * {@link biolockj.Config} Integer property: {@value #PIPELINE_MAX_CONCURRENT_MODULES}<br>
+	 * {@value #PIPELINE_MAX_CONCURRENT_MODULES_DESC}
+	 */
+	public static final String PIPELINE_MAX_CONCURRENT_MODULES = "pipeline.maxConcurrentModules";
+	private static final String PIPELINE_MAX_CONCURRENT_MODULES_DESC = "Max number of modules to run at the same time. Modules only run concurrently if they do not depend on each other; if undefined, modules run one at a time in the configured order.";
+
+	/**
+	 * {@link biolockj.Config} File property: {@value #PIPELINE_RESULT_CACHE}<br>
+	 * {@value #PIPELINE_RESULT_CACHE_DESC}
+	 */
+	public static final String PIPELINE_RESULT_CACHE = "pipeline.resultCache";
+	private static final String PIPELINE_RESULT_CACHE_DESC = "Directory used to cache module output between pipelines. If defined, a module whose class, properties and input files match a cached result has its output copied from the cache instead of being run again.";
+
 	/**
 	 * {@link biolockj.Config} property to assign a name to a pipeline: {@value #PIPELINE_NAME} TODO: needs to be
 	 * implemented.
@@ -891,12 +909,19 @@ public class Constants {
 	 */
 	public static final String SCRIPT_FAILURES = "Failures";
 
+	/**
+	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_MAX_LOCAL_WORKERS}<br>
+	 * {@value #SCRIPT_MAX_LOCAL_WORKERS_DESC}
+	 */
+	public static final String SCRIPT_MAX_LOCAL_WORKERS = "script.maxLocalWorkers";
+	private static final String SCRIPT_MAX_LOCAL_WORKERS_DESC = "Max number of worker scripts run at the same time when the pipeline runs locally (not on a cluster, in Docker or on AWS). If undefined, the number of available processors divided by script.numThreads is used.";
+
 	/**
 	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_NUM_THREADS}<br>
 	 * {@value SCRIPT_NUM_THREADS_DESC}
 	 */
 	public static final String SCRIPT_NUM_THREADS = "script.numThreads";
-	public static final String SCRIPT_NUM_THREADS_DESC = "Used to reserve cluster resources and passed to any external application call that accepts a numThreads parameter.";
+	public static final String SCRIPT_NUM_THREADS_DESC = "Used to reserve cluster resources and passed to any external application call that accepts a numThreads parameter. Java modules also process up to this many input files at the same time.";
 
 	/**
 	 * {@link biolockj.Config} Integer property: {@value #SCRIPT_NUM_WORKERS}<br>
@@ -912,6 +937,13 @@ public class Constants {
 	public static final String SCRIPT_PERMISSIONS = "script.permissions";
 	public static final String SCRIPT_PERMISSIONS_DESC = "Used as chmod permission parameter (ex: 774)";
 
+	/**
+	 * {@link biolockj.Config} Boolean property: {@value #SCRIPT_POLL_FLAG_FILES}<br>
+	 * {@value SCRIPT_POLL_FLAG_FILES_DESC}
+	 */
+	public static final String SCRIPT_POLL_FLAG_FILES = "script.pollFlagFiles";
+	public static final String SCRIPT_POLL_FLAG_FILES_DESC = "If Y, check worker script indicator files on a timer instead of watching the script directory for changes; use if the pipeline directory is on a network file system (such as NFS) that does not deliver file events.";
+
 	/**
 	 * File suffix appended to started script: {@value #SCRIPT_STARTED}
 	 */
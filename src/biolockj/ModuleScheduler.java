@@ -0,0 +1,145 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj;
+
+import java.util.*;
+import java.util.concurrent.*;
+import biolockj.module.BioModule;
+import biolockj.module.TerminalModule;
+import biolockj.util.ModuleUtil;
+
+/**
+ * Run the pipeline {@link biolockj.module.BioModule}s as a dependency graph, so modules that do not depend on each
+ * other can run at the same time, up to {@link biolockj.Config}.{@value biolockj.Constants#PIPELINE_MAX_CONCURRENT_MODULES}
+ * modules at once.<br>
+ * Input files are found by {@link biolockj.module.BioModule#isValidInputModule(BioModule)}, which may inspect the
+ * output of any previous module, and most modules read or update the shared metadata file. So each module depends on
+ * every module configured before it, except for {@link biolockj.module.TerminalModule}s, whose output is not used by
+ * any later module and which do not modify the metadata. Terminal modules still depend on every non-terminal module
+ * configured before them.<br>
+ * The 1st R module refreshes the shared R metadata cache, so it is never treated as a terminal module.
+ */
+public class ModuleScheduler {
+
+	/**
+	 * Construct a scheduler for the given modules, listed in their configured order.
+	 *
+	 * @param modules Pipeline modules
+	 * @param maxConcurrent Max number of modules to run at the same time
+	 */
+	public ModuleScheduler( final List<BioModule> modules, final int maxConcurrent ) {
+		this.modules = modules;
+		this.maxConcurrent = maxConcurrent;
+		this.dependencies = buildDependencyGraph( modules );
+	}
+
+	/**
+	 * Return the modules each module must wait for before it can run.
+	 *
+	 * @return Map of module to prerequisite modules
+	 */
+	public Map<BioModule, Set<BioModule>> getDependencies() {
+		return this.dependencies;
+	}
+
+	/**
+	 * Execute every incomplete module once all of its dependencies are complete. After a module fails, no new modules
+	 * are started. Modules already running are allowed to finish before the 1st exception is thrown.
+	 *
+	 * @throws Exception if any module fails
+	 */
+	public void run() throws Exception {
+		final List<BioModule> pending = new ArrayList<>();
+		final Set<BioModule> complete = new HashSet<>();
+		for( final BioModule module: this.modules )
+			if( ModuleUtil.isComplete( module ) ) {
+				complete.add( module );
+				Log.debug( getClass(), "Skipping succssfully completed BioLockJ Module: " + module.getClass().getName() );
+			} else pending.add( module );
+
+		Log.info( getClass(), "Run " + pending.size() + " modules, with up to " + this.maxConcurrent + " at a time" );
+		final ExecutorService pool = Executors.newFixedThreadPool( this.maxConcurrent );
+		final CompletionService<BioModule> service = new ExecutorCompletionService<>( pool );
+		final Map<Future<BioModule>, BioModule> running = new HashMap<>();
+		Exception failure = null;
+		try {
+			while( !pending.isEmpty() || !running.isEmpty() ) {
+				if( failure == null ) for( final BioModule module: getReadyModules( pending, complete ) ) {
+					if( running.size() >= this.maxConcurrent ) break;
+					pending.remove( module );
+					Log.info( getClass(), "Start module: " + ModuleUtil.displaySignature( module ) + " (" +
+						( running.size() + 1 ) + " running)" );
+					running.put( service.submit( () -> {
+						Pipeline.executeModule( module );
+						return module;
+					} ), module );
+				}
+
+				if( running.isEmpty() ) break;
+
+				final Future<BioModule> done = service.take();
+				final BioModule module = running.remove( done );
+				try {
+					done.get();
+					complete.add( module );
+					Log.info( getClass(), "Module complete: " + ModuleUtil.displaySignature( module ) );
+				} catch( final ExecutionException ex ) {
+					Log.error( getClass(), "Module failed: " + ModuleUtil.displaySignature( module ) );
+					if( failure == null ) {
+						failure = ex.getCause() instanceof Exception ? (Exception) ex.getCause(): ex;
+						Pipeline.setExeModule( module );
+					}
+				}
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		if( failure != null ) throw failure;
+	}
+
+	private List<BioModule> getReadyModules( final List<BioModule> pending, final Set<BioModule> complete ) {
+		final List<BioModule> ready = new ArrayList<>();
+		for( final BioModule module: pending )
+			if( complete.containsAll( this.dependencies.get( module ) ) ) ready.add( module );
+		return ready;
+	}
+
+	/**
+	 * Build the module dependency graph, as described in the class comment.
+	 *
+	 * @param modules Pipeline modules, in configured order
+	 * @return Map of module to prerequisite modules
+	 */
+	public static Map<BioModule, Set<BioModule>> buildDependencyGraph( final List<BioModule> modules ) {
+		final Map<BioModule, Set<BioModule>> graph = new LinkedHashMap<>();
+		for( int i = 0; i < modules.size(); i++ ) {
+			final BioModule module = modules.get( i );
+			final boolean terminal = isTerminal( module );
+			final Set<BioModule> deps = new LinkedHashSet<>();
+			for( int j = 0; j < i; j++ )
+				if( !terminal || !isTerminal( modules.get( j ) ) ) deps.add( modules.get( j ) );
+			graph.put( module, deps );
+			if( terminal ) Log.info( ModuleScheduler.class, ModuleUtil.displaySignature( module ) +
+				" is a terminal module, depends on: " + deps );
+		}
+		return graph;
+	}
+
+	private static boolean isTerminal( final BioModule module ) {
+		return module instanceof TerminalModule && !ModuleUtil.isFirstRModule( module );
+	}
+
+	private final Map<BioModule, Set<BioModule>> dependencies;
+	private final int maxConcurrent;
+	private final List<BioModule> modules;
+}
@@ -12,17 +12,15 @@
 package biolockj;
 
 import java.io.File;
-import java.util.Collection;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FileUtils;
-import org.apache.commons.io.filefilter.IOFileFilter;
-import org.apache.commons.io.filefilter.WildcardFileFilter;
 import biolockj.exception.DirectModuleException;
 import biolockj.exception.StopAfterPrecheck;
 import biolockj.module.*;
 import biolockj.module.report.Email;
-import biolockj.module.report.r.R_Module;
 import biolockj.util.*;
 
 /**
@@ -34,35 +32,86 @@ public class Pipeline {
 	private Pipeline() {}
 
 	/**
-	 * Execute a single pipeline module.
+	 * Execute a single pipeline module.<br>
+	 * Module status updates and the post-execution steps (clean up, validation and summary) are synchronized, so
+	 * modules may be executed on separate threads by the {@link biolockj.ModuleScheduler}.<br>
+	 * If {@link biolockj.Config}.{@value Constants#PIPELINE_RESULT_CACHE} is defined, the module output is restored
+	 * from the {@link biolockj.util.ModuleCacheUtil} cache when possible, and saved to the cache once complete.<br>
+	 * Module performance is measured by the {@link biolockj.util.MetricsUtil}.
 	 * 
 	 * @throws Exception if runtime errors occur
 	 */
 	public static void executeModule() throws Exception {
-		ModuleUtil.markStarted( exeModule() );
-		refreshRCacheIfNeeded();
+		synchronized( moduleLock ) {
+			ModuleUtil.markStarted( exeModule() );
+			refreshRCacheIfNeeded();
+		}
+		MetricsUtil.start( exeModule() );
+		try {
+			runModule();
+		} finally {
+			MetricsUtil.stop( exeModule(), "FAILED" );
+		}
+	}
+
+	private static void runModule() throws Exception {
+		if( ModuleCacheUtil.restore( exeModule() ) ) {
+			synchronized( moduleLock ) {
+				exeModule().cleanUp();
+				ValidationUtil.validateModule( exeModule() );
+				MetricsUtil.stop( exeModule(), Constants.SCRIPT_SUCCESS.toUpperCase() );
+				SummaryUtil.reportSuccess( exeModule() );
+				ModuleUtil.markComplete( exeModule() );
+			}
+			return;
+		}
 		exeModule().executeTask();
 		final boolean isJava = exeModule() instanceof JavaModule;
 		final boolean hasScripts = ModuleUtil.hasScripts( exeModule() );
 		final boolean detachJava = Config.getBoolean( exeModule(), Constants.DETACH_JAVA_MODULES );
 		final boolean runDetached = isJava && hasScripts && detachJava;
 
-		if( runDetached ) MasterConfigUtil.saveMasterConfig();
+		if( runDetached ) {
+			MasterConfigUtil.saveMasterConfig();
+			MetricsUtil.setDetached( exeModule() );
+		}
 		if( hasScripts && !DockerUtil.inAwsEnv() ) Processor.submit( (ScriptModule) exeModule() );
 		if( hasScripts ) waitForModuleScripts();
-		exeModule().cleanUp();
-		ValidationUtil.validateModule( exeModule() );
-		if( !runDetached ) SummaryUtil.reportSuccess( exeModule() );
-		ModuleUtil.markComplete( exeModule() );
+		synchronized( moduleLock ) {
+			exeModule().cleanUp();
+			ValidationUtil.validateModule( exeModule() );
+			MetricsUtil.stop( exeModule(), Constants.SCRIPT_SUCCESS.toUpperCase() );
+			if( !runDetached ) SummaryUtil.reportSuccess( exeModule() );
+			ModuleUtil.markComplete( exeModule() );
+		}
+		ModuleCacheUtil.save( exeModule(), runDetached );
 	}
 
 	/**
-	 * Return the BioModule currently being executed
+	 * Execute the given module on the current thread, used by the {@link biolockj.ModuleScheduler} to run modules
+	 * concurrently.
+	 * 
+	 * @param module BioModule
+	 * @throws Exception if runtime errors occur
+	 */
+	static void executeModule( final BioModule module ) throws Exception {
+		threadModule.set( module );
+		try {
+			executeModule();
+		} finally {
+			threadModule.remove();
+		}
+	}
+
+	/**
+	 * Return the BioModule currently being executed.<br>
+	 * If modules are run by the {@link biolockj.ModuleScheduler}, return the module executing on the current thread.
 	 * 
 	 * @return Current BioModule
 	 */
 	public static BioModule exeModule() {
-		return currentModule;
+		final BioModule module = threadModule.get();
+		return module == null ? currentModule: module;
 	}
 
 	/**
@@ -105,6 +154,8 @@ public class Pipeline {
 	 */
 	public static void runDirectModule( final Integer id ) throws Exception {
 		final JavaModule module = (JavaModule) Pipeline.getModules().get( id );
+		setExeModule( module );
+		MetricsUtil.start( module );
 		try {
 			Log.info( Pipeline.class,
 				"Start Direct BioModule Execution for [ ID #" + id + " ] ---> " + module.getClass().getSimpleName() );
@@ -112,12 +163,15 @@ public class Pipeline {
 			Log.info( Pipeline.class, "DIRECT module ID [" + id + "].runModule() complete!" );
 			module.cleanUp();
 			ValidationUtil.validateModule( module );
+			MetricsUtil.stop( module, Constants.SCRIPT_SUCCESS.toUpperCase() );
 			module.moduleComplete();
 			SummaryUtil.reportSuccess( module );
+			ModuleCacheUtil.saveDirectSummary( module );
 			MasterConfigUtil.saveMasterConfig();
 		} catch( final Exception ex ) {
 			Log.error( Pipeline.class, "Errors occurred attempting to run DIRECT module [ ID=" + id + " ] --> " +
 				module.getClass().getSimpleName(), ex );
+			MetricsUtil.stop( module, "FAILED" );
 			module.moduleFailed();
 			SummaryUtil.reportFailure( ex );
 			throw ex; //ultimately let FatalExceptionHandler handle this.
@@ -175,7 +229,9 @@ public class Pipeline {
 	 * Before/after a module is executed, set persistent module status by creating status indicator files. Incomplete
 	 * modules have an empty file {@value Constants#BLJ_STARTED} in the module directory.<br>
 	 * Complete modules have an empty file {@value Constants#BLJ_COMPLETE} in the module directory.<br>
-	 * {@link biolockj.module.BioModule}s are run in the order listed in the {@link biolockj.Config} file.<br>
+	 * {@link biolockj.module.BioModule}s are run in the order listed in the {@link biolockj.Config} file, unless
+	 * {@link biolockj.Config}.{@value Constants#PIPELINE_MAX_CONCURRENT_MODULES} &gt; 1, in which case independent
+	 * modules are run at the same time by the {@link biolockj.ModuleScheduler}.<br>
 	 * <p>
 	 * Execution steps:
 	 * <ol>
@@ -187,6 +243,12 @@ public class Pipeline {
 	 * @throws Exception if script errors occur
 	 */
 	protected static void executeModules() throws Exception {
+		final Integer maxConcurrent = Config.getPositiveInteger( null, Constants.PIPELINE_MAX_CONCURRENT_MODULES );
+		if( maxConcurrent != null && maxConcurrent > 1 && !DockerUtil.inAwsEnv() ) {
+			new ModuleScheduler( getModules(), maxConcurrent ).run();
+			return;
+		}
+
 		for( final BioModule module: Pipeline.getModules() ) {
 			setExeModule( module );
 			if( !ModuleUtil.isComplete( module ) ) executeModule();
@@ -203,7 +265,8 @@ public class Pipeline {
 	 * <li>Reset the {@link biolockj.util.SummaryUtil} module so previous summary descriptions can be used for completed
 	 * modules
 	 * <li>Delete incomplete module contents if restarting a failed pipeline
-	 * {@value biolockj.module.BioModule#OUTPUT_DIR} directory<br>
+	 * {@value biolockj.module.BioModule#OUTPUT_DIR} directory, unless the module has successful worker scripts to keep
+	 * (see {@link biolockj.util.ModuleUtil#resetFailedWorkers(ScriptModule)})<br>
 	 * <li>Call {@link #refreshRCacheIfNeeded()} to cache R fields after 1st R module runs<br>
 	 * <li>Verify dependencies with {@link biolockj.module.BioModule#checkDependencies()}<br>
 	 * </ol>
@@ -214,7 +277,9 @@ public class Pipeline {
 	protected static boolean checkModuleDependencies() throws Exception {
 		for( final BioModule module: getModules() ) {
 			setExeModule( module );
-			if( ModuleUtil.isIncomplete( module ) && ( !BioLockJUtil.isDirectMode() || module instanceof Email ) ) {
+			if( ModuleUtil.isIncomplete( module ) && !BioLockJUtil.isDirectMode() &&
+				ModuleUtil.canResumeWorkers( module ) ) ModuleUtil.resetFailedWorkers( (ScriptModule) module );
+			else if( ModuleUtil.isIncomplete( module ) && ( !BioLockJUtil.isDirectMode() || module instanceof Email ) ) {
 				final String path = module.getModuleDir().getAbsolutePath();
 				Log.info( Pipeline.class, "Reset incomplete module: " + path );
 				FileUtils.forceDelete( module.getModuleDir() );
@@ -246,52 +311,49 @@ public class Pipeline {
 	 * begins.<br>
 	 * If successful, an empty file with {@value Constants#SCRIPT_SUCCESS} appended to the script name is created.<br>
 	 * Upon failure, an empty file with {@value Constants#SCRIPT_FAILURES} appended to the script name is created.<br>
-	 * Script status is polled each minute, determining status by counting indicator files.<br>
+	 * Script status is tracked in memory by the {@link biolockj.util.WorkerScriptMonitor}, which is updated as soon as
+	 * indicator files are created.<br>
 	 * {@link biolockj.Log} outputs the # of started, failed, and successful scripts (if any change).<br>
-	 * {@link biolockj.Log} repeats the previous message every 10 minutes if no status change is detected.<br>
+	 * {@link biolockj.Log} repeats the previous message every 10 polls if no status change is detected.<br>
 	 *
 	 * @param module ScriptModule
 	 * @return true if all scripts are complete, regardless of status
 	 * @throws Exception thrown to end pipeline execution
 	 */
 	protected static boolean poll( final ScriptModule module ) throws Exception {
-		final Collection<File> scriptFiles = getWorkerScripts( module );
-		final File mainStarted = getMainStartedFlag(module);
+		ScriptStatus scriptStatus = scriptStatusMap.get( module );
+		if( scriptStatus == null ) {
+			scriptStatus = new ScriptStatus( new WorkerScriptMonitor( module.getScriptDir(),
+				ModuleUtil.getWorkerScripts( module ), !Config.getBoolean( module, Constants.SCRIPT_POLL_FLAG_FILES ) ) );
+			scriptStatusMap.put( module, scriptStatus );
+		}
+		final WorkerScriptMonitor monitor = scriptStatus.monitor;
+		final File mainStarted = getMainStartedFlag( module );
 		final File mainFailed = getMainFailedFlag( module );
-		final int numScripts = scriptFiles.size();
-		int numSuccess = 0;
-		int numStarted = 0;
-		int numFailed = 0;
-
-		for( final File f: scriptFiles ) {
-			final File testStarted = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_STARTED );
-			final File testSuccess = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS );
-			final File testFailure = new File( f.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
-			if ( DockerUtil.inDockerEnv() 
-							&& testStarted.isFile() 
-							&& !testFailure.isFile()
-							&& DockerUtil.workerContainerStopped(mainStarted, f) 
-							&& !testSuccess.isFile() ) {
-				Log.info(Pipeline.class, "Worker script [" + f.getName() + "] is not complete, and its container is not running."); 
-				Log.info(Pipeline.class, "Marking worker script [" + f.getName() + "] as failed.");
-				testFailure.createNewFile();
-			}
-			numStarted = numStarted + ( testStarted.isFile() ? 1: 0 );
-			numSuccess = numSuccess + ( testSuccess.isFile() ? 1: 0 );
-			numFailed = numFailed + ( testFailure.isFile() ? 1: 0 );
+
+		if( DockerUtil.inDockerEnv() && mainStarted != null ) {
+			if( scriptStatus.containers == null ) scriptStatus.containers = new DockerContainerMonitor( mainStarted );
+			for( final File f: scriptStatus.containers
+				.getStoppedWorkers( monitor.getWorkers( WorkerScriptMonitor.Status.RUNNING ) ) )
+				if( monitor.refresh( f ) == WorkerScriptMonitor.Status.RUNNING ) {
+					Log.info( Pipeline.class,
+						"Worker script [" + f.getName() + "] is not complete, and its container is not running." );
+					Log.info( Pipeline.class, "Marking worker script [" + f.getName() + "] as failed." );
+					monitor.markFailed( f );
+				}
 		}
 
-		final String logMsg = module.getClass().getSimpleName() + " Status (Total=" + numScripts + "): Success=" +
-			numSuccess + "; Failed=" + numFailed + "; Running=" + ( numStarted - numSuccess - numFailed ) +
-			"; Queued=" + ( numScripts - numStarted );
+		final String logMsg = module.getClass().getSimpleName() + " Status " + monitor.statusSummary();
 
-		if( !statusMsg.equals( logMsg ) ) {
-			statusMsg = logMsg;
-			pollCount = 0;
+		final long now = System.currentTimeMillis();
+		if( !scriptStatus.statusMsg.equals( logMsg ) ||
+			now - scriptStatus.logTime >= 10 * getPollDelay( now - scriptStatus.startTime ) ) {
+			scriptStatus.statusMsg = logMsg;
+			scriptStatus.logTime = now;
 			Log.info( Pipeline.class, logMsg );
-		} else if( ++pollCount % 10 == 0 ) Log.info( Pipeline.class, logMsg );
+		}
 
-		if( numFailed > 0 | mainFailed.exists() ) {
+		if( monitor.count( WorkerScriptMonitor.Status.FAILED ) > 0 | mainFailed.exists() ) {
 			String scriptMsgs = BioLockJUtil.getCollectionAsString( module.getScriptErrors() );
 			if (scriptMsgs != null && !scriptMsgs.isEmpty()) {
 				throw new DirectModuleException( "SCRIPT FAILED: " + scriptMsgs );
@@ -302,7 +364,7 @@ public class Pipeline {
 			throw new DirectModuleException();
 		}
 
-		return numScripts > 0 && numSuccess + numFailed == numScripts;
+		return monitor.isDone();
 	}
 
 	/**
@@ -318,31 +380,16 @@ public class Pipeline {
 		}
 	}
 
-	private static IOFileFilter getWorkerScriptFilter( final ScriptModule module ) {
-		String filterString = "*" + Constants.SH_EXT;
-		if( DockerUtil.inDockerEnv() && module instanceof R_Module )
-			filterString = BioModule.MAIN_SCRIPT_PREFIX + "*" + Constants.SH_EXT;
-		else if( module instanceof R_Module ) filterString = BioModule.MAIN_SCRIPT_PREFIX + "*" + Constants.R_EXT;
-
-		return new WildcardFileFilter( filterString );
-
+	/**
+	 * Get the number of milliseconds to wait between script status checks: 2 seconds for the 1st minute, 10 seconds
+	 * until 5 minutes, then 1 minute.
+	 */
+	private static long getPollDelay( final long millisWaiting ) {
+		if( BioLockJUtil.millisToMinutes( millisWaiting ) < 1 ) return 2 * 1000;
+		if( BioLockJUtil.millisToMinutes( millisWaiting ) < 5 ) return 10 * 1000;
+		return BioLockJUtil.minutesToMillis( 1 );
 	}
 
-	private static Collection<File> getWorkerScripts( final ScriptModule module ) throws Exception {
-		final Collection<File> scriptFiles =
-			FileUtils.listFiles( module.getScriptDir(), getWorkerScriptFilter( module ), null );
-
-		final File mainScript = module.getMainScript();
-		if( !( module instanceof R_Module ) && mainScript != null ) scriptFiles.remove( mainScript );
-
-		if( !DockerUtil.inAwsEnv() ) Log.debug( Pipeline.class,
-			"mainScript = " + ( mainScript == null ? "<null>": mainScript.getAbsolutePath() ) );
-		for( final File f: scriptFiles )
-			Log.debug( Pipeline.class, "Worker Script = " + f.getAbsolutePath() );
-
-		return scriptFiles;
-	}
-	
 	private static File getMainStartedFlag ( final ScriptModule module ) throws Exception {
 		File mainScriptStarted = null;
 		if ( module.getMainScript() != null ) {
@@ -366,7 +413,8 @@ public class Pipeline {
 
 	private static void logScriptTimeOutMsg( final ScriptModule module ) throws Exception {
 		final String prompt = "------> ";
-		Log.info( Pipeline.class, prompt + "Java program wakes every 60 seconds to check execution progress" );
+		Log.info( Pipeline.class, prompt + "Java program wakes when any indicator file is created, or every 60 seconds " +
+			"(at most) to check execution progress" );
 		Log.info( Pipeline.class, prompt + "Status determined by existance of indicator files in " +
 			module.getScriptDir().getAbsolutePath() );
 		Log.info( Pipeline.class, prompt + "Indicator files end with: \"_" + Constants.SCRIPT_STARTED + "\", \"_" +
@@ -381,13 +429,16 @@ public class Pipeline {
 		else Log.info( Pipeline.class, prompt + "Running scripts will NEVER TIME OUT." );
 	}
 
-	private static void setExeModule( final BioModule module ) {
+	static void setExeModule( final BioModule module ) {
 		currentModule = module;
 	}
 
 	/**
 	 * This method calls executes script module scripts and monitors them until complete or timing out after
-	 * {@value #POLL_TIME} seconds.
+	 * {@link biolockj.module.ScriptModule#getTimeout()} minutes.<br>
+	 * Between polls, the {@link biolockj.util.WorkerScriptMonitor} waits for a new indicator file, so the wait ends as
+	 * soon as any worker changes status. The wait is capped at 2 seconds for the 1st minute, 10 seconds for the next 4
+	 * minutes, and 60 seconds thereafter.
 	 *
 	 * @throws Exception if errors occur
 	 */
@@ -396,26 +447,44 @@ public class Pipeline {
 		logScriptTimeOutMsg( module );
 		long startTime = (new Date()).getTime();
 		long millisWaiting;
-		long delayMillis;
 		boolean finished = false;
-		while( !finished ) {
-			finished = poll( module );
-			if( !finished ) {
-				millisWaiting = (new Date()).getTime() - startTime;
-				if( module.getTimeout() != null && module.getTimeout() > 0 
-								&& millisWaiting >= BioLockJUtil.minutesToMillis(module.getTimeout() ))
-					throw new Exception( module.getClass().getName() + " timed out after " + BioLockJUtil.millisToMinutes( millisWaiting ) + " minutes." );
-				if ( BioLockJUtil.millisToMinutes(millisWaiting) < 1 ) { delayMillis = 2 * 1000;
-				}else if ( BioLockJUtil.millisToMinutes(millisWaiting) < 5 ) { delayMillis = 10 * 1000;
-				}else {delayMillis = BioLockJUtil.minutesToMillis(1);}
-				Thread.sleep( delayMillis );
+		try {
+			while( !finished ) {
+				finished = poll( module );
+				if( !finished ) {
+					millisWaiting = (new Date()).getTime() - startTime;
+					if( module.getTimeout() != null && module.getTimeout() > 0 
+									&& millisWaiting >= BioLockJUtil.minutesToMillis(module.getTimeout() ))
+						throw new Exception( module.getClass().getName() + " timed out after " + BioLockJUtil.millisToMinutes( millisWaiting ) + " minutes." );
+					scriptStatusMap.get( module ).monitor.awaitChange( getPollDelay( millisWaiting ) );
+				}
 			}
+		} finally {
+			final ScriptStatus scriptStatus = scriptStatusMap.remove( module );
+			if( scriptStatus != null ) scriptStatus.monitor.close();
+		}
+	}
+
+	/**
+	 * Worker script status of a running {@link biolockj.module.ScriptModule}, its Docker containers (if any), and the
+	 * last status message logged.
+	 */
+	private static class ScriptStatus {
+		ScriptStatus( final WorkerScriptMonitor monitor ) {
+			this.monitor = monitor;
 		}
+
+		DockerContainerMonitor containers = null;
+		long logTime = 0L;
+		final WorkerScriptMonitor monitor;
+		final long startTime = System.currentTimeMillis();
+		String statusMsg = "";
 	}
 
 	private static List<BioModule> bioModules = null;
 	private static BioModule currentModule = null;
+	private static final Object moduleLock = new Object();
 	private static Exception pipelineException = null;
-	private static int pollCount = 0;
-	private static String statusMsg = "";
+	private static final Map<ScriptModule, ScriptStatus> scriptStatusMap = new ConcurrentHashMap<>();
+	private static final InheritableThreadLocal<BioModule> threadModule = new InheritableThreadLocal<>();
 }
@@ -13,9 +13,17 @@ package biolockj;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import biolockj.exception.ConfigPathException;
+import biolockj.module.JavaModule;
 import biolockj.module.ScriptModule;
+import biolockj.module.report.r.R_Module;
 import biolockj.util.BioLockJUtil;
+import biolockj.util.DockerUtil;
+import biolockj.util.ModuleUtil;
 import biolockj.util.NextflowUtil;
 
 /**
@@ -166,7 +174,9 @@ public class Processor {
 	 * This method is called by script generating {@link biolockj.module.ScriptModule}s to update the script
 	 * file-permissions to ensure they are executable by the program. Once file permissions are set, the main script
 	 * (passed in the args param) is executed. Calls {@link #setFilePermissions(String, String)} and
-	 * {@link #submit(ScriptModule)}
+	 * {@link #submit(ScriptModule)}<br>
+	 * If the pipeline runs locally, the MAIN script would run the worker scripts one at a time, so instead the worker
+	 * scripts are run directly by {@link #runLocalWorkers(ScriptModule)}.
 	 *
 	 * @param module ScriptModule that is submitting its main script as a Processor
 	 * 
@@ -174,7 +184,66 @@ public class Processor {
 	 * @throws InterruptedException if the thread process is interrupted
 	 */
 	public static void submit( final ScriptModule module ) throws IOException, InterruptedException {
-		new Processor().runJob( module.getJobParams(), module.getClass().getSimpleName() );
+		if( runWorkersLocally( module ) ) runLocalWorkers( module );
+		else new Processor().runJob( module.getJobParams(), module.getClass().getSimpleName() );
+	}
+
+	/**
+	 * Run the module worker scripts on a bounded thread pool, in place of the MAIN script.<br>
+	 * The pool size is {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_MAX_LOCAL_WORKERS} if defined,
+	 * otherwise the number of available processors divided by
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}.<br>
+	 * Worker output is appended to the MAIN.log file in the module temp directory, as it would be by the MAIN script,
+	 * and the same MAIN script indicator files are created. After any worker fails, queued workers are not started.<br>
+	 * Workers that already have a {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file (from before a restart)
+	 * are not run again.
+	 *
+	 * @param module ScriptModule
+	 * @throws IOException if errors occur creating indicator files
+	 * @throws InterruptedException if the thread process is interrupted
+	 */
+	public static void runLocalWorkers( final ScriptModule module ) throws IOException, InterruptedException {
+		final String label = module.getClass().getSimpleName();
+		final String mainPath;
+		final List<File> workers;
+		final int poolSize;
+		try {
+			mainPath = module.getMainScript().getAbsolutePath();
+			workers = new ArrayList<>();
+			for( final File worker: ModuleUtil.getWorkerScripts( module ) )
+				if( !new File( worker.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS ).isFile() )
+					workers.add( worker );
+			poolSize = Math.min( workers.size(), getMaxLocalWorkers( module ) );
+		} catch( final Exception ex ) {
+			throw new IOException( "Unable to initialize local workers for " + label + ": " + ex.getMessage(), ex );
+		}
+
+		Collections.sort( workers );
+		new File( mainPath + "_" + Constants.SCRIPT_STARTED ).createNewFile();
+		Log.info( Processor.class, "[ " + label + " ]: STARTING " + workers.size() + " worker scripts, " + poolSize +
+			" at a time" );
+
+		final File log = new File( module.getTempDir(), MAIN_LOG );
+		final ExecutorService pool = Executors.newFixedThreadPool( Math.max( 1, poolSize ) );
+		final AtomicReference<String> failure = new AtomicReference<>();
+		for( final File worker: workers )
+			pool.submit( () -> {
+				if( failure.get() != null ) return;
+				final String msg = runLocalWorker( module, worker, log );
+				if( msg != null ) failure.compareAndSet( null, msg );
+			} );
+
+		pool.shutdown();
+		pool.awaitTermination( Long.MAX_VALUE, TimeUnit.DAYS );
+
+		final String status = failure.get() == null ? Constants.SCRIPT_SUCCESS: Constants.SCRIPT_FAILURES;
+		final FileWriter writer = new FileWriter( new File( mainPath + "_" + status ) );
+		try {
+			if( failure.get() != null ) writer.write( failure.get() + Constants.RETURN );
+		} finally {
+			writer.close();
+		}
+		Log.info( Processor.class, "[ " + label + " ]: COMPLETE" + ( failure.get() == null ? "": " --> " + failure.get() ) );
 	}
 
 	/**
@@ -260,6 +329,47 @@ public class Processor {
 		throw new ConfigPathException( script );
 	}
 
+	private static int getMaxLocalWorkers( final ScriptModule module ) throws Exception {
+		final Integer max = Config.getPositiveInteger( module, Constants.SCRIPT_MAX_LOCAL_WORKERS );
+		if( max != null ) return max;
+		final int numThreads = Config.requirePositiveInteger( module, Constants.SCRIPT_NUM_THREADS );
+		return Math.max( 1, Runtime.getRuntime().availableProcessors() / numThreads );
+	}
+
+	/**
+	 * Run a single worker script, returning the failure message (or null if successful). The worker script creates its
+	 * own indicator files; if it exits with an error before doing so, the failure indicator file is created here.
+	 */
+	private static String runLocalWorker( final ScriptModule module, final File worker, final File log ) {
+		final String label = module.getClass().getSimpleName() + "." + worker.getName();
+		try {
+			final Process p = new ProcessBuilder( worker.getAbsolutePath() ).directory( module.getScriptDir() )
+				.redirectErrorStream( true ).redirectOutput( ProcessBuilder.Redirect.appendTo( log ) ).start();
+			final int statusCode = p.waitFor();
+			if( statusCode == 0 ) return null;
+			final String msg = "Worker failure status code [ " + statusCode + " ]:  " + worker.getAbsolutePath();
+			final File failFlag = new File( worker.getAbsolutePath() + "_" + Constants.SCRIPT_FAILURES );
+			if( !failFlag.isFile() ) {
+				final FileWriter writer = new FileWriter( failFlag );
+				try {
+					writer.write( msg + Constants.RETURN );
+				} finally {
+					writer.close();
+				}
+			}
+			Log.warn( Processor.class, "[ " + label + " ]: " + msg );
+			return msg;
+		} catch( final Exception ex ) {
+			Log.error( Processor.class, "[ " + label + " ]: Problem running worker script", ex );
+			return "Worker failed to run [ " + ex.getMessage() + " ]:  " + worker.getAbsolutePath();
+		}
+	}
+
+	private static boolean runWorkersLocally( final ScriptModule module ) {
+		return !Config.isOnCluster() && !DockerUtil.inDockerEnv() && !DockerUtil.inAwsEnv() &&
+			!( module instanceof R_Module ) && !( module instanceof JavaModule );
+	}
+
 	private static String getArgsAsString( final String[] args ) {
 		final StringBuffer sb = new StringBuffer();
 		for( final String arg: args )
@@ -269,5 +379,6 @@ public class Processor {
 
 	private static final String BLJ_GET_ENV_VAR_KEY = "BLJ_GET_ENV_VAR";
 	private static final String BLJ_GET_ENV_VAR_SCRIPT = "get_env_var";
+	private static final String MAIN_LOG = "MAIN" + Constants.LOG_EXT;
 	private static final Map<Thread, Long> threadRegister = new HashMap<>();
 }
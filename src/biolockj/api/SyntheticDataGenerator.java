@@ -0,0 +1,532 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.api;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.zip.Deflater;
+import biolockj.Constants;
+import biolockj.util.OtuUtil;
+import biolockj.util.ParallelGzipOutputStream;
+
+/**
+ * Generate seeded, reproducible synthetic datasets for benchmarks and load tests, so real sequencing runs do not have
+ * to be copied around.<br>
+ * Usage: java -cp BioLockJ.jar biolockj.api.SyntheticDataGenerator &lt;dataset&gt; dir=&lt;output dir&gt; [option=value
+ * ...]<br>
+ * Run with the "help" dataset for the list of datasets and options.
+ * <p>
+ * Every dataset includes a metadata file ({@value #METADATA_FILE}) with a row for each sample. Each sample is built
+ * from its own random stream (derived from the seed and the sample index), so the output does not depend on the
+ * number of threads. OTUs are drawn from a fixed taxonomy tree with {@value #DEFAULT_OTUS} species by default, where
+ * each species has exactly 1 parent at each level.
+ */
+public class SyntheticDataGenerator {
+
+	/**
+	 * Generate the dataset given by the 1st argument, configured with name=value options.
+	 *
+	 * @param args Dataset name followed by options
+	 * @throws Exception if the dataset cannot be generated
+	 */
+	public static void main( final String[] args ) throws Exception {
+		try {
+			final Map<String, String> options = new HashMap<>();
+			String dataset = null;
+			for( final String arg: args ) {
+				final int sep = arg.indexOf( "=" );
+				if( sep == -1 ) {
+					if( dataset == null ) dataset = arg;
+					else throw new API_Exception( "All options after the dataset must be named." +
+						System.lineSeparator() + "Cannot process [ " + arg + " ]." );
+				} else options.put( arg.substring( 0, sep ).trim(), arg.substring( sep + 1 ).trim() );
+			}
+			if( dataset == null || dataset.equals( HELP ) ) {
+				System.out.println( getHelp() );
+				return;
+			}
+
+			final SyntheticDataGenerator generator = new SyntheticDataGenerator( dataset, options );
+			final long start = System.currentTimeMillis();
+			final List<File> files = generator.generate();
+			System.out.println( "Generated " + files.size() + " " + dataset + " files in " +
+				generator.dir.getAbsolutePath() + " (" + ( System.currentTimeMillis() - start ) / 1000 + " sec)" );
+		} catch( final API_Exception ex ) {
+			System.err.println( ex.getMessage() );
+			System.err.println( "See help menu using: java " + SyntheticDataGenerator.class.getName() + " " + HELP );
+		}
+	}
+
+	/**
+	 * Get the barcode for a sample. Barcodes are unique for the first 4^length samples.
+	 *
+	 * @param sample Sample index
+	 * @param length Barcode length
+	 * @return Barcode sequence
+	 */
+	public static String getBarcode( final int sample, final int length ) {
+		final char[] barcode = new char[ length ];
+		int val = sample;
+		for( int i = length - 1; i >= 0; i-- ) {
+			barcode[ i ] = BASES[ val & 3 ];
+			val >>>= 2;
+		}
+		return new String( barcode );
+	}
+
+	/**
+	 * Get the taxa names of a species (leaf) OTU at each level, from {@value biolockj.Constants#DOMAIN} to
+	 * {@value biolockj.Constants#SPECIES}.
+	 *
+	 * @param leaf Species index
+	 * @param numOtus Number of species in the taxonomy tree
+	 * @return Taxa names, ordered as {@link #getLevels()}
+	 */
+	public static String[] getLineage( final int leaf, final int numOtus ) {
+		final String[] lineage = new String[ LEVELS.length ];
+		int index = leaf;
+		for( int level = LEVELS.length - 1; level >= 0; level-- ) {
+			if( level < LEVELS.length - 1 ) index = index % Math.max( 1, Math.min( LEVEL_SIZE[ level ], numOtus ) );
+			lineage[ level ] =
+				Character.toUpperCase( LEVELS[ level ].charAt( 0 ) ) + LEVELS[ level ].substring( 1 ) + "_" + index;
+		}
+		return lineage;
+	}
+
+	/**
+	 * Get the taxonomy levels used in the taxonomy tree.
+	 *
+	 * @return Taxonomy levels, from {@value biolockj.Constants#DOMAIN} to {@value biolockj.Constants#SPECIES}
+	 */
+	public static List<String> getLevels() {
+		return Arrays.asList( LEVELS );
+	}
+
+	/**
+	 * Get the full OTU path (as output by the {@link biolockj.module.implicit.parser.ParserModule}s) for a species.
+	 *
+	 * @param leaf Species index
+	 * @param numOtus Number of species in the taxonomy tree
+	 * @return OTU path
+	 */
+	public static String getOtu( final int leaf, final int numOtus ) {
+		final String[] lineage = getLineage( leaf, numOtus );
+		final StringBuilder otu = new StringBuilder();
+		for( int level = 0; level < LEVELS.length; level++ ) {
+			if( level > 0 ) otu.append( Constants.OTU_SEPARATOR );
+			otu.append( OtuUtil.buildOtuTaxa( LEVELS[ level ], lineage[ level ] ) );
+		}
+		return otu.toString();
+	}
+
+	/**
+	 * Get the Illumina style header line of a read.
+	 *
+	 * @param read Read index
+	 * @param direction 1 for forward reads, 2 for reverse reads
+	 * @param index Index sequence (barcode) added to the end of the header
+	 * @return Header line, without the FastA/FastQ header character
+	 */
+	public static String getReadHeader( final long read, final int direction, final String index ) {
+		return "M01234:56:000000000-ABCDE:1:" + ( 1101 + read / 10000 ) + ":" + read % 10000 + ":" + read % 997 + " " +
+			direction + ":N:0:" + index;
+	}
+
+	/**
+	 * Get the sample ID at the given index.
+	 *
+	 * @param sample Sample index
+	 * @return Sample ID
+	 */
+	public static String getSampleId( final int sample ) {
+		return String.format( "sample%05d", sample );
+	}
+
+	/**
+	 * Get random OTU counts for a sample. About half of the species in the tree are found in each sample, with log
+	 * normal counts.
+	 *
+	 * @param sample Sample index
+	 * @param numOtus Number of species in the taxonomy tree
+	 * @param seed Dataset seed
+	 * @return TreeMap(species index, count)
+	 */
+	public static TreeMap<Integer, Long> getSpeciesCounts( final int sample, final int numOtus, final long seed ) {
+		final SplittableRandom random = getRandom( seed, sample );
+		final TreeMap<Integer, Long> counts = new TreeMap<>();
+		for( int i = 0; i < numOtus; i++ )
+			if( random.nextInt( 2 ) == 0 ) counts.put( i, 1L + (long) Math.exp( 3.0 + 1.5 * nextGaussian( random ) ) );
+		return counts;
+	}
+
+	/**
+	 * Write random reads for a single sample (or a multiplexed file) as FastA or FastQ. If reverse is not null,
+	 * matching reverse reads are written to it.
+	 *
+	 * @param forward Forward read output stream
+	 * @param reverse Reverse read output stream, or null for unpaired reads
+	 * @param numReads Number of reads
+	 * @param readLen Number of bases per read
+	 * @param fastq Set true for FastQ, false for FastA
+	 * @param random Random stream
+	 * @param indexes Index sequence for each read header, picked at random
+	 * @throws IOException if unable to write the reads
+	 */
+	public static void writeReads( final OutputStream forward, final OutputStream reverse, final long numReads,
+		final int readLen, final boolean fastq, final SplittableRandom random, final String[] indexes )
+		throws IOException {
+		final byte[] seq = new byte[ readLen ];
+		final byte[] qual = new byte[ readLen ];
+		final byte header = (byte) ( fastq ? '@': '>' );
+		for( long i = 0; i < numReads; i++ ) {
+			final String index = indexes[ indexes.length == 1 ? 0: random.nextInt( indexes.length ) ];
+			for( int direction = 1; direction <= ( reverse == null ? 1: 2 ); direction++ ) {
+				final OutputStream out = direction == 1 ? forward: reverse;
+				fillRandom( random, seq, qual );
+				out.write( header );
+				out.write( getReadHeader( i, direction, index ).getBytes( StandardCharsets.US_ASCII ) );
+				out.write( '\n' );
+				out.write( seq );
+				out.write( '\n' );
+				if( fastq ) {
+					out.write( '+' );
+					out.write( '\n' );
+					out.write( qual );
+					out.write( '\n' );
+				}
+			}
+		}
+	}
+
+	private SyntheticDataGenerator( final String dataset, final Map<String, String> options ) throws API_Exception {
+		if( !DATASETS.contains( dataset ) ) throw new API_Exception( "\"" + dataset + "\" is not a recognized dataset." );
+		for( final String option: options.keySet() )
+			if( !OPTIONS.contains( option ) ) throw new API_Exception( "Unknown option [ " + option + " ]." );
+		if( options.get( DIR ) == null ) throw new API_Exception( "The [ " + DIR + " ] option is required." );
+
+		this.dataset = dataset;
+		this.dir = new File( options.get( DIR ) );
+		this.numSamples = getInt( options, SAMPLES, DEFAULT_SAMPLES );
+		this.numReads = getLong( options, READS, DEFAULT_READS );
+		this.readLen = getInt( options, READ_LENGTH, DEFAULT_READ_LENGTH );
+		this.numOtus = getInt( options, OTUS, DEFAULT_OTUS );
+		this.barcodeLen = getInt( options, BARCODE_LENGTH, DEFAULT_BARCODE_LENGTH );
+		this.seed = getLong( options, SEED, DEFAULT_SEED );
+		this.numThreads = getInt( options, THREADS, Runtime.getRuntime().availableProcessors() );
+		this.fastq = !Constants.FASTA.equals( getString( options, FORMAT, Constants.FASTQ ) );
+		this.paired = getBoolean( options, PAIRED, false );
+		this.gzip = getBoolean( options, GZIP, false );
+
+		if( !getString( options, FORMAT, Constants.FASTQ ).equals( Constants.FASTQ ) && this.fastq )
+			throw new API_Exception( "The [ " + FORMAT + " ] option must be " + Constants.FASTQ + " or " +
+				Constants.FASTA );
+		if( dataset.equals( MULTIPLEXED ) && Math.pow( 4, this.barcodeLen ) < this.numSamples )
+			throw new API_Exception( "The [ " + BARCODE_LENGTH + " ] option is too short for " + this.numSamples +
+				" unique barcodes." );
+	}
+
+	private List<File> generate() throws Exception {
+		this.dir.mkdirs();
+		final List<File> files = new ArrayList<>();
+		files.add( writeMetadata() );
+		if( this.dataset.equals( MULTIPLEXED ) ) {
+			files.addAll( writeMultiplexed() );
+			return files;
+		}
+
+		final ExecutorService pool = Executors.newFixedThreadPool( Math.max( 1, this.numThreads ) );
+		try {
+			final List<Future<List<File>>> results = new ArrayList<>();
+			for( int i = 0; i < this.numSamples; i++ ) {
+				final int sample = i;
+				results.add( pool.submit( () -> writeSample( sample ) ) );
+			}
+			for( final Future<List<File>> result: results )
+				try {
+					files.addAll( result.get() );
+				} catch( final ExecutionException ex ) {
+					throw ex.getCause() instanceof Exception ? (Exception) ex.getCause(): ex;
+				}
+		} finally {
+			pool.shutdownNow();
+		}
+		return files;
+	}
+
+	private String getSeqExt() {
+		return "." + ( this.fastq ? Constants.FASTQ: Constants.FASTA ) + ( this.gzip ? Constants.GZIP_EXT: "" );
+	}
+
+	private OutputStream openFile( final File file ) throws IOException {
+		final OutputStream out = new FileOutputStream( file );
+		return new BufferedOutputStream( this.gzip && file.getName().endsWith( Constants.GZIP_EXT ) ?
+			new ParallelGzipOutputStream( out, Deflater.BEST_SPEED ): out, BUFFER_SIZE );
+	}
+
+	private File writeClassifierReport( final int sample, final boolean metaphlan ) throws IOException {
+		final String[] delims = metaphlan ? METAPHLAN_DELIMS: KRAKEN_DELIMS;
+		final TreeMap<String, Long> counts = new TreeMap<>();
+		final TreeMap<Integer, Long> speciesCounts = getSpeciesCounts( sample, this.numOtus, this.seed );
+		long total = 0L;
+		for( final Integer species: speciesCounts.keySet() ) {
+			final long count = speciesCounts.get( species );
+			final String[] lineage = getLineage( species, this.numOtus );
+			final StringBuilder path = new StringBuilder();
+			for( int level = 0; level < LEVELS.length; level++ ) {
+				if( level > 0 ) path.append( Constants.OTU_SEPARATOR );
+				path.append( delims[ level ] ).append( lineage[ level ] );
+				final String key = path.toString();
+				counts.put( key, ( counts.get( key ) == null ? 0L: counts.get( key ) ) + count );
+			}
+			total += count;
+		}
+
+		final File file = new File( this.dir, getSampleId( sample ) + Constants.PROCESSED );
+		try( Writer writer = new OutputStreamWriter( openFile( file ), StandardCharsets.UTF_8 ) ) {
+			if( metaphlan ) writer.write( "#SampleID\tMetaphlan2_Analysis\n#clade_name\trelative_abundance\tcoverage\t" +
+				"average_genome_length_in_the_clade\testimated_number_of_reads_from_the_clade\n" );
+			for( final String taxa: counts.keySet() ) {
+				final long count = counts.get( taxa );
+				if( metaphlan ) writer.write( taxa + Constants.TAB_DELIM +
+					String.format( "%.5f", 100.0 * count / total ) + Constants.TAB_DELIM +
+					String.format( "%.3f", count * 0.01 ) + Constants.TAB_DELIM + GENOME_LENGTH + Constants.TAB_DELIM +
+					count + Constants.RETURN );
+				else writer.write( taxa + Constants.TAB_DELIM + count + Constants.RETURN );
+			}
+		}
+		return file;
+	}
+
+	private File writeMetadata() throws IOException {
+		final File file = new File( this.dir, METADATA_FILE );
+		final SplittableRandom random = new SplittableRandom( this.seed );
+		try( Writer writer = new BufferedWriter( new FileWriter( file ) ) ) {
+			writer.write( "SampleID" + Constants.TAB_DELIM + "Group" + Constants.TAB_DELIM + "Age" );
+			if( this.dataset.equals( MULTIPLEXED ) ) writer.write( Constants.TAB_DELIM + BARCODE_COLUMN );
+			writer.write( Constants.RETURN );
+			for( int i = 0; i < this.numSamples; i++ ) {
+				writer.write( getSampleId( i ) + Constants.TAB_DELIM + ( random.nextBoolean() ? "A": "B" ) +
+					Constants.TAB_DELIM + ( 18 + random.nextInt( 60 ) ) );
+				if( this.dataset.equals( MULTIPLEXED ) )
+					writer.write( Constants.TAB_DELIM + getBarcode( i, this.barcodeLen ) );
+				writer.write( Constants.RETURN );
+			}
+		}
+		return file;
+	}
+
+	/**
+	 * Write all samples to 1 file (or 1 pair of files), with the sample barcode at the end of each read header. The
+	 * samples are interleaved at random.
+	 */
+	private List<File> writeMultiplexed() throws IOException {
+		final String[] barcodes = new String[ this.numSamples ];
+		for( int i = 0; i < this.numSamples; i++ )
+			barcodes[ i ] = getBarcode( i, this.barcodeLen );
+
+		final List<File> files = new ArrayList<>();
+		files.add( new File( this.dir, MULTIPLEXED + ( this.paired ? FW_SUFFIX: "" ) + getSeqExt() ) );
+		if( this.paired ) files.add( new File( this.dir, MULTIPLEXED + RV_SUFFIX + getSeqExt() ) );
+		try( OutputStream fw = openFile( files.get( 0 ) );
+			OutputStream rv = this.paired ? openFile( files.get( 1 ) ): null ) {
+			writeReads( fw, rv, this.numReads * this.numSamples, this.readLen, this.fastq,
+				new SplittableRandom( this.seed ), barcodes );
+		}
+		return files;
+	}
+
+	private File writeOtuCounts( final int sample ) throws IOException {
+		final File file = new File( this.dir, OTU_FILE_PREFIX + Constants.OTU_COUNT + "_" + getSampleId( sample ) +
+			Constants.TSV_EXT );
+		final TreeMap<Integer, Long> counts = getSpeciesCounts( sample, this.numOtus, this.seed );
+		try( Writer writer = new OutputStreamWriter( openFile( file ), StandardCharsets.UTF_8 ) ) {
+			for( final Integer species: counts.keySet() )
+				writer.write( getOtu( species, this.numOtus ) + Constants.TAB_DELIM + counts.get( species ) +
+					Constants.RETURN );
+		}
+		return file;
+	}
+
+	private List<File> writeSample( final int sample ) throws IOException {
+		switch( this.dataset ) {
+			case KRAKEN2:
+				return Collections.singletonList( writeClassifierReport( sample, false ) );
+			case METAPHLAN2:
+				return Collections.singletonList( writeClassifierReport( sample, true ) );
+			case OTU_COUNTS:
+				return Collections.singletonList( writeOtuCounts( sample ) );
+			default:
+				return writeSeqs( sample );
+		}
+	}
+
+	private List<File> writeSeqs( final int sample ) throws IOException {
+		final String id = getSampleId( sample );
+		final List<File> files = new ArrayList<>();
+		files.add( new File( this.dir, id + ( this.paired ? FW_SUFFIX: "" ) + getSeqExt() ) );
+		if( this.paired ) files.add( new File( this.dir, id + RV_SUFFIX + getSeqExt() ) );
+		try( OutputStream fw = openFile( files.get( 0 ) );
+			OutputStream rv = this.paired ? openFile( files.get( 1 ) ): null ) {
+			writeReads( fw, rv, this.numReads, this.readLen, this.fastq, getRandom( this.seed, sample ),
+				new String[] { getBarcode( sample, DEFAULT_BARCODE_LENGTH ) } );
+		}
+		return files;
+	}
+
+	/**
+	 * Fill the sequence with random bases and the quality scores with random Phred scores from 20 to 35. Each random
+	 * int is used for 8 bases.
+	 */
+	private static void fillRandom( final SplittableRandom random, final byte[] seq, final byte[] qual ) {
+		int bits = 0;
+		for( int i = 0; i < seq.length; i++ ) {
+			if( i % 8 == 0 ) bits = random.nextInt();
+			seq[ i ] = (byte) BASES[ bits & 3 ];
+			qual[ i ] = (byte) ( '!' + 20 + ( bits >>> 2 & 15 ) );
+			bits >>>= 4;
+		}
+	}
+
+	private static boolean getBoolean( final Map<String, String> options, final String name, final boolean defaultVal )
+		throws API_Exception {
+		final String val = options.get( name );
+		if( val == null ) return defaultVal;
+		if( val.equals( Constants.TRUE ) ) return true;
+		if( val.equals( Constants.FALSE ) ) return false;
+		throw new API_Exception(
+			"The [ " + name + " ] option must be " + Constants.TRUE + " or " + Constants.FALSE + ", found: " + val );
+	}
+
+	private static String getHelp() {
+		return "Generate a synthetic dataset:" + System.lineSeparator() + "  java -cp BioLockJ.jar " +
+			SyntheticDataGenerator.class.getName() + " <dataset> " + DIR + "=<output dir> [option=value ...]" +
+			System.lineSeparator() + System.lineSeparator() + "Datasets:" + System.lineSeparator() + "  " + SEQS +
+			"        FastQ/FastA files for each sample" + System.lineSeparator() + "  " + MULTIPLEXED +
+			" 1 FastQ/FastA file for all samples, with the barcode (metadata column " + BARCODE_COLUMN +
+			") in each read header" + System.lineSeparator() + "  " + KRAKEN2 +
+			"     Kraken2 (mpa format) report for each sample" + System.lineSeparator() + "  " + METAPHLAN2 +
+			"  Metaphlan2 (rel_ab_w_read_stats) report for each sample" + System.lineSeparator() + "  " +
+			OTU_COUNTS + "   OTU count file for each sample" + System.lineSeparator() + System.lineSeparator() +
+			"Options:" + System.lineSeparator() + "  " + DIR + "           Output directory (required)" +
+			System.lineSeparator() + "  " + SAMPLES + "       Number of samples (default " + DEFAULT_SAMPLES + ")" +
+			System.lineSeparator() + "  " + READS + "         Number of reads per sample (default " + DEFAULT_READS +
+			")" + System.lineSeparator() + "  " + READ_LENGTH + "    Bases per read (default " + DEFAULT_READ_LENGTH +
+			")" + System.lineSeparator() + "  " + FORMAT + "        " + Constants.FASTQ + " or " + Constants.FASTA +
+			" (default " + Constants.FASTQ + ")" + System.lineSeparator() + "  " + PAIRED +
+			"        Y to write " + FW_SUFFIX + "/" + RV_SUFFIX + " read pairs (default N)" + System.lineSeparator() +
+			"  " + GZIP + "          Y to gzip output files (default N)" + System.lineSeparator() + "  " + OTUS +
+			"          Number of species in the taxonomy tree (default " + DEFAULT_OTUS + ")" +
+			System.lineSeparator() + "  " + BARCODE_LENGTH + " Barcode length for " + MULTIPLEXED + " (default " +
+			DEFAULT_BARCODE_LENGTH + ")" + System.lineSeparator() + "  " + SEED + "          Random seed (default " +
+			DEFAULT_SEED + ")" + System.lineSeparator() + "  " + THREADS +
+			"       Number of samples to write at once (default: # processors)";
+	}
+
+	private static int getInt( final Map<String, String> options, final String name, final int defaultVal )
+		throws API_Exception {
+		final long val = getLong( options, name, defaultVal );
+		if( val > Integer.MAX_VALUE ) throw new API_Exception( "The [ " + name + " ] option is too large: " + val );
+		return (int) val;
+	}
+
+	private static long getLong( final Map<String, String> options, final String name, final long defaultVal )
+		throws API_Exception {
+		if( options.get( name ) == null ) return defaultVal;
+		try {
+			final long val = Long.valueOf( options.get( name ) );
+			if( val < 0 || val == 0 && !name.equals( SEED ) ) throw new NumberFormatException();
+			return val;
+		} catch( final NumberFormatException ex ) {
+			throw new API_Exception(
+				"The [ " + name + " ] option must be a positive integer, found: " + options.get( name ) );
+		}
+	}
+
+	private static SplittableRandom getRandom( final long seed, final int sample ) {
+		return new SplittableRandom( seed * 1000003L + sample );
+	}
+
+	private static String getString( final Map<String, String> options, final String name, final String defaultVal ) {
+		return options.get( name ) == null ? defaultVal: options.get( name );
+	}
+
+	private static double nextGaussian( final SplittableRandom random ) {
+		double sum = 0.0;
+		for( int i = 0; i < 12; i++ )
+			sum += random.nextDouble();
+		return sum - 6.0;
+	}
+
+	private final int barcodeLen;
+	private final String dataset;
+	private final File dir;
+	private final boolean fastq;
+	private final boolean gzip;
+	private final int numOtus;
+	private final long numReads;
+	private final int numSamples;
+	private final int numThreads;
+	private final boolean paired;
+	private final int readLen;
+	private final long seed;
+
+	/**
+	 * Name of the metadata column that holds the sample barcode in a {@value #MULTIPLEXED} dataset:
+	 * {@value #BARCODE_COLUMN}
+	 */
+	public static final String BARCODE_COLUMN = "BarcodeSequence";
+
+	/**
+	 * Name of the metadata file written with every dataset: {@value #METADATA_FILE}
+	 */
+	public static final String METADATA_FILE = "metadata.tsv";
+
+	private static final String BARCODE_LENGTH = "barcodeLength";
+	private static final char[] BASES = { 'A', 'C', 'G', 'T' };
+	private static final int BUFFER_SIZE = 1024 * 1024;
+	private static final int DEFAULT_BARCODE_LENGTH = 8;
+	private static final int DEFAULT_OTUS = 5000;
+	private static final int DEFAULT_READ_LENGTH = 150;
+	private static final long DEFAULT_READS = 10000L;
+	private static final int DEFAULT_SAMPLES = 10;
+	private static final long DEFAULT_SEED = 42L;
+	private static final String DIR = "dir";
+	private static final String FORMAT = "format";
+	private static final String FW_SUFFIX = "_R1";
+	private static final int GENOME_LENGTH = 2000000;
+	private static final String GZIP = "gzip";
+	private static final String HELP = "help";
+	private static final String KRAKEN2 = "kraken2";
+	private static final String[] KRAKEN_DELIMS = { "d__", "p__", "c__", "o__", "f__", "g__", "s__" };
+	private static final int[] LEVEL_SIZE = { 2, 25, 60, 150, 400, 1500 };
+	private static final String[] LEVELS = { Constants.DOMAIN, Constants.PHYLUM, Constants.CLASS, Constants.ORDER,
+		Constants.FAMILY, Constants.GENUS, Constants.SPECIES };
+	private static final String METAPHLAN2 = "metaphlan2";
+	private static final String[] METAPHLAN_DELIMS = { "k__", "p__", "c__", "o__", "f__", "g__", "s__" };
+	private static final String MULTIPLEXED = "multiplexed";
+	private static final String OTU_COUNTS = "otuCounts";
+	private static final String OTU_FILE_PREFIX = "synthetic_";
+	private static final String OTUS = "otus";
+	private static final String PAIRED = "paired";
+	private static final String READ_LENGTH = "readLength";
+	private static final String READS = "reads";
+	private static final String RV_SUFFIX = "_R2";
+	private static final String SAMPLES = "samples";
+	private static final String SEED = "seed";
+	private static final String SEQS = "seqs";
+	private static final String THREADS = "threads";
+	private static final List<String> DATASETS = Arrays.asList( SEQS, MULTIPLEXED, KRAKEN2, METAPHLAN2, OTU_COUNTS );
+	private static final List<String> OPTIONS = Arrays.asList( DIR, SAMPLES, READS, READ_LENGTH, FORMAT, PAIRED, GZIP,
+		OTUS, BARCODE_LENGTH, SEED, THREADS );
+}
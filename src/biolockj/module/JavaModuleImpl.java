@@ -14,6 +14,7 @@ package biolockj.module;
 import java.io.File;
 import java.io.FileWriter;
 import java.util.*;
+import java.util.concurrent.*;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
@@ -24,6 +25,41 @@ import biolockj.util.*;
  */
 public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaModule {
 
+	/**
+	 * Per-file unit of work run by {@link JavaModuleImpl#processFiles(List, FileTask, ResultCombiner)}.<br>
+	 * Files are processed on multiple threads, so the task must not modify module fields shared with other files.
+	 *
+	 * @param <T> Result type
+	 */
+	public interface FileTask<T> {
+		/**
+		 * Process a single input file.
+		 *
+		 * @param file Input file
+		 * @return Result to pass to the {@link ResultCombiner}
+		 * @throws Exception if unable to process the file
+		 */
+		T process( File file ) throws Exception;
+	}
+
+	/**
+	 * Combine the result of a {@link FileTask} into the module state.<br>
+	 * Results are always combined on the module thread, in input file order, so the combiner may update module fields
+	 * without synchronization.
+	 *
+	 * @param <T> Result type
+	 */
+	public interface ResultCombiner<T> {
+		/**
+		 * Combine the result for a single input file.
+		 *
+		 * @param file Input file
+		 * @param result Value returned by {@link FileTask#process(File)}
+		 * @throws Exception if unable to combine the result
+		 */
+		void combine( File file, T result ) throws Exception;
+	}
+
 	/**
 	 * Java script only require 2 lines, one to run the blj_config to update our $PATH and gain access to environment
 	 * variables, and then the direct call to the BioLockJ.jar.
@@ -92,6 +128,52 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 	@Override
 	public abstract void runModule() throws Exception;
 
+	/**
+	 * Run the task for each file, using up to {@link biolockj.Config}.{@value biolockj.Constants#SCRIPT_NUM_THREADS}
+	 * threads (limited by the number of available processors). Each result is passed to the combiner on the calling
+	 * thread in the same order as the files, so output is identical to a serial loop.<br>
+	 * If any task fails, unfinished tasks are cancelled and the original exception is thrown.
+	 *
+	 * @param files Input files
+	 * @param task Per-file task
+	 * @param combiner Result combiner, or null if the task has no result
+	 * @param <T> Result type
+	 * @throws Exception if any task or the combiner fails
+	 */
+	protected <T> void processFiles( final List<File> files, final FileTask<T> task,
+		final ResultCombiner<T> combiner ) throws Exception {
+		final int numThreads = Math.min( files.size(), getNumFileThreads() );
+		if( numThreads < 2 ) {
+			for( final File file: files ) {
+				final T result = task.process( file );
+				if( combiner != null ) combiner.combine( file, result );
+			}
+			return;
+		}
+
+		Log.info( getClass(), "Process " + files.size() + " files with " + numThreads + " threads" );
+		final ExecutorService pool = Executors.newFixedThreadPool( numThreads );
+		try {
+			final List<Future<T>> futures = new ArrayList<>();
+			for( final File file: files )
+				futures.add( pool.submit( () -> task.process( file ) ) );
+
+			for( int i = 0; i < files.size(); i++ ) {
+				final T result;
+				try {
+					result = futures.get( i ).get();
+				} catch( final ExecutionException ex ) {
+					Log.error( getClass(), "Failed to process: " + files.get( i ).getAbsolutePath() );
+					if( ex.getCause() instanceof Exception ) throw (Exception) ex.getCause();
+					throw ex;
+				}
+				if( combiner != null ) combiner.combine( files.get( i ), result );
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
 	/**
 	 * This method sets the module status by saving the indicator file to the module root dir.
 	 * 
@@ -142,6 +224,12 @@ public abstract class JavaModuleImpl extends ScriptModuleImpl implements JavaMod
 		return javaString;
 	}
 	
+	private int getNumFileThreads() throws Exception {
+		final Integer numThreads = Config.getPositiveInteger( this, Constants.SCRIPT_NUM_THREADS );
+		if( numThreads == null ) return 1;
+		return Math.min( numThreads, Runtime.getRuntime().availableProcessors() );
+	}
+
 	public String getDockerImageName() {
 		return Constants.MAIN_DOCKER_IMAGE;
 	}
@@ -29,9 +29,11 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	public ScriptModuleImpl() {
 		super();
 		addGeneralProperty( Constants.SCRIPT_DEFAULT_HEADER );
+		addGeneralProperty( Constants.SCRIPT_MAX_LOCAL_WORKERS );
 		addGeneralProperty( Constants.SCRIPT_NUM_WORKERS );
 		addGeneralProperty( Constants.SCRIPT_NUM_THREADS );
 		addGeneralProperty( Constants.SCRIPT_PERMISSIONS );
+		addGeneralProperty( Constants.SCRIPT_POLL_FLAG_FILES );
 		addGeneralProperty( Constants.SCRIPT_TIMEOUT );
 		List<String> generalProps = BashScriptBuilder.listProps();
 		generalProps.addAll( DockerUtil.listProps() );
@@ -58,6 +60,7 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	 * <li>Require {@link biolockj.Config}.{@value Constants#SCRIPT_PERMISSIONS} exists
 	 * <li>Require {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_WORKERS} is positive integer
 	 * <li>Require {@link biolockj.Config}.{@value Constants#SCRIPT_NUM_THREADS} is positive integer
+	 * <li>Verify {@link biolockj.Config}.{@value Constants#SCRIPT_MAX_LOCAL_WORKERS} is positive integer if set
 	 * <li>Verify {@link biolockj.Config}.{@value Constants#SCRIPT_TIMEOUT} is positive integer if set
 	 * <li>Start the AWS DB sync to S3 if a novel DB has been configure and
 	 * {@value biolockj.util.NextflowUtil#AWS_COPY_DB_TO_S3} is enabled
@@ -67,8 +70,10 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 	public void checkDependencies() throws Exception {
 		isValidProp( Constants.SCRIPT_PERMISSIONS);
 		isValidProp( Constants.SCRIPT_PERMISSIONS );
+		isValidProp( Constants.SCRIPT_MAX_LOCAL_WORKERS );
 		isValidProp( Constants.SCRIPT_NUM_WORKERS );
 		isValidProp( Constants.SCRIPT_NUM_THREADS );
+		isValidProp( Constants.SCRIPT_POLL_FLAG_FILES );
 		isValidProp( Constants.SCRIPT_TIMEOUT );
 	}
 
@@ -207,6 +212,10 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 			case Constants.SCRIPT_DEFAULT_HEADER:
 				isValid = true;
 				break;
+			case Constants.SCRIPT_MAX_LOCAL_WORKERS:
+				Config.getPositiveInteger( this, Constants.SCRIPT_MAX_LOCAL_WORKERS );
+				isValid = true;
+				break;
 			case Constants.SCRIPT_NUM_WORKERS:
 				Config.requirePositiveInteger( this, Constants.SCRIPT_NUM_WORKERS );
 				isValid = true;
@@ -219,6 +228,10 @@ public abstract class ScriptModuleImpl extends BioModuleImpl implements ScriptMo
 				Config.requireString( this, Constants.SCRIPT_PERMISSIONS );
 				isValid = true;
 				break;
+			case Constants.SCRIPT_POLL_FLAG_FILES:
+				Config.getBoolean( this, Constants.SCRIPT_POLL_FLAG_FILES );
+				isValid = true;
+				break;
 			case Constants.SCRIPT_TIMEOUT:
 				Config.getPositiveInteger( this, Constants.SCRIPT_TIMEOUT );
 				isValid = true;
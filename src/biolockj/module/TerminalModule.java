@@ -0,0 +1,21 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.module;
+
+/**
+ * Identifies modules whose output is never used as input by a later module, and which do not modify the pipeline
+ * metadata. When {@link biolockj.Constants#PIPELINE_MAX_CONCURRENT_MODULES} is greater than 1, terminal modules may
+ * run at the same time as the modules configured after them.
+ */
+public interface TerminalModule extends BioModule {
+
+}
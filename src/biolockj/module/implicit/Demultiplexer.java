@@ -12,6 +12,7 @@
 package biolockj.module.implicit;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import biolockj.*;
 import biolockj.api.ApiModule;
@@ -160,11 +161,10 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 	/**
 	 * Module execution summary:<br>
 	 * <ol>
-	 * <li>Execute {@link #breakUpFiles()} to split the multiplex file into smaller size for processing
-	 * <li>Execute {@link #getValidHeaders()} to obtain list of valid headers matched to sample ID with the metadata
-	 * file and also verifies matching forward and reverse read headers if demuliplexing paired reads.
-	 * <li>Execute {@link #demultiplex(Map)} to demultiplex the data into a separate file (or pair of files) for each
-	 * sample
+	 * <li>Execute {@link #detectStrategy()} to set the barcode strategy from the first {@value #NUM_TEST_READS} reads
+	 * <li>Execute {@link #demultiplex(File, SeqRecordWriterPool)} (or
+	 * {@link #demultiplexPairs(File, File, SeqRecordWriterPool)} for paired reads) to stream each input file, writing
+	 * each read to the file (or pair of files) for its sample
 	 * </ol>
 	 * <p>
 	 * If paired reads are combined in a single file the read direction must be identified in the sequence header using
@@ -173,251 +173,159 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 	 */
 	@Override
 	public void runModule() throws Exception {
-		breakUpFiles();
-		demultiplex( getValidHeaders() );
+		detectStrategy();
+		if( DemuxUtil.demuxWithBarcode() ) {
+			this.barcodeMatcher = DemuxUtil.getBarcodeMatcher();
+			this.barcodeInSeq = DemuxUtil.barcodeInSeq();
+		}
+
+		final SeqRecordWriterPool pool = new SeqRecordWriterPool( MAX_OPEN_FILES );
+		try {
+			if( !SeqUtil.hasPairedReads() ) for( final File file: getInputFiles() )
+				demultiplex( file, pool );
+			else if( getInputFiles().size() == 1 ) demultiplexPairs( getInputFiles().get( 0 ), null, pool );
+			else for( final Map.Entry<File, File> pair: SeqUtil.getPairedReads( getInputFiles() ).entrySet() )
+				demultiplexPairs( pair.getKey(), pair.getValue(), pool );
+		} finally {
+			pool.close();
+		}
+
+		Log.info( getClass(), "Wrote " + pool.getFiles().size() + " files, closing writers early " +
+			pool.getNumEvictions() + " times to keep a max of " + MAX_OPEN_FILES + " files open" );
+		MetricsUtil.addRecords( this.numTotalFwReads + this.numTotalRvReads );
 	}
 
 	/**
-	 * Some multiplexed files can be very large. This method breaks each input file into smaller files, each
-	 * {@value #NUM_LINES_TEMP_FILE} lines in size to avoid memory issues while processing.
+	 * Demultiplex unpaired reads, writing each read to the file for its sample as it is read.
 	 *
-	 * @throws Exception if unexpected errors occur at runtime
+	 * @param file Multiplexed sequence file
+	 * @param pool Output writers
+	 * @throws Exception if error occurs reading the multiplexed file
 	 */
-	protected void breakUpFiles() throws Exception {
-		final boolean useBarcodes = DemuxUtil.hasValidBarcodes();
-		File testFile = null;
-		for( final File file: getInputFiles() ) {
-			Log.info( getClass(),
-				"Break multiplexed file [ " + file.getAbsolutePath() + " ] into files with a max #lines = [ " +
-					NUM_LINES_TEMP_FILE + " ] to avoid memory issues while processing." );
-			Log.info( getClass(), "Found #lines/read = " + SeqUtil.getNumLinesPerRead() );
-			long numReads = 0L;
-			long headerFwBarcodes = 0L;
-			long headerRvBarcodes = 0L;
-			long seqFwBarcodes = 0L;
-			long seqRvBarcodes = 0L;
-			final BufferedReader reader = BioLockJUtil.getFileReader( file );
-			try {
-				final List<String> seqLines = new ArrayList<>();
-				final List<String> read = new ArrayList<>();
-				int i = 0;
-				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-					read.add( line );
-
-					if( useBarcodes ) {
-						if( testFile == null && read.size() == 1 ) {
-							numReads++;
-							final int testBarcodes = hasBarcode( line );
-							if( testBarcodes == 1 ) headerFwBarcodes++;
-							else if( testBarcodes == 2 ) headerRvBarcodes++;
-						}
-
-						if( testFile == null && read.size() == 2 ) {
-							final int testBarcodes = hasBarcode( line );
-							if( testBarcodes == 1 ) seqFwBarcodes++;
-							else if( testBarcodes == 2 ) seqRvBarcodes++;
-						}
-					}
-
-					if( read.size() == SeqUtil.getNumLinesPerRead() ) {
-						seqLines.addAll( read );
-						read.clear();
-					}
-
-					if( seqLines.size() >= NUM_LINES_TEMP_FILE ) {
-						writeSample( seqLines, getSplitFileName( file.getName(), i++ ) );
-						seqLines.clear();
-					}
+	protected void demultiplex( final File file, final SeqRecordWriterPool pool ) throws Exception {
+		Log.info( getClass(), "Demultiplexing file " + file.getAbsolutePath() );
+		final SeqRecordReader reader = new SeqRecordReader( file );
+		try {
+			for( SeqRecord read = reader.next(); read != null; read = reader.next() ) {
+				this.numTotalFwReads++;
+				final String sampleId = getSampleId( read );
+				if( sampleId == null ) pool.write( getNoMatchFile( true ), read );
+				else {
+					pool.write( getOutputFile( sampleId, true ), read );
+					this.numValidFwReads++;
+					logExample( sampleId );
 				}
-
-				if( !seqLines.isEmpty() ) writeSample( seqLines, getSplitFileName( file.getName(), i++ ) );
-			} finally {
-				if( reader != null ) reader.close();
-			}
-
-			Log.info( getClass(), "Done splitting file: " + file.getAbsolutePath() );
-
-			if( testFile == null && numReads > 0 ) {
-				testFile = file;
-				buildSummaryAndSetConfig( testFile, numReads, headerFwBarcodes, seqFwBarcodes, headerRvBarcodes,
-					seqRvBarcodes );
 			}
+		} finally {
+			reader.close();
 		}
-
-		Log.info( getClass(), "Number of temp files created: " + getSplitDir().listFiles().length );
 	}
 
 	/**
-	 * Demultiplex the file into separate small temp files, with {@value #NUM_LINES_TEMP_FILE} lines each for
-	 * processing. If paired reads, generate separate forward and reverse files for each sample output file named by
-	 * sample ID.
+	 * Demultiplex paired reads. Forward and reverse reads are matched by header, using the forward read to find the
+	 * Sample ID. Pairs found at the same position in both files (or next to each other in a combined file) are written
+	 * as they are read. Any other read is only recorded in a {@link biolockj.util.HeaderIndex} by its header
+	 * fingerprint (with the Sample ID of forward reads), so memory stays small even if the files are in a different
+	 * order. If any reads were recorded, a 2nd pass over the files writes them to the files for their sample, or to the
+	 * "NO_MATCH" files if they have no mate.
 	 *
-	 * @param validHeaders Set of valid headers
-	 * @throws Exception if error occurs reading the multiplexed file
+	 * @param fwFile Forward read file, or the combined file with forward and reverse reads
+	 * @param rvFile Reverse read file, or null if reads are combined in fwFile
+	 * @param pool Output writers
+	 * @throws Exception if error occurs reading the multiplexed files
 	 */
-	protected void demultiplex( final Map<String, Set<String>> validHeaders ) throws Exception {
-		printCounts( validHeaders );
-		// int count = 0;
-		// int loopCount = 0;
-		boolean doPrint = true;
-
-		for( final File file: getSplitDir().listFiles() ) {
-			Log.info( getClass(), "Demultiplexing file " + file.getAbsolutePath() );
-			final List<String> seqLines = new ArrayList<>();
-			final Map<String, List<String>> output = new HashMap<>();
-			final BufferedReader reader = BioLockJUtil.getFileReader( file );
-			try {
-				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-					seqLines.add( line );
-					if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) {
-						final String header = SeqUtil.getHeader( seqLines.get( 0 ) );
-						final String sampleId = getSampleId( header, validHeaders );
-
-						String otu = null;
-
-						if( sampleId == null ) otu = getNoMatchFileName( file.getName(), seqLines.get( 0 ) );
-						else {
-							otu = getOutputFileName( sampleId, file.getName(), seqLines.get( 0 ) );
-							incrementCounts( file.getName(), seqLines.get( 0 ) );
-
-							if( doPrint ) {
-								doPrint = false;
-								Log.info( getClass(), "EXAMPLE Demultiplexed Sample ID: " + sampleId );
-								Log.info( getClass(), "EXAMPLE Demultiplexed sequence file: " + otu );
-							}
-						}
-
-						if( !output.keySet().contains( otu ) ) output.put( otu, new ArrayList<>() );
-
-						output.get( otu ).addAll( seqLines );
-						seqLines.clear();
-					}
-				}
-
-				for( final String outName: output.keySet() ) {
-					Log.debug( getClass(), outName + " adding # lines = " + output.get( outName ).size() );
-					writeSample( output.get( outName ), outName );
-				}
-			} finally {
-				if( reader != null ) reader.close();
-			}
-		}
+	protected void demultiplexPairs( final File fwFile, final File rvFile, final SeqRecordWriterPool pool )
+		throws Exception {
+		Log.info( getClass(), "Demultiplexing paired reads in " + fwFile.getAbsolutePath() +
+			( rvFile == null ? "": " & " + rvFile.getAbsolutePath() ) );
+		final HeaderIndex pendingFw = new HeaderIndex();
+		final HeaderIndex pendingRv = new HeaderIndex();
+		pairReads( fwFile, rvFile, pool, pendingFw, pendingRv, false );
+		if( pendingFw.size() == 0 && pendingRv.size() == 0 ) return;
+
+		Log.info( getClass(), "Reading files again to pair " + pendingFw.size() + " forward reads and " +
+			pendingRv.size() + " reverse reads found out of order" );
+		final long numUnpaired = pairReads( fwFile, rvFile, pool, pendingFw, pendingRv, true );
+		if( numUnpaired > 0 )
+			Log.warn( getClass(), "Found " + numUnpaired + " reads without a mate, saved to NO_MATCH files" );
 	}
 
 	/**
-	 * Get valid forward read headers that belong to reads with a valid barcode or sample identifier.
+	 * Check the first {@value #NUM_TEST_READS} reads of the first input file for barcodes (and reverse compliment
+	 * barcodes) in the headers and sequences, to set {@value biolockj.util.DemuxUtil#DEMUX_STRATEGY} and
+	 * {@value biolockj.util.DemuxUtil#BARCODE_USE_REV_COMP} if undefined.
 	 *
-	 * @return Map sampleID to list of valid headers
-	 * @throws Exception if error occur
+	 * @throws Exception if the barcodes found do not match the Config
 	 */
-	protected Map<String, Set<String>> getValidFwHeaders() throws Exception {
-		final Map<String, Set<String>> validHeaders = new HashMap<>();
-		final boolean isPaird = SeqUtil.hasPairedReads();
-		final boolean isCombined = isPaird && getInputFiles().size() == 1;
-
-		Log.info( getClass(), "Get FW Headers from temp files " +
-			( isCombined ? "created from multiplexed file with both forward and reverse reads": "" ) );
-
-		// check forward reads only
-		for( final File file: getSplitDir().listFiles() ) {
-			// skip files ending with _R2 suffix since contain only reverse reads
-			if( !isCombined && !SeqUtil.isForwardRead( file.getName() ) ) continue;
-
-			Log.info( getClass(), "Processing split file for FW headers: " + file.getAbsolutePath() );
-
-			final List<String> seqLines = new ArrayList<>();
-			final BufferedReader reader = BioLockJUtil.getFileReader( file );
-			try {
-				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-					seqLines.add( line );
-					if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) {
-						// if not combined must be a file of only forward reads due to continue above
-						if( !isCombined || seqLines.get( 0 ).contains( SeqUtil.ILLUMINA_FW_READ_IND ) ) {
-							this.numTotalFwReads++;
-							final String sampleId = DemuxUtil.getSampleId( seqLines );
-							if( sampleId != null ) {
-								if( validHeaders.get( sampleId ) == null )
-									validHeaders.put( sampleId, new HashSet<>() );
-								final String header = SeqUtil.getHeader( seqLines.get( 0 ) );
-								validHeaders.get( sampleId ).add( header );
-							}
-						}
+	protected void detectStrategy() throws Exception {
+		if( !DemuxUtil.hasValidBarcodes() || getInputFiles().isEmpty() ) return;
+		final List<byte[]> barcodes = new ArrayList<>();
+		final List<byte[]> rcBarcodes = new ArrayList<>();
+		for( final String code: MetaUtil
+			.getFieldValues( Config.requireString( this, MetaUtil.META_BARCODE_COLUMN ), true ) ) {
+			barcodes.add( code.getBytes( StandardCharsets.ISO_8859_1 ) );
+			rcBarcodes.add( SeqUtil.reverseComplement( code ).getBytes( StandardCharsets.ISO_8859_1 ) );
+		}
 
-						seqLines.clear();
-					}
-				}
-			} finally {
-				if( reader != null ) reader.close();
+		final File file = getInputFiles().get( 0 );
+		long numReads = 0L;
+		long headerFwBarcodes = 0L;
+		long headerRvBarcodes = 0L;
+		long seqFwBarcodes = 0L;
+		long seqRvBarcodes = 0L;
+		final SeqRecordReader reader = new SeqRecordReader( file );
+		try {
+			for( SeqRecord read = reader.next(); read != null && numReads < NUM_TEST_READS; read = reader.next() ) {
+				numReads++;
+				final int headerBarcodes = hasBarcode( read, SeqRecord.HEADER, barcodes, rcBarcodes );
+				if( headerBarcodes == 1 ) headerFwBarcodes++;
+				else if( headerBarcodes == 2 ) headerRvBarcodes++;
+
+				final int seqBarcodes = hasBarcode( read, SeqRecord.SEQ, barcodes, rcBarcodes );
+				if( seqBarcodes == 1 ) seqFwBarcodes++;
+				else if( seqBarcodes == 2 ) seqRvBarcodes++;
 			}
-
+		} finally {
+			reader.close();
 		}
 
-		String msg = " # valid reads = ";
-		if( SeqUtil.hasPairedReads() ) msg = " # valid fw read headers = ";
-
-		for( final String sampleId: validHeaders.keySet() )
-			Log.debug( getClass(), sampleId + msg + validHeaders.get( sampleId ).size() );
-
-		return validHeaders;
+		if( numReads > 0 ) buildSummaryAndSetConfig( file, numReads, headerFwBarcodes, seqFwBarcodes,
+			headerRvBarcodes, seqRvBarcodes );
 	}
 
 	/**
-	 * This method obtains all valid headers for the forward reads, and returns only headers that also have a matching
-	 * reverse read
+	 * Record a read found without its mate in the 1st pass. In the 2nd pass, write the read to the file for its sample
+	 * if its mate was recorded too, otherwise to the "NO_MATCH" file.
 	 *
-	 * @return Map of valid headers for each sample ID
-	 * @throws Exception if unable to obtain headers
+	 * @return TRUE if the read has no mate
 	 */
-	protected Map<String, Set<String>> getValidHeaders() throws Exception {
-		final Map<String, Set<String>> validFwHeaders = getValidFwHeaders();
-		if( !SeqUtil.hasPairedReads() ) {
-			Log.info( getClass(), "Demultiplexing unpaired reads...# " + validFwHeaders.size() );
-			return validFwHeaders;
-		}
-
-		final Map<String, Set<String>> validHeaders = new HashMap<>();
-		final boolean isCombined = getInputFiles().size() == 1;
-
-		// check reverse reads only
-		for( final File file: getSplitDir().listFiles() ) {
-			// skip files ending with _R1 suffix since contain only forward reads
-			if( !isCombined && SeqUtil.isForwardRead( file.getName() ) ) continue;
-
-			Log.info( getClass(), "Processing split file for RV headers: " + file.getAbsolutePath() );
-
-			final List<String> seqLines = new ArrayList<>();
-			final BufferedReader reader = BioLockJUtil.getFileReader( file );
-			try {
-				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-					seqLines.add( line );
-					if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) {
-						// if not combined must be a file of only reverse reads due to continue above
-						if( !isForwardRead( file.getName(), seqLines.get( 0 ) ) ) {
-							final String header = SeqUtil.getHeader( seqLines.get( 0 ) );
-							this.numTotalRvReads++;
-
-							for( final String sampleId: validFwHeaders.keySet() )
-								if( validFwHeaders.get( sampleId ).contains( header ) ) {
-									if( validHeaders.get( sampleId ) == null )
-										validHeaders.put( sampleId, new HashSet<>() );
-
-									validHeaders.get( sampleId ).add( header );
-									break;
-								}
-						}
-
-						seqLines.clear();
-					}
-				}
-			} finally {
-				reader.close();
+	private boolean addUnpaired( final SeqRecord read, final boolean isFw, final SeqRecordWriterPool pool,
+		final HeaderIndex pendingFw, final HeaderIndex pendingRv, final boolean resolve ) throws Exception {
+		final long key = read.getHeaderKey();
+		if( !resolve ) {
+			if( isFw ) {
+				this.numTotalFwReads++;
+				pendingFw.put( key, getSampleIndex( getSampleId( read ) ) );
+			} else {
+				this.numTotalRvReads++;
+				pendingRv.put( key, 0 );
 			}
+			return false;
 		}
 
-		for( final String sampleId: validHeaders.keySet() )
-			Log.info( getClass(), sampleId + " # valid headers = " + validHeaders.get( sampleId ).size() );
+		final boolean hasMate = isFw ? pendingRv.contains( key ): pendingFw.contains( key );
+		final int sample = pendingFw.get( key );
+		if( !hasMate || sample < 0 ) {
+			pool.write( getNoMatchFile( isFw ), read );
+			return !hasMate;
+		}
 
-		return validHeaders;
+		final String sampleId = this.sampleIds.get( sample );
+		pool.write( getOutputFile( sampleId, isFw ), read );
+		if( isFw ) this.numValidFwReads++;
+		else this.numValidRvReads++;
+		logExample( sampleId );
+		return false;
 	}
 
 	private void buildSummaryAndSetConfig( final File file, final long numReads, final long headerFwBarcodes,
@@ -503,72 +411,120 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		return val;
 	}
 
-	private String getFileSuffix( final String name, final String header ) throws Exception {
-		String suffix = "";
-		if( SeqUtil.hasPairedReads() )
-			suffix = isForwardRead( name, header ) ? Config.requireString( this, Constants.INPUT_FORWARD_READ_SUFFIX ):
-				Config.requireString( this, Constants.INPUT_REVERSE_READ_SUFFIX );
-
-		return suffix + "." + ( SeqUtil.isFastA() ? Constants.FASTA: Constants.FASTQ );
+	private File getNoMatchFile( final boolean isFw ) throws Exception {
+		return getFile( getTempDir(), "NO_MATCH", isFw );
 	}
 
-	private String getNoMatchFileName( final String fileName, final String header ) throws Exception {
-		return getTempDir().getAbsolutePath() + File.separator + "NO_MATCH" + getFileSuffix( fileName, header );
-
+	private File getOutputFile( final String sampleId, final boolean isFw ) throws Exception {
+		return getFile( getOutputDir(), sampleId, isFw );
 	}
 
-	private String getOutputFileName( final String sampleId, final String fileName, final String header )
-		throws Exception {
-		return getOutputDir().getAbsolutePath() + File.separator + sampleId + getFileSuffix( fileName, header );
-	}
-
-	private File getSplitDir() {
-		return ModuleUtil.requireSubDir( this, getTempDir().getName() + File.separator + "split" );
-	}
-
-	private String getSplitFileName( final String fileName, final int i ) throws Exception {
-		String suffix = "";
-		if( getInputFiles().size() > 1 ) suffix = SeqUtil.getReadDirectionSuffix( fileName );
-
-		suffix += "." + ( SeqUtil.isFastA() ? Constants.FASTA: Constants.FASTQ );
-
-		return getSplitDir().getAbsolutePath() + File.separator + "split_" + i + suffix;
+	/**
+	 * Get the index of the Sample ID in {@link #sampleIds}, adding it if new.
+	 */
+	private int getSampleIndex( final String sampleId ) {
+		if( sampleId == null ) return -1;
+		Integer index = this.sampleIndexes.get( sampleId );
+		if( index == null ) {
+			index = this.sampleIds.size();
+			this.sampleIds.add( sampleId );
+			this.sampleIndexes.put( sampleId, index );
+		}
+		return index;
 	}
 
-	private int hasBarcode( final String line ) throws Exception {
-		for( final String code: MetaUtil.getFieldValues( Config.requireString( this, MetaUtil.META_BARCODE_COLUMN ),
-			true ) )
-			if( line.contains( code ) ) return 1;
-			else if( line.contains( SeqUtil.reverseComplement( code ) ) ) return 2;
-		return 0;
+	/**
+	 * Get the output file for the sample and read direction, cached so file names are only built once per sample.
+	 */
+	private File getFile( final File dir, final String sampleId, final boolean isFw ) throws Exception {
+		final Map<String, File> files = isFw ? this.fwFiles: this.rvFiles;
+		File file = files.get( sampleId );
+		if( file == null ) {
+			String suffix = "";
+			if( SeqUtil.hasPairedReads() )
+				suffix = Config.requireString( this, isFw ? Constants.INPUT_FORWARD_READ_SUFFIX:
+					Constants.INPUT_REVERSE_READ_SUFFIX );
+			file = new File( dir, sampleId + suffix + "." + ( SeqUtil.isFastA() ? Constants.FASTA: Constants.FASTQ ) );
+			files.put( sampleId, file );
+		}
+		return file;
 	}
 
-	private void incrementCounts( final String name, final String header ) throws Exception {
-		if( isForwardRead( name, header ) ) this.numValidFwReads++;
-		else this.numValidRvReads++;
+	private String getSampleId( final SeqRecord read ) throws Exception {
+		if( this.barcodeMatcher == null ) return SeqUtil.getSampleId( read.getHeader() );
+		if( this.barcodeInSeq ) return this.barcodeMatcher.findPrefix( read, SeqRecord.SEQ );
+		return this.barcodeMatcher.find( read, SeqRecord.HEADER );
 	}
 
-	private boolean isForwardRead( final String name, final String header ) throws Exception {
-		if( !SeqUtil.hasPairedReads() ) return true;
-
-		final boolean isCombined = getInputFiles().size() == 1;
-		if( isCombined ) if( header.contains( SeqUtil.ILLUMINA_FW_READ_IND ) ) return true;
-		else if( header.contains( SeqUtil.ILLUMINA_RV_READ_IND ) ) return false;
-		else throw new Exception(
-			"Sequence header in " + name + " does not indicate forward[" + SeqUtil.ILLUMINA_FW_READ_IND +
-				"] or reverse[" + SeqUtil.ILLUMINA_RV_READ_IND + "] read for header = " + header );
-
-		return SeqUtil.isForwardRead( name );
+	private void logExample( final String sampleId ) throws Exception {
+		if( this.doPrint ) {
+			this.doPrint = false;
+			Log.info( getClass(), "EXAMPLE Demultiplexed Sample ID: " + sampleId );
+			Log.info( getClass(),
+				"EXAMPLE Demultiplexed sequence file: " + getOutputFile( sampleId, true ).getAbsolutePath() );
+		}
 	}
 
-	private void printCounts( final Map<String, Set<String>> validHeaders ) {
-		long size = 0L;
-		for( final String sampleId: validHeaders.keySet() )
-			size += validHeaders.get( sampleId ).size();
-
-		Log.info( getClass(), "Total fw reads = " + this.numTotalFwReads );
-		Log.info( getClass(), "Total rv reads = " + this.numTotalRvReads );
-		Log.info( getClass(), "Number valid reads = " + size );
+	/**
+	 * Read the paired files, writing the reads paired in order in the 1st pass, and the reads recorded by
+	 * {@link #addUnpaired(SeqRecord, boolean, SeqRecordWriterPool, HeaderIndex, HeaderIndex, boolean)} in the 2nd pass.
+	 * Both passes find the same reads in order, so each read is written once.
+	 *
+	 * @return Number of reads without a mate (2nd pass only)
+	 */
+	private long pairReads( final File fwFile, final File rvFile, final SeqRecordWriterPool pool,
+		final HeaderIndex pendingFw, final HeaderIndex pendingRv, final boolean resolve ) throws Exception {
+		long numUnpaired = 0L;
+		final SeqRecordReader fwReader = new SeqRecordReader( fwFile );
+		final SeqRecordReader rvReader = rvFile == null ? null: new SeqRecordReader( rvFile );
+		try {
+			if( rvReader == null ) {
+				SeqRecord held = null;
+				boolean heldFw = false;
+				for( SeqRecord read = fwReader.next(); read != null; read = fwReader.next() ) {
+					final boolean isFw = isForwardRead( fwFile, read );
+					if( held != null && heldFw != isFw && held.headerEquals( read ) ) {
+						if( !resolve ) {
+							this.numTotalFwReads++;
+							this.numTotalRvReads++;
+							if( heldFw ) writePair( held, read, pool );
+							else writePair( read, held, pool );
+						}
+						held = null;
+					} else {
+						if( held != null && addUnpaired( held, heldFw, pool, pendingFw, pendingRv, resolve ) )
+							numUnpaired++;
+						held = read.copy();
+						heldFw = isFw;
+					}
+				}
+				if( held != null && addUnpaired( held, heldFw, pool, pendingFw, pendingRv, resolve ) )
+					numUnpaired++;
+			} else {
+				SeqRecord fw = fwReader.next();
+				SeqRecord rv = rvReader.next();
+				while( fw != null || rv != null ) {
+					if( fw != null && rv != null && fw.headerEquals( rv ) ) {
+						if( !resolve ) {
+							this.numTotalFwReads++;
+							this.numTotalRvReads++;
+							writePair( fw, rv, pool );
+						}
+					} else {
+						if( fw != null && addUnpaired( fw, true, pool, pendingFw, pendingRv, resolve ) )
+							numUnpaired++;
+						if( rv != null && addUnpaired( rv, false, pool, pendingFw, pendingRv, resolve ) )
+							numUnpaired++;
+					}
+					fw = fw == null ? null: fwReader.next();
+					rv = rv == null ? null: rvReader.next();
+				}
+			}
+		} finally {
+			fwReader.close();
+			if( rvReader != null ) rvReader.close();
+		}
+		return numUnpaired;
 	}
 
 	private boolean strategyConfigSet() {
@@ -590,33 +546,68 @@ public class Demultiplexer extends JavaModuleImpl implements SeqModule, ApiModul
 		return seqBarcodes > headerBarcodes;
 	}
 
-	private static String getSampleId( final String header, final Map<String, Set<String>> validHeaders ) {
-		for( final String sampleId: validHeaders.keySet() )
-			if( validHeaders.get( sampleId ).contains( header ) ) return sampleId;
-		return null;
+	private static int hasBarcode( final SeqRecord read, final int line, final List<byte[]> barcodes,
+		final List<byte[]> rcBarcodes ) {
+		for( int i = 0; i < barcodes.size(); i++ )
+			if( read.contains( line, barcodes.get( i ) ) ) return 1;
+			else if( read.contains( line, rcBarcodes.get( i ) ) ) return 2;
+		return 0;
 	}
 
-	private static void writeSample( final List<String> lines, final String fileName ) throws Exception {
-		final File outFile = new File( fileName );
-		final boolean exists = outFile.isFile();
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( outFile, exists ) );
-		for( final String line: lines )
-			writer.write( line + RETURN );
-		writer.close();
+	private static boolean isForwardRead( final File file, final SeqRecord read ) throws Exception {
+		if( read.contains( SeqRecord.HEADER, FW_READ_IND ) ) return true;
+		if( read.contains( SeqRecord.HEADER, RV_READ_IND ) ) return false;
+		throw new Exception( "Sequence header in " + file.getName() + " does not indicate forward[" +
+			SeqUtil.ILLUMINA_FW_READ_IND + "] or reverse[" + SeqUtil.ILLUMINA_RV_READ_IND + "] read for header = " +
+			read.getHeader() );
 	}
 
+	/**
+	 * Write a matched pair to the files for the Sample ID found in the forward read.
+	 */
+	private void writePair( final SeqRecord fw, final SeqRecord rv, final SeqRecordWriterPool pool )
+		throws Exception {
+		final String sampleId = getSampleId( fw );
+		if( sampleId == null ) {
+			pool.write( getNoMatchFile( true ), fw );
+			pool.write( getNoMatchFile( false ), rv );
+			return;
+		}
+
+		pool.write( getOutputFile( sampleId, true ), fw );
+		pool.write( getOutputFile( sampleId, false ), rv );
+		this.numValidFwReads++;
+		this.numValidRvReads++;
+		logExample( sampleId );
+	}
+
+	private boolean barcodeInSeq = false;
+	private BarcodeMatcher barcodeMatcher = null;
+	private boolean doPrint = true;
+	private final Map<String, File> fwFiles = new HashMap<>();
 	private long numTotalFwReads = 0L;
 	private long numTotalRvReads = 0L;
 
 	private long numValidFwReads = 0L;
 	private long numValidRvReads = 0L;
 
+	private final Map<String, File> rvFiles = new HashMap<>();
+	private final List<String> sampleIds = new ArrayList<>();
+	private final Map<String, Integer> sampleIndexes = new HashMap<>();
 	private String summary = "";
 
 	/**
-	 * Module splits multiplexed file into smaller files with this number of lines: {@value #NUM_LINES_TEMP_FILE}
+	 * Maximum number of output files kept open at the same time: {@value #MAX_OPEN_FILES}
+	 */
+	protected static final int MAX_OPEN_FILES = 128;
+
+	/**
+	 * Number of reads checked for barcodes to set the demultiplexer strategy: {@value #NUM_TEST_READS}
 	 */
-	protected static final int NUM_LINES_TEMP_FILE = 2000000;
+	protected static final int NUM_TEST_READS = 10000;
+
+	private static final byte[] FW_READ_IND = SeqUtil.ILLUMINA_FW_READ_IND.getBytes( StandardCharsets.ISO_8859_1 );
+	private static final byte[] RV_READ_IND = SeqUtil.ILLUMINA_RV_READ_IND.getBytes( StandardCharsets.ISO_8859_1 );
 
 	@Override
 	public String getDescription() {
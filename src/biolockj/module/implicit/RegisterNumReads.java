@@ -71,12 +71,15 @@ public class RegisterNumReads extends JavaModuleImpl implements SeqModule, ReadC
 		final List<File> files = getInputFiles();
 		Log.info( getClass(), "Counting # reads/sample for " + files.size() + " files" );
 
+		final List<File> fwReads = new ArrayList<>();
 		for( final File f: files )
-			if( SeqUtil.isForwardRead( f.getName() ) ) {
-				final long count = SeqUtil.countNumReads( f );
-				Log.debug( getClass(), "Num Reads for :[" + SeqUtil.getSampleId( f.getName() ) + "] = " + count );
-				this.readsPerSample.put( SeqUtil.getSampleId( f.getName() ), Long.toString( count ) );
-			}
+			if( SeqUtil.isForwardRead( f.getName() ) ) fwReads.add( f );
+
+		processFiles( fwReads, SeqUtil::countNumReads, ( f, count ) -> {
+			Log.debug( getClass(), "Num Reads for :[" + SeqUtil.getSampleId( f.getName() ) + "] = " + count );
+			this.readsPerSample.put( SeqUtil.getSampleId( f.getName() ), Long.toString( count ) );
+			MetricsUtil.addRecords( count );
+		} );
 
 		MetaUtil.addColumn( getNumReadFieldName(), this.readsPerSample, getOutputDir(), true );
 	}
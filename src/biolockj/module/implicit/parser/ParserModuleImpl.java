@@ -17,6 +17,7 @@ import biolockj.*;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModuleImpl;
 import biolockj.node.OtuNode;
+import biolockj.node.OtuNodeImpl;
 import biolockj.node.ParsedSample;
 import biolockj.util.*;
 
@@ -35,30 +36,30 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		}
 	}
 
+	/**
+	 * Build the OTU count file for each {@link biolockj.node.ParsedSample}. Samples are written in parallel with
+	 * {@link #processFiles(List, FileTask, ResultCombiner)}, the unique OTUs and hits per sample are collected on the
+	 * module thread. The unique OTUs are then added to the {@link biolockj.util.TaxaDictionary}, which is saved in the
+	 * output directory for the modules that follow.
+	 */
 	@Override
 	public void buildOtuCountFiles() throws Exception {
-		for( final ParsedSample sample: getParsedSamples() ) {
-			final TreeMap<String, Long> otuCounts = sample.getOtuCounts();
-			if( otuCounts != null ) {
-				final File outputFile = OtuUtil.getOtuCountFile( getOutputDir(), sample.getSampleId(), null );
-				Log.info( getClass(), "Build output sample: " + sample.getSampleId() + " | #OTUs=" + otuCounts.size() +
-					"--> " + outputFile.getAbsolutePath() );
-				final BufferedWriter writer = new BufferedWriter( new FileWriter( outputFile ) );
-				try {
-					final long numOtus =
-						otuCounts.isEmpty() ? 0L: otuCounts.values().stream().mapToLong( Long::longValue ).sum();
-					getUniqueOtus().addAll( otuCounts.keySet() );
-					for( final String otu: otuCounts.keySet() )
-						writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-					getHitsPerSample().put( sample.getSampleId(), String.valueOf( numOtus ) );
-
-				} finally {
-					writer.close();
-				}
-			} else Log.error( getClass(),
-				"buildOtuCountFiles should not encounter empty sample files where sample.getOtuCounts() == null!  Found null for: " +
-					sample.getSampleId() );
-		}
+		final Map<File, ParsedSample> samples = new LinkedHashMap<>();
+		for( final ParsedSample sample: getParsedSamples() )
+			samples.put( OtuUtil.getOtuCountFile( getOutputDir(), sample.getSampleId(), null ), sample );
+
+		processFiles( new ArrayList<>( samples.keySet() ),
+			outputFile -> buildOtuCountFile( samples.get( outputFile ), outputFile ), ( outputFile, otuCounts ) -> {
+				if( otuCounts == null ) return;
+				final long numOtus =
+					otuCounts.isEmpty() ? 0L: otuCounts.values().stream().mapToLong( Long::longValue ).sum();
+				getUniqueOtus().addAll( otuCounts.keySet() );
+				getHitsPerSample().put( samples.get( outputFile ).getSampleId(), String.valueOf( numOtus ) );
+			} );
+
+		for( final String otu: getUniqueOtus() )
+			TaxaDictionary.getOtuId( otu );
+		TaxaDictionary.save( getOutputDir() );
 	}
 
 	/**
@@ -70,11 +71,15 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		validateModuleOrder();
 	}
 
+	/**
+	 * Get the {@link biolockj.node.ParsedSample} from the hashed sample index. While a file is parsed by
+	 * {@link #parseFiles(List, FileTask)}, only the samples found so far in that file are returned.
+	 */
 	@Override
 	public ParsedSample getParsedSample( final String sampleId ) {
-		for( final ParsedSample sample: getParsedSamples() )
-			if( sample.getSampleId().equals( sampleId ) ) return sample;
-		return null;
+		final Map<String, ParsedSample> fileSamples = this.fileSamples.get();
+		if( fileSamples != null ) return fileSamples.get( sampleId );
+		return this.sampleIndex.get( sampleId );
 	}
 
 	/**
@@ -120,10 +125,42 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 	 * @throws Exception if method is used to add a duplicate sample
 	 */
 	protected void addParsedSample( final ParsedSample parsedSample ) throws Exception {
-		for( final ParsedSample sample: getParsedSamples() )
-			if( sample.getSampleId().equals( parsedSample.getSampleId() ) )
-				throw new Exception( "Attempt to add duplicate sample! " + sample.getSampleId() );
-		getParsedSamples().add( parsedSample );
+		final Map<String, ParsedSample> fileSamples = this.fileSamples.get();
+		final Map<String, ParsedSample> samples = fileSamples == null ? this.sampleIndex: fileSamples;
+		if( samples.containsKey( parsedSample.getSampleId() ) )
+			throw new Exception( "Attempt to add duplicate sample! " + parsedSample.getSampleId() );
+		samples.put( parsedSample.getSampleId(), parsedSample );
+		if( fileSamples == null ) getParsedSamples().add( parsedSample );
+	}
+
+	/**
+	 * Build the OTU count file for a single sample.
+	 *
+	 * @param sample ParsedSample
+	 * @param outputFile OTU count file
+	 * @return OTU counts written, or null if the sample has no OTUs
+	 * @throws Exception if unable to write the file
+	 */
+	protected TreeMap<String, Long> buildOtuCountFile( final ParsedSample sample, final File outputFile )
+		throws Exception {
+		final TreeMap<String, Long> otuCounts = sample.getOtuCounts();
+		if( otuCounts == null ) {
+			Log.error( getClass(),
+				"buildOtuCountFiles should not encounter empty sample files where sample.getOtuCounts() == null!  Found null for: " +
+					sample.getSampleId() );
+			return null;
+		}
+
+		Log.info( getClass(), "Build output sample: " + sample.getSampleId() + " | #OTUs=" + otuCounts.size() +
+			"--> " + outputFile.getAbsolutePath() );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( outputFile ) );
+		try {
+			for( final String otu: otuCounts.keySet() )
+				writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
+		} finally {
+			writer.close();
+		}
+		return otuCounts;
 	}
 
 	/**
@@ -178,6 +215,37 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		return isValid;
 	}
 
+	/**
+	 * Parse classifier output files in parallel with {@link #processFiles(List, FileTask, ResultCombiner)}. While the
+	 * parser runs, {@link #addOtuNode(OtuNode)} adds nodes to new {@link biolockj.node.ParsedSample}s for the current
+	 * file only, so worker threads share no samples. The samples from each file are then merged into the parser cache
+	 * on the module thread, in input file order.
+	 *
+	 * @param files Classifier output files
+	 * @param parser Parses 1 file, calling {@link #addOtuNode(OtuNode)} for each OTU
+	 * @throws Exception if any file cannot be parsed
+	 */
+	protected void parseFiles( final List<File> files, final FileTask<Void> parser ) throws Exception {
+		OtuNodeImpl.delimToLevelMap();
+		TaxaUtil.getTaxaLevelSpan();
+		processFiles( files, file -> {
+			final Map<String, ParsedSample> samples = new LinkedHashMap<>();
+			this.fileSamples.set( samples );
+			try {
+				parser.process( file );
+			} finally {
+				this.fileSamples.remove();
+			}
+			return samples;
+		}, ( file, samples ) -> {
+			for( final ParsedSample sample: samples.values() ) {
+				final ParsedSample parsedSample = getParsedSample( sample.getSampleId() );
+				if( parsedSample == null ) addParsedSample( sample );
+				else parsedSample.addSample( sample );
+			}
+		} );
+	}
+
 	/**
 	 * Validate that no {@link biolockj.module.seq} modules run after this parser unless a new classifier branch is
 	 * started.
@@ -195,6 +263,7 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 	private void freeMemory() {
 		this.hitsPerSample = null;
 		this.parsedSamples = null;
+		this.sampleIndex = null;
 		this.sampleIds = null;
 		this.uniqueOtus = null;
 	}
@@ -236,8 +305,10 @@ public abstract class ParserModuleImpl extends JavaModuleImpl implements ParserM
 		}
 	}
 
+	private final ThreadLocal<Map<String, ParsedSample>> fileSamples = new ThreadLocal<>();
 	private Map<String, String> hitsPerSample = new HashMap<>();
 	private TreeSet<ParsedSample> parsedSamples = new TreeSet<>();
+	private Map<String, ParsedSample> sampleIndex = new HashMap<>();
 	private Set<String> sampleIds = new HashSet<>();
 	private Set<String> uniqueOtus = new HashSet<>();
 
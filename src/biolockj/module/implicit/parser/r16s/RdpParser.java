@@ -49,7 +49,7 @@ public class RdpParser extends ParserModuleImpl implements ApiModule{
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) {
+		parseFiles( getInputFiles(), file -> {
 			final BufferedReader reader = BioLockJUtil.getFileReader( file );
 			try {
 				for( String line = reader.readLine(); line != null; line = reader.readLine() )
@@ -57,7 +57,8 @@ public class RdpParser extends ParserModuleImpl implements ApiModule{
 			} finally {
 				if( reader != null ) reader.close();
 			}
-		}
+			return null;
+		} );
 	}
 
 	/**
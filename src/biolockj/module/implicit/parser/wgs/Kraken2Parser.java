@@ -27,17 +27,36 @@ import biolockj.util.*;
  */
 public class Kraken2Parser extends KrakenParser {
 	
+	/**
+	 * Sum the counts for each taxonomy lineage in the file in 1 pass, then construct 1 Kraken2Node per lineage that is
+	 * not below the bottom taxonomy level.
+	 */
 	@Override
 	protected void parseSample( final File file ) throws Exception {
+		final String sampleId = SeqUtil.getSampleId( file.getName() );
+		final List<String> discardDelims = getDiscardLevelDelims();
+		final Map<String, long[]> lineageCounts = new LinkedHashMap<>();
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				if( discardOtu( line ) ) continue;
-				addOtuNode( new Kraken2Node( SeqUtil.getSampleId( file.getName() ), line ) );
+				final int tab = line.indexOf( TAB_DELIM );
+				final long lineCount = tab < 0 || line.indexOf( TAB_DELIM, tab + 1 ) > -1 ? -1L: parseCount( line, tab );
+				if( lineCount < 0 ) {
+					if( !discardOtu( line, discardDelims ) ) addOtuNode( new Kraken2Node( sampleId, line ) );
+					continue;
+				}
+				final String lineage = line.substring( 0, tab );
+				final long[] count = lineageCounts.get( lineage );
+				if( count == null ) lineageCounts.put( lineage, new long[] { lineCount } );
+				else count[ 0 ] += lineCount;
 			}
 		} finally {
 			if( reader != null ) reader.close();
 		}
+
+		for( final Map.Entry<String, long[]> entry: lineageCounts.entrySet() )
+			if( !discardOtu( entry.getKey(), discardDelims ) )
+				addOtuNode( new Kraken2Node( sampleId, entry.getKey() + TAB_DELIM + entry.getValue()[ 0 ] ) );
 	}
 	
 	
@@ -57,37 +76,56 @@ public class Kraken2Parser extends KrakenParser {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) {
-			setReportUnclassifiedTaxa( false );
-			try {
-				parseSample( file );
-			} finally {
-				setReportUnclassifiedTaxa( true );
-			}
+		setReportUnclassifiedTaxa( false );
+		try {
+			super.parseSamples();
+		} finally {
+			setReportUnclassifiedTaxa( true );
+		}
 
+		final Map<String, File> sampleFiles = new LinkedHashMap<>();
+		for( final File file: getInputFiles() )
+			sampleFiles.putIfAbsent( SeqUtil.getSampleId( file.getName() ), file );
+		processFiles( new ArrayList<>( sampleFiles.values() ), file -> {
 			addUnclassifiedTaxa( getParsedSample( SeqUtil.getSampleId( file.getName() ) ) );
-		}
+			return null;
+		}, null );
 	}
 	
 
+	/**
+	 * Add an unclassified OTU for each parent taxa whose count is greater than the sum of its child taxa. The child
+	 * taxa of a parent are the OTUs under its gap filled path in a {@link biolockj.util.TaxaTree}. Earlier versions
+	 * counted every OTU containing the parent taxa name, so the same taxa name under a different lineage was also
+	 * counted as a child.
+	 *
+	 * @param sample ParsedSample
+	 * @throws Exception if a parent count is less than the sum of its child taxa
+	 */
 	private void addUnclassifiedTaxa( final ParsedSample sample ) throws Exception {
 		final Map<String, Long> leafCounts = sample.getOtuCounts();
 		report( leafCounts, "Parsed Input Line", false );
 		final Map<String, Long> otuCounts = populateInBetweenTaxa( leafCounts );
+		final TaxaTree tree = new TaxaTree();
+		for( final String otu: otuCounts.keySet() )
+			tree.add( otu, otuCounts.get( otu ) );
+
 		final List<String> levels = new ArrayList<>();
 		levels.add( TaxaUtil.bottomTaxaLevel() );
 
 		for( final String level: getParentLevels() ) {
 			for( final String otu: leafCounts.keySet() ) {
 				if( !TaxaUtil.getLeafLevel( otu ).equals( level ) ) continue;
-				final Map<String, Long> levTaxa =
-					levelCounts( otuCounts, OtuUtil.buildOtuTaxa( level, TaxaUtil.getTaxaName( otu, level ) ) );
-				final Long sum = levTaxa.isEmpty() ? 0L: levTaxa.values().stream().mapToLong( Long::longValue ).sum();
-				final Long diff = leafCounts.get( otu ) - sum;
+				final long sum = tree.getCount( fillTaxaGaps( otu, level ) );
+				final long diff = leafCounts.get( otu ) - sum;
 				if( diff < 0 ) throw new Exception(
 					"Inconsistent OTU counts in Sample [ " + sample.getSampleId() + " ] - Parent OTU \"" + otu +
 						"\" (count=" + leafCounts.get( otu ) + ") < sum child taxa (count=" + sum + ")" );
-				if( diff > 0 ) otuCounts.put( buildUnclassifiedOtu( otu, levels ), diff );
+				if( diff > 0 ) {
+					final String unclassifiedOtu = buildUnclassifiedOtu( otu, levels );
+					otuCounts.put( unclassifiedOtu, diff );
+					tree.add( fillTaxaGaps( unclassifiedOtu, TaxaUtil.bottomTaxaLevel() ), diff );
+				}
 			}
 			levels.add( level );
 		}
@@ -105,8 +143,8 @@ public class Kraken2Parser extends KrakenParser {
 		return gapOtu;
 	}
 	
-	private boolean discardOtu( final String line ) {
-		for( final String delim: getDiscardLevelDelims() )
+	private boolean discardOtu( final String line, final List<String> discardDelims ) {
+		for( final String delim: discardDelims )
 			if( line.contains( delim ) ) {
 				Log.debug( getClass(), "Discard Line [" + line + "] - due to invalid level: " +
 					OtuNodeImpl.delimToLevelMap().get( delim ) );
@@ -115,38 +153,71 @@ public class Kraken2Parser extends KrakenParser {
 		return false;
 	}
 	
+	/**
+	 * Parse the count column of a Kraken2 report line.
+	 * 
+	 * @return Count, or -1 if the count is not a non-negative integer
+	 */
+	private static long parseCount( final String line, final int tab ) {
+		if( tab == line.length() - 1 ) return -1L;
+		long count = 0L;
+		for( int i = tab + 1; i < line.length(); i++ ) {
+			final char c = line.charAt( i );
+			if( c < '0' || c > '9' || count > MAX_COUNT ) return -1L;
+			count = count * 10 + c - '0';
+		}
+		return count;
+	}
+
 	private static Map<String, Long> populateInBetweenTaxa( final Map<String, Long> otuCounts ) throws OtuFileException {
 		final Map<String, Long> map = new TreeMap<>();
 		final Map<String, Long> changes = new TreeMap<>();
 		for( final String otu: otuCounts.keySet() ) {
 			if( !otu.contains( TaxaUtil.bottomTaxaLevel() ) ) continue;
-			final StringBuffer sb = new StringBuffer();
-			String taxa = null;
-			String gapTaxa = null;
-			boolean foundGap = false;
-			for( final String level: TaxaUtil.getTaxaLevelSpan() ) {
+			final String fullPath = fillTaxaGaps( otu, TaxaUtil.bottomTaxaLevel() );
+			map.put( fullPath, otuCounts.get( otu ) );
+			for( final String level: TaxaUtil.getTaxaLevelSpan() )
 				if( TaxaUtil.getTaxaName( otu, level ) == null ) {
-					if( gapTaxa != null ) taxa = gapTaxa;
-					else if( taxa != null ) {
-						gapTaxa = TaxaUtil.getUnclassifiedTaxa( taxa, parentLevel( level ) );
-						taxa = gapTaxa;
-						foundGap = true;
-					} else throw new OtuFileException( "Programming error, OTU path missing " +
-						TaxaUtil.topTaxaLevel() +
-						" in populateInBetweenTaxa( otuCounts ) --> OTUs missing the top level should not be found in any ParsedSample." );
-				} else {
-					taxa = TaxaUtil.getTaxaName( otu, level );
-					gapTaxa = null;
+					changes.put( fullPath, otuCounts.get( otu ) );
+					break;
 				}
-				sb.append( ( sb.length() > 0 ? Constants.OTU_SEPARATOR: "" ) + OtuUtil.buildOtuTaxa( level, taxa ) );
-			}
-			map.put( sb.toString(), otuCounts.get( otu ) );
-			if( foundGap ) changes.put( sb.toString(), otuCounts.get( otu ) );
 		}
 		report( changes, "BioLockJ filled OTU gap", true );
 		return map;
 	}
 
+	/**
+	 * Build the OTU path from the top level down to the given level, filling any missing level with the unclassified
+	 * taxa of the level above the gap.
+	 *
+	 * @param otu OTU path
+	 * @param lastLevel Last level to include
+	 * @return OTU path with a taxa for every level
+	 * @throws OtuFileException if the OTU is missing the top level
+	 */
+	private static String fillTaxaGaps( final String otu, final String lastLevel ) throws OtuFileException {
+		final StringBuffer sb = new StringBuffer();
+		String taxa = null;
+		String gapTaxa = null;
+		for( final String level: TaxaUtil.getTaxaLevelSpan() ) {
+			if( TaxaUtil.getTaxaName( otu, level ) == null ) {
+				if( gapTaxa != null ) taxa = gapTaxa;
+				else if( taxa != null ) {
+					gapTaxa = TaxaUtil.getUnclassifiedTaxa( taxa, parentLevel( level ) );
+					taxa = gapTaxa;
+				} else throw new OtuFileException( "Programming error, OTU path missing " +
+					TaxaUtil.topTaxaLevel() +
+					" in populateInBetweenTaxa( otuCounts ) --> OTUs missing the top level should not be found in any ParsedSample." );
+			} else {
+				taxa = TaxaUtil.getTaxaName( otu, level );
+				gapTaxa = null;
+			}
+			sb.append( ( sb.length() > 0 ? Constants.OTU_SEPARATOR: "" ) + OtuUtil.buildOtuTaxa( level, taxa ) );
+			if( level.equals( lastLevel ) ) break;
+		}
+		return sb.toString();
+	}
+
 	
 	private static List<String> getDiscardLevelDelims() {
 		final List<String> levelDelims = new ArrayList<>();
@@ -182,13 +253,6 @@ public class Kraken2Parser extends KrakenParser {
 		return TaxaUtil.allTaxonomyLevels().get( TaxaUtil.allTaxonomyLevels().indexOf( level ) - 1 );
 	}
 	
-	private static Map<String, Long> levelCounts( final Map<String, Long> otuCounts, final String name ) {
-		final Map<String, Long> map = new TreeMap<>();
-		for( final String otu: otuCounts.keySet() )
-			if( otu.contains( name + Constants.OTU_SEPARATOR ) ) map.put( otu, otuCounts.get( otu ) );
-		return map;
-	}
-	
 
 	private static List<String> getParentLevels() {
 		final List<String> levels = new ArrayList<>();
@@ -198,4 +262,5 @@ public class Kraken2Parser extends KrakenParser {
 		return levels;
 	}
 
+	private static final long MAX_COUNT = Long.MAX_VALUE / 10 - 10;
 }
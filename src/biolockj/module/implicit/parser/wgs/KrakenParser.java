@@ -13,6 +13,7 @@ package biolockj.module.implicit.parser.wgs;
 
 import java.io.BufferedReader;
 import java.io.File;
+import java.util.*;
 import biolockj.*;
 import biolockj.api.ApiModule;
 import biolockj.module.implicit.parser.ParserModuleImpl;
@@ -57,42 +58,77 @@ public class KrakenParser extends ParserModuleImpl implements ApiModule {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) parseSample( file );
+		parseFiles( getInputFiles(), file -> {
+			parseSample( file );
+			return null;
+		} );
 	}
 
 	/**
-	 * Construct a new KrakenNode
+	 * Count the reads for each taxonomy lineage in the file in 1 pass, then construct 1 KrakenNode per lineage with
+	 * the number of reads as its count.
 	 * 
 	 * @param file KrakenClassifier output file
 	 * @throws Exception if any errors occur
 	 */
 	protected void parseSample( final File file ) throws Exception {
+		final String sampleId = SeqUtil.getSampleId( file.getName() );
+		final boolean reportUnclassifiedTaxa = Config.getBoolean( this, Constants.REPORT_UNCLASSIFIED_TAXA );
+		final Map<String, long[]> lineageCounts = new HashMap<>();
 		final BufferedReader reader = BioLockJUtil.getFileReader( file );
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				final OtuNode node = new KrakenNode( SeqUtil.getSampleId( file.getName() ), line );
-				if( node.getTaxaMap() == null || node.getTaxaMap().get( TaxaUtil.topTaxaLevel() ) == null ) {
-					Log.debug( getClass(), "Skip OTU missing top taxa level: " + line );
-					continue;
-				}
-				if( Config.getBoolean( this, Constants.REPORT_UNCLASSIFIED_TAXA ) ) {
-					String taxa = null;
-					String parentLevel = null;
-					for( final String level: TaxaUtil.getTaxaLevelSpan() ) {
-						if( node.getTaxaMap().get( level ) == null )
-							node.getTaxaMap().put( level, TaxaUtil.getUnclassifiedTaxa( taxa, parentLevel ) );
-						else	 {
-							taxa = node.getTaxaMap().get( level );
-							parentLevel = level;
-						}
-					}
-				}
-
-				addOtuNode( node );
+				final String lineage = getLineage( sampleId, line );
+				final long[] count = lineageCounts.get( lineage );
+				if( count == null ) lineageCounts.put( lineage, new long[] { 1L } );
+				else count[ 0 ]++;
 			}
 		} finally {
 			if( reader != null ) reader.close();
 		}
+
+		for( final Map.Entry<String, long[]> entry: lineageCounts.entrySet() ) {
+			final String line = sampleId + TAB_DELIM + entry.getKey();
+			final OtuNode node = new KrakenNode( sampleId, line );
+			node.setCount( entry.getValue()[ 0 ] );
+			if( node.getTaxaMap() == null || node.getTaxaMap().get( TaxaUtil.topTaxaLevel() ) == null ) {
+				Log.debug( getClass(), "Skip OTU missing top taxa level: " + entry.getKey() );
+				continue;
+			}
+			if( reportUnclassifiedTaxa ) {
+				String taxa = null;
+				String parentLevel = null;
+				for( final String level: TaxaUtil.getTaxaLevelSpan() ) {
+					if( node.getTaxaMap().get( level ) == null )
+						node.getTaxaMap().put( level, TaxaUtil.getUnclassifiedTaxa( taxa, parentLevel ) );
+					else {
+						taxa = node.getTaxaMap().get( level );
+						parentLevel = level;
+					}
+				}
+			}
+
+			addOtuNode( node );
+		}
+	}
+
+	/**
+	 * Get the taxonomy lineage (2nd column) of a Kraken output line.
+	 * 
+	 * @param sampleId Sample ID
+	 * @param line Kraken output line
+	 * @return Taxonomy lineage
+	 * @throws Exception if the line does not have exactly 2 columns
+	 */
+	private static String getLineage( final String sampleId, final String line ) throws Exception {
+		final int tab = line.indexOf( TAB_DELIM );
+		if( tab > 0 && tab < line.length() - 1 && line.indexOf( TAB_DELIM, tab + 1 ) < 0 )
+			return line.substring( tab + 1 );
+
+		final StringTokenizer st = new StringTokenizer( line, TAB_DELIM );
+		if( st.countTokens() != 2 ) new KrakenNode( sampleId, line ); // throws the invalid record exception
+		st.nextToken();
+		return st.nextToken();
 	}
 
 	@Override
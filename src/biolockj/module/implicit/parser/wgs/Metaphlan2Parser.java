@@ -40,7 +40,7 @@ public class Metaphlan2Parser extends ParserModuleImpl {
 	 */
 	@Override
 	public void parseSamples() throws Exception {
-		for( final File file: getInputFiles() ) {
+		parseFiles( getInputFiles(), file -> {
 			final BufferedReader reader = BioLockJUtil.getFileReader( file );
 			try {
 				for( String line = reader.readLine(); line != null; line = reader.readLine() )
@@ -49,6 +49,7 @@ public class Metaphlan2Parser extends ParserModuleImpl {
 			} finally {
 				if( reader != null ) reader.close();
 			}
-		}
+			return null;
+		} );
 	}
 }
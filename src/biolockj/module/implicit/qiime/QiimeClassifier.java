@@ -268,7 +268,7 @@ public class QiimeClassifier extends ClassifierModuleImpl {
 
 	/**
 	 * If paired reads found, add prerequisite module: {@link biolockj.module.seq.PearMergeReads}. If sequences are not
-	 * fasta format, add prerequisite module: {@link biolockj.module.seq.AwkFastaConverter}, or similar module specified
+	 * fasta format, add prerequisite module: {@link biolockj.module.seq.FastaConverter}, or similar module specified
 	 * by {@value biolockj.Constants#DEFAULT_MOD_FASTA_CONV}. Subclasses of QiimeClassifier add prerequisite module:
 	 * {@link biolockj.module.implicit.qiime.BuildQiimeMapping}.
 	 */
@@ -6,6 +6,7 @@ import org.apache.commons.lang.math.NumberUtils;
 import biolockj.*;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModuleImpl;
+import biolockj.module.TerminalModule;
 import biolockj.module.classifier.ClassifierModule;
 import biolockj.module.classifier.wgs.Humann2Classifier;
 import biolockj.module.report.otu.CompileOtuCounts;
@@ -18,7 +19,7 @@ import biolockj.util.*;
  * 
  * @blj.web_desc Json Report
  */
-public class JsonReport extends JavaModuleImpl {
+public class JsonReport extends JavaModuleImpl implements TerminalModule {
 
 	/**
 	 * Module prerequisite: {@link biolockj.module.report.otu.CompileOtuCounts}
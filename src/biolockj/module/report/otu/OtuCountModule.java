@@ -17,6 +17,7 @@ import java.util.List;
 import biolockj.Log;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModuleImpl;
+import biolockj.util.OtuCountMatrix;
 import biolockj.util.OtuUtil;
 
 /**
@@ -36,6 +37,20 @@ public abstract class OtuCountModule extends JavaModuleImpl {
 		return getFileCache();
 	}
 
+	/**
+	 * Read the OTU count input files into an {@link biolockj.util.OtuCountMatrix}, parsing the files in parallel with
+	 * {@link #processFiles(List, FileTask, ResultCombiner)}.
+	 *
+	 * @return OTU count matrix
+	 * @throws Exception if any input file is not a valid OTU count file
+	 */
+	protected OtuCountMatrix getOtuCountMatrix() throws Exception {
+		final List<OtuCountMatrix.SampleCounts> samples = new ArrayList<>();
+		processFiles( getInputFiles(), OtuUtil::readSampleCounts, ( file, sample ) -> samples.add( sample ) );
+		Log.info( getClass(), "Loaded OTU counts for " + samples.size() + " samples" );
+		return new OtuCountMatrix( samples );
+	}
+
 	@Override
 	public boolean isValidInputModule( final BioModule module ) {
 		return isOtuModule( module );
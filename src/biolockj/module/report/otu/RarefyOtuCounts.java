@@ -11,8 +11,8 @@ package biolockj.module.report.otu;
  * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
  * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
  */
-import java.io.*;
 import java.util.*;
+import java.util.stream.IntStream;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
@@ -87,15 +87,15 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		Log.info( getClass(),
 			"Rarefied OTU counts will be stored in metadata column: " + getMetaColName() + "_" + Constants.OTU_COUNT );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
-		final Long quantileNum = getNumOtusForQuantile( sampleOtuCounts );
+		final OtuCountMatrix otuCounts = getOtuCountMatrix();
+		final Long quantileNum = getNumOtusForQuantile( otuCounts );
 
-		Log.info( getClass(), "Rarefy " + sampleOtuCounts.size() + " to " + quantileNum );
-		for( final String sampleId: sampleOtuCounts.keySet() ) {
+		Log.info( getClass(), "Rarefy " + otuCounts.getNumSamples() + " to " + quantileNum );
+		for( int row = 0; row < otuCounts.getNumSamples(); row++ ) {
+			final String sampleId = otuCounts.getSampleId( row );
 			Log.info( getClass(), "Rarefy " + sampleId );
-			final TreeMap<String, Long> data = rarefy( sampleId, sampleOtuCounts.get( sampleId ), quantileNum );
-			if( data != null )
-				generateOtuput( OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() ), data );
+			if( rarefy( otuCounts, row, quantileNum ) )
+				otuCounts.writeSample( row, OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() ) );
 		}
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
@@ -155,69 +155,73 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	/**
 	 * Get the quantile number of OTUs. If quantile = 0.5 the median value is returned.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param otuCounts OTU counts for every sample
 	 * @return quantile number of OTUs
 	 * @throws Exception if errors occur
 	 */
-	protected Long getNumOtusForQuantile( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts )
-		throws Exception {
-		final TreeMap<String, Long> countMap = new TreeMap<>();
-		for( final String sampleId: sampleOtuCounts.keySet() )
-			countMap.put( sampleId,
-				sampleOtuCounts.get( sampleId ).values().stream().mapToLong( Long::longValue ).sum() );
-
-		final List<Long> data = new ArrayList<>( countMap.values() );
-		Collections.sort( data );
+	protected Long getNumOtusForQuantile( final OtuCountMatrix otuCounts ) throws Exception {
+		final long[] data = new long[ otuCounts.getNumSamples() ];
+		for( int row = 0; row < data.length; row++ )
+			data[ row ] = otuCounts.getSampleTotal( row );
+		Arrays.sort( data );
 
-		final int index = new Double( Config.requirePositiveDouble( this, QUANTILE ) * countMap.size() ).intValue();
+		final int index = new Double( Config.requirePositiveDouble( this, QUANTILE ) * data.length ).intValue();
 
-		return data.get( index );
+		return data[ index ];
 	}
 
 	/**
-	 * Rarefy the data by taking the average value of {@value #NUM_ITERATIONS}
+	 * Rarefy the data by taking the average value of {@value #NUM_ITERATIONS}. Each iteration draws quantileNum hits
+	 * without replacement straight from the OTU count vector with {@link #sample(long[], long, SplittableRandom)}.
+	 * Iterations run in parallel, each with its own random number generator seeded from
+	 * {@link biolockj.Config}.{@value biolockj.Constants#SET_SEED} (if defined), the sample ID and the iteration number,
+	 * so results are reproducible.
 	 *
-	 * @param sampleId Sample ID
-	 * @param otuCounts OTU counts
+	 * @param otuCounts OTU counts for every sample, the sample counts are replaced by the rarefied counts
+	 * @param row Sample row index
 	 * @param quantileNum Maximum number
-	 * @return TreeMap(OTU, count) of rarefied data
+	 * @return FALSE if the sample is removed as a low abundant sample
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, Long> rarefy( final String sampleId, final TreeMap<String, Long> otuCounts,
-		final long quantileNum ) throws Exception {
+	protected boolean rarefy( final OtuCountMatrix otuCounts, final int row, final long quantileNum )
+		throws Exception {
+		final String sampleId = otuCounts.getSampleId( row );
+		final int start = otuCounts.getRowStart( row );
+		final long[] counts = new long[ otuCounts.getRowEnd( row ) - start ];
+		long numHits = 0L;
+		for( int i = 0; i < counts.length; i++ ) {
+			counts[ i ] = otuCounts.getEntryCount( start + i );
+			numHits += counts[ i ];
+		}
 
-		final TreeMap<String, Long> otuCount = new TreeMap<>();
-		final List<String> data = getData( sampleId, otuCounts );
-		if( Config.getBoolean( this, REMOVE_LOW_ABUNDANT_SAMPLES ) && data.size() < quantileNum ) {
+		if( Config.getBoolean( this, REMOVE_LOW_ABUNDANT_SAMPLES ) && numHits < quantileNum ) {
 			Log.info( getClass(), "REMOVE LOW ABUNDANT sample: " + sampleId );
-			return null;
+			return false;
 		}
 
-		for( int i = 0; i < Config.requirePositiveInteger( this, NUM_ITERATIONS ); i++ ) {
-			Log.debug( getClass(), sampleId + " iteration[ " + i + " ]" );
-			for( final String otu: getRandomQuantileOtus( data, quantileNum ) ) {
-				if( otuCount.get( otu ) == null ) otuCount.put( otu, 0L );
-
-				otuCount.put( otu, otuCount.get( otu ) + 1 );
-			}
-		}
+		final int numIterations = Config.requirePositiveInteger( this, NUM_ITERATIONS );
+		final long seed = getSeed( sampleId );
+		final long numDraws = Math.min( numHits, quantileNum );
+		final long[] otuCount = IntStream.range( 0, numIterations ).parallel()
+			.mapToObj( i -> sample( counts, numDraws, new SplittableRandom( seed + i ) ) )
+			.reduce( new long[ counts.length ], RarefyOtuCounts::add );
 
 		long totalSampleOtuCount = 0L;
-		final TreeMap<String, Long> meanCountValues = new TreeMap<>();
-		int i = 0;
-		for( final String otu: otuCount.keySet() ) {
-			final long avg =
-				new Integer( Math.round( otuCount.get( otu ) / Config.requirePositiveInteger( this, NUM_ITERATIONS ) ) )
-					.longValue();
-			if( avg > 0 ) {
-				meanCountValues.put( otu, avg );
-				totalSampleOtuCount += avg;
-			}
-			Log.debug( getClass(), "Total Sample Otu Count[" + i++ + "] = " + totalSampleOtuCount );
+		for( int i = 0; i < counts.length; i++ ) {
+			final long avg = otuCount[ i ] / numIterations;
+			otuCounts.setEntryCount( start + i, avg );
+			totalSampleOtuCount += avg;
 		}
+		Log.debug( getClass(), "Total Sample Otu Count[" + sampleId + "] = " + totalSampleOtuCount );
 
 		this.hitsPerSample.put( sampleId, String.valueOf( totalSampleOtuCount ) );
-		return meanCountValues;
+		return true;
+	}
+
+	private long getSeed( final String sampleId ) throws ConfigFormatException {
+		final Integer seed = Config.getPositiveInteger( this, Constants.SET_SEED );
+		if( seed == null ) return new SplittableRandom().nextLong();
+		return ( seed * 1000003L + sampleId.hashCode() ) * 1000003L;
 	}
 
 	private String getMetaColName() throws Exception {
@@ -225,56 +229,101 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	}
 
 	/**
-	 * Print the output file wit rarefied counts.
+	 * Draw numDraws hits without replacement from the OTU counts (a multivariate hypergeometric draw). The number of
+	 * hits for each OTU is drawn from the hypergeometric distribution of the hits not yet assigned, so the cost depends
+	 * on the number of OTUs rather than the number of hits.
 	 *
-	 * @param file Output file
-	 * @param otuCounts TreeMap(OTU, count)
-	 * @throws Exception if errors occur
+	 * @param counts Number of hits for each OTU
+	 * @param numDraws Number of hits to draw, no more than the total number of hits
+	 * @param random Random number generator
+	 * @return Number of hits drawn for each OTU
 	 */
-	protected static void generateOtuput( final File file, final TreeMap<String, Long> otuCounts ) throws Exception {
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
-		try {
-			for( final String otu: otuCounts.keySet() )
-				writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-		} finally {
-			writer.close();
+	public static long[] sample( final long[] counts, final long numDraws, final SplittableRandom random ) {
+		final long[] draws = new long[ counts.length ];
+		long population = 0L;
+		for( final long count: counts )
+			population += count;
+
+		long remaining = numDraws;
+		for( int i = 0; i < counts.length && remaining > 0; i++ ) {
+			draws[ i ] = hypergeometric( population, counts[ i ], remaining, random );
+			population -= counts[ i ];
+			remaining -= draws[ i ];
 		}
+		return draws;
+	}
+
+	private static long[] add( final long[] sum, final long[] counts ) {
+		final long[] total = new long[ sum.length ];
+		for( int i = 0; i < sum.length; i++ )
+			total[ i ] = sum[ i ] + counts[ i ];
+		return total;
 	}
 
 	/**
-	 * Get OTU count data for the given sampleId.
+	 * Draw the number of successes from the hypergeometric distribution by inversion, searching out from the mode.
+	 * The expected number of steps grows with the standard deviation, not the number of draws.
 	 *
-	 * @param sampleId Sample ID
-	 * @param otuCounts All OTU counts
-	 * @return List of OTUs for the given sampleId
-	 * @throws Exception if errors occur
+	 * @param population Population size
+	 * @param successes Number of successes in the population
+	 * @param draws Number of draws without replacement
+	 * @param random Random number generator
+	 * @return Number of successes drawn
 	 */
-	protected static List<String> getData( final String sampleId, final TreeMap<String, Long> otuCounts )
-		throws Exception {
-		final String metaField = MetaUtil.getField( sampleId, ParserModuleImpl.getOtuCountField() );
-		final Long val = Long.valueOf( metaField );
-		final List<String> otus = new ArrayList<>( val.intValue() );
-
-		for( final String otu: otuCounts.keySet() ) {
-			for( int i = 0; i < otuCounts.get( otu ); i++ )
-				otus.add( otu );
-			Collections.sort( otus );
+	private static long hypergeometric( final long population, final long successes, final long draws,
+		final SplittableRandom random ) {
+		if( successes == 0 || draws == 0 ) return 0L;
+		if( successes == population ) return draws;
+		if( draws == population ) return successes;
+
+		final long failures = population - successes;
+		final long low = Math.max( 0L, draws - failures );
+		final long high = Math.min( draws, successes );
+		final long mode = Math.max( low, Math.min( high,
+			(long) ( ( draws + 1.0 ) * ( successes + 1.0 ) / ( population + 2.0 ) ) ) );
+		final double pMode = Math.exp( logChoose( successes, mode ) + logChoose( failures, draws - mode ) -
+			logChoose( population, draws ) );
+
+		double u = random.nextDouble() - pMode;
+		if( u < 0 ) return mode;
+
+		long up = mode;
+		long down = mode;
+		double pUp = pMode;
+		double pDown = pMode;
+		while( up < high || down > low ) {
+			if( up < high ) {
+				pUp *= (double) ( successes - up ) * ( draws - up ) / ( ( up + 1.0 ) * ( failures - draws + up + 1.0 ) );
+				up++;
+				u -= pUp;
+				if( u < 0 ) return up;
+			}
+			if( down > low ) {
+				pDown *= (double) down * ( failures - draws + down ) / ( ( successes - down + 1.0 ) * ( draws - down + 1.0 ) );
+				down--;
+				u -= pDown;
+				if( u < 0 ) return down;
+			}
 		}
 
-		return otus;
+		return mode;
 	}
 
-	/**
-	 * Select random OTUs based on the quantileNum from the list of OTUs in data.
-	 *
-	 * @param data List( OTUs )
-	 * @param quantileNum Qunatile (range: 0.0 - 1.0)
-	 * @return List of randomly selected OTUs up to the given quantile
-	 */
-	protected static List<String> getRandomQuantileOtus( final List<String> data, final Long quantileNum ) {
-		Collections.shuffle( data );
-		if( data.size() > quantileNum ) return data.subList( 0, quantileNum.intValue() );
-		return data;
+	private static double logChoose( final long n, final long k ) {
+		return logFactorial( n ) - logFactorial( k ) - logFactorial( n - k );
+	}
+
+	private static double logFactorial( final long n ) {
+		if( n < LOG_FACTORIALS.length ) return LOG_FACTORIALS[ (int) n ];
+		final double x = n;
+		return x * Math.log( x ) - x + 0.5 * Math.log( 2 * Math.PI * x ) + 1 / ( 12 * x ) - 1 / ( 360 * x * x * x );
+	}
+
+	private static double[] getLogFactorials() {
+		final double[] vals = new double[ 1024 ];
+		for( int i = 1; i < vals.length; i++ )
+			vals[ i ] = vals[ i - 1 ] + Math.log( i );
+		return vals;
 	}
 
 	private Map<String, String> hitsPerSample = new HashMap<>();
@@ -316,4 +365,6 @@ public class RarefyOtuCounts extends OtuCountModule implements ApiModule {
 	 */
 	protected static final String REMOVE_LOW_ABUNDANT_SAMPLES = "rarefyOtuCounts.rmLowSamples";
 
+	private static final double[] LOG_FACTORIALS = getLogFactorials();
+
 }
@@ -62,9 +62,7 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
-
-		final TreeMap<String, TreeSet<String>> lowCountOtus = removeLowOtuCounts( sampleOtuCounts );
+		final TreeMap<String, TreeSet<String>> lowCountOtus = removeLowOtuCounts( getOtuCountMatrix() );
 		logLowCountOtus( lowCountOtus );
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
 			.addColumn( getMetaColName() + "_" + Constants.OTU_COUNT, this.hitsPerSample, getOutputDir(), true );
@@ -101,36 +99,33 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 	/**
 	 * Remove OTUs below the {@link biolockj.Config}.{@value biolockj.Constants#REPORT_MIN_COUNT }
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @return TreeMap(SampleId, TreeMap(OTU, count)) Updated sampleOtuCounts after removal of low counts.
+	 * @param otuCounts OTU counts for every sample, low counts are set to 0
+	 * @return TreeMap(SampleId, TreeSet(OTU)) Low count OTUs removed from each sample
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>>
-		removeLowOtuCounts( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts ) throws Exception {
+	protected TreeMap<String, TreeSet<String>> removeLowOtuCounts( final OtuCountMatrix otuCounts ) throws Exception {
 		final TreeMap<String, TreeSet<String>> lowCountOtus = new TreeMap<>();
-		Log.debug( getClass(), "Build low count files for total # files: " + sampleOtuCounts.size() );
-		for( final String sampleId: sampleOtuCounts.keySet() ) {
+		final int minCount = getMinCount();
+		Log.debug( getClass(), "Build low count files for total # files: " + otuCounts.getNumSamples() );
+		for( int row = 0; row < otuCounts.getNumSamples(); row++ ) {
+			final String sampleId = otuCounts.getSampleId( row );
 			final Set<String> badOtus = new TreeSet<>();
 			Log.debug( getClass(), "Check for low OTU counts in: " + sampleId );
 			long numOtus = 0;
-			final TreeMap<String, Long> otuCounts = sampleOtuCounts.get( sampleId );
-
-			final Set<String> validOtus = new TreeSet<>( otuCounts.keySet() );
 			long numOtuRemoved = 0;
-			for( final String otu: otuCounts.keySet() ) {
-				final long count = otuCounts.get( otu );
-				if( count < getMinCount() ) {
+			for( int k = otuCounts.getRowStart( row ); k < otuCounts.getRowEnd( row ); k++ ) {
+				final long count = otuCounts.getEntryCount( k );
+				if( count < minCount ) {
+					final String otu = otuCounts.getOtu( otuCounts.getEntryColumn( k ) );
 					this.uniqueOtuRemoved.add( otu );
 					this.totalOtuRemoved += count;
 					badOtus.add( otu );
 					Log.debug( getClass(), sampleId + ": Remove Low OTU count: " + otu + "=" + count );
-					validOtus.remove( otu );
+					otuCounts.setEntryCount( k, 0L );
 					if( lowCountOtus.get( sampleId ) == null ) lowCountOtus.put( sampleId, new TreeSet<>() );
 					lowCountOtus.get( sampleId ).add( otu );
 					numOtuRemoved += count;
 				} else numOtus += count;
-				// Log.debug( getClass(),
-				// sampleId + ": update OTU count to " + numOtus + " after adding: " + otu + "=" + count );
 			}
 
 			if( numOtus > 0 ) {
@@ -140,17 +135,11 @@ public class RemoveLowOtuCounts extends OtuCountModule {
 				if( numOtuRemoved == 0 ) FileUtils.copyFileToDirectory( getFileMap().get( sampleId ), getOutputDir() );
 				else {
 					Log.warn( getClass(), sampleId + ": Removed " + badOtus.size() + " low OTU counts (below " +
-						getMinCount() + ") --> " + badOtus );
+						minCount + ") --> " + badOtus );
 
 					final File otuFile = OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName() );
-					final BufferedWriter writer = new BufferedWriter( new FileWriter( otuFile ) );
-					try {
-						for( final String otu: validOtus )
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-					} finally {
-						writer.close();
-						getFileMap().put( sampleId, otuFile );
-					}
+					otuCounts.writeSample( row, otuFile );
+					getFileMap().put( sampleId, otuFile );
 				}
 
 			}
@@ -66,18 +66,18 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		Log.info( getClass(), "Searching samples to remove OTUs found in less than " + getCutoff() + " samples." );
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts = OtuUtil.getSampleOtuCounts( getInputFiles() );
+		final OtuCountMatrix otuCounts = getOtuCountMatrix();
 
-		final TreeSet<String> uniqueOtus = OtuUtil.findUniqueOtus( sampleOtuCounts );
+		final TreeSet<String> uniqueOtus = new TreeSet<>( otuCounts.getOtus() );
 		Log.info( getClass(),
-			"Searching " + uniqueOtus.size() + " unique OTUs in " + sampleOtuCounts.size() +
+			"Searching " + uniqueOtus.size() + " unique OTUs in " + otuCounts.getNumSamples() +
 				" samples for OTUs found in less than the cutoff percentage [ " + getScarceCutoff() + " ] = " +
 				getCutoff() + " samples." );
 
-		final TreeMap<String, TreeSet<String>> scarceTaxa = findScarceTaxa( sampleOtuCounts, uniqueOtus );
+		final TreeMap<String, TreeSet<String>> scarceTaxa = findScarceTaxa( otuCounts );
 		final TreeMap<String, TreeSet<String>> scarceOtus = findScarceOtus( uniqueOtus, scarceTaxa );
 		logScarceOtus( scarceOtus.keySet() );
-		removeScarceOtuCounts( getUpdatedOtuCounts( sampleOtuCounts, scarceOtus ) );
+		removeScarceOtuCounts( getUpdatedOtuCounts( otuCounts, scarceOtus ) );
 
 		if( Config.getBoolean( this, Constants.REPORT_NUM_HITS ) ) MetaUtil
 			.addColumn( getMetaColName() + "_" + Constants.OTU_COUNT, this.hitsPerSample, getOutputDir(), true );
@@ -88,28 +88,21 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	 * {@link biolockj.Config}.{@value biolockj.Constants#REPORT_SCARCE_CUTOFF}. Return a map of these scare taxa and a
 	 * set of samples that need to remove them.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
-	 * @param otus TreeSet of unique OTUs
+	 * @param otuCounts OTU counts for every sample
 	 * @return TreeMap(taxa, TreeSet(SampleIds))
 	 * @throws Exception if errors occur
 	 */
-	protected TreeMap<String, TreeSet<String>> findScarceTaxa(
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts, final TreeSet<String> otus ) throws Exception {
+	protected TreeMap<String, TreeSet<String>> findScarceTaxa( final OtuCountMatrix otuCounts ) throws Exception {
 		final TreeMap<String, TreeSet<String>> scarceTaxa = new TreeMap<>();
 		for( final String level: TaxaUtil.getTaxaLevels() ) {
 			final TreeMap<String, TreeSet<String>> scarceLevelTaxa = new TreeMap<>();
-			final TreeSet<String> levelTaxa = TaxaUtil.findUniqueTaxa( otus, level );
-			Log.debug( getClass(), "Checking level: " + level + " with " + levelTaxa.size() + " taxa" );
-			for( final String taxa: levelTaxa ) {
-				final TreeMap<String, TreeMap<String, Long>> levelTaxaCounts =
-					TaxaUtil.getLevelTaxaCounts( sampleOtuCounts, level );
+			final OtuCountMatrix levelTaxaCounts = otuCounts.getLevelCounts( level );
+			Log.debug( getClass(), "Checking level: " + level + " with " + levelTaxaCounts.getNumOtus() + " taxa" );
+			for( int col = 0; col < levelTaxaCounts.getNumOtus(); col++ ) {
+				final String taxa = levelTaxaCounts.getOtu( col );
 				final TreeSet<String> samplesWithTaxa = new TreeSet<>();
-				for( final String sampleId: levelTaxaCounts.keySet() ) {
-					final TreeMap<String, Long> taxaCounts = levelTaxaCounts.get( sampleId );
-					Log.debug( getClass(), "Checking sampleId: " + sampleId + " with " + taxaCounts.size() + " " +
-						level + " taxa for: " + taxa );
-					if( taxaCounts.keySet().contains( taxa ) ) samplesWithTaxa.add( sampleId );
-				}
+				for( final int k: levelTaxaCounts.getColumnEntries( col ) )
+					samplesWithTaxa.add( levelTaxaCounts.getSampleId( levelTaxaCounts.getEntryRow( k ) ) );
 
 				Log.debug( getClass(), taxa + " found in " + samplesWithTaxa.size() + " samples" );
 				if( !samplesWithTaxa.isEmpty() && samplesWithTaxa.size() <= getCutoff() ) {
@@ -127,24 +120,29 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	}
 
 	/**
-	 * Remove scarce OTUs from the sampleOtuCounts and return it.
+	 * Remove scarce OTUs from the otuCounts by setting their counts to 0.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param otuCounts OTU counts for every sample
 	 * @param scarceOtus TreeMap(OTU, TreeSet(SampleId)) Scarce OTUs and the samples that list them
-	 * @return TreeMap(SampleId, TreeMap(OTU, count)) sampleOtuCounts after scarce OTUs have been removed
+	 * @return otuCounts after scarce OTUs have been removed
 	 */
-	protected TreeMap<String, TreeMap<String, Long>> getUpdatedOtuCounts(
-		final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts,
+	protected OtuCountMatrix getUpdatedOtuCounts( final OtuCountMatrix otuCounts,
 		final TreeMap<String, TreeSet<String>> scarceOtus ) {
-		for( final String badOtu: scarceOtus.keySet() )
-			for( final String sampleId: scarceOtus.get( badOtu ) )
-				if( sampleOtuCounts.get( sampleId ).get( badOtu ) != null ) {
+		for( final String badOtu: scarceOtus.keySet() ) {
+			final int col = otuCounts.getOtuIndex( badOtu );
+			if( col < 0 ) continue;
+			for( final String sampleId: scarceOtus.get( badOtu ) ) {
+				final int row = otuCounts.getSampleIndex( sampleId );
+				final int k = row < 0 ? -1: otuCounts.getEntry( row, col );
+				if( k >= 0 && otuCounts.getEntryCount( k ) != 0 ) {
 					this.uniqueOtuRemoved.add( badOtu );
-					this.totalOtuRemoved += sampleOtuCounts.get( sampleId ).get( badOtu );
-					sampleOtuCounts.get( sampleId ).remove( badOtu );
+					this.totalOtuRemoved += otuCounts.getEntryCount( k );
+					otuCounts.setEntryCount( k, 0L );
 				}
+			}
+		}
 
-		return sampleOtuCounts;
+		return otuCounts;
 
 	}
 
@@ -174,34 +172,18 @@ public class RemoveScarceOtuCounts extends OtuCountModule {
 	/**
 	 * Output OTU count files with the updatedOtuCounts
 	 *
-	 * @param updatedOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param updatedOtuCounts OTU counts for every sample
 	 * @throws Exception if errors occur
 	 */
-	protected void removeScarceOtuCounts( final TreeMap<String, TreeMap<String, Long>> updatedOtuCounts )
-		throws Exception {
-		for( final String sampleId: updatedOtuCounts.keySet() ) {
-			final TreeMap<String, Long> otuCounts = updatedOtuCounts.get( sampleId );
-			if( otuCounts != null && !otuCounts.isEmpty() ) {
-				final BufferedWriter writer = new BufferedWriter( new FileWriter(
-					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) ) ) );
-				try {
-					Log.debug( getClass(), sampleId + " # unique OTUs: " + otuCounts.size() );
-					Long total = 0L;
-					for( final String otu: otuCounts.keySet() ) {
-						Log.debug( getClass(), sampleId + " checking OTU: " + otu );
-						final Long sampleCount = otuCounts.get( otu );
-						if( sampleCount != null ) {
-							total += otuCounts.get( otu );
-							writer.write( otu + TAB_DELIM + otuCounts.get( otu ) + RETURN );
-						}
-					}
-
-					this.hitsPerSample.put( sampleId, total.toString() );
-				} finally {
-					writer.close();
-				}
+	protected void removeScarceOtuCounts( final OtuCountMatrix updatedOtuCounts ) throws Exception {
+		for( int row = 0; row < updatedOtuCounts.getNumSamples(); row++ )
+			if( updatedOtuCounts.getSampleTotal( row ) > 0 ) {
+				final String sampleId = updatedOtuCounts.getSampleId( row );
+				final long total = updatedOtuCounts.writeSample( row,
+					OtuUtil.getOtuCountFile( getOutputDir(), sampleId, getMetaColName().replace( "%", "" ) ) );
+				Log.debug( getClass(), sampleId + " total OTU count: " + total );
+				this.hitsPerSample.put( sampleId, String.valueOf( total ) );
 			}
-		}
 	}
 
 	private int getCutoff() throws Exception {
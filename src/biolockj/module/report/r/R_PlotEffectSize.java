@@ -17,6 +17,7 @@ import biolockj.Constants;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
 import biolockj.exception.ConfigViolationException;
+import biolockj.module.TerminalModule;
 import biolockj.module.report.taxa.NormalizeTaxaTables;
 import biolockj.util.BioLockJUtil;
 import biolockj.util.RMetaUtil;
@@ -27,7 +28,7 @@ import biolockj.util.RMetaUtil;
  * 
  * @blj.web_desc R Plot Effect Size
  */
-public class R_PlotEffectSize extends R_Module implements ApiModule {
+public class R_PlotEffectSize extends R_Module implements ApiModule, TerminalModule {
 	
 	public R_PlotEffectSize() {
 		super();
@@ -15,6 +15,7 @@ import biolockj.Config;
 import biolockj.Constants;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
+import biolockj.module.TerminalModule;
 import biolockj.util.BioLockJUtil;
 
 /**
@@ -23,7 +24,7 @@ import biolockj.util.BioLockJUtil;
  * 
  * @blj.web_desc R Plot MDS
  */
-public class R_PlotMds extends R_Module implements ApiModule {
+public class R_PlotMds extends R_Module implements ApiModule, TerminalModule {
 	
 
 	public R_PlotMds() {
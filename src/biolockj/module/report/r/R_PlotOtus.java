@@ -16,6 +16,7 @@ import biolockj.Config;
 import biolockj.Constants;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
+import biolockj.module.TerminalModule;
 import biolockj.util.BioLockJUtil;
 
 /**
@@ -24,7 +25,7 @@ import biolockj.util.BioLockJUtil;
  * 
  * @blj.web_desc R Plot OTUs
  */
-public class R_PlotOtus extends R_Module implements ApiModule {
+public class R_PlotOtus extends R_Module implements ApiModule, TerminalModule {
 	
 	public R_PlotOtus() {
 		super();
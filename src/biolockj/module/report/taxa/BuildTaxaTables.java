@@ -32,35 +32,29 @@ public class BuildTaxaTables extends OtuCountModule {
 
 	@Override
 	public void runModule() throws Exception {
-		buildTaxonomyTables( OtuUtil.getSampleOtuCounts( getInputFiles() ) );
+		buildTaxonomyTables( getOtuCountMatrix() );
 	}
 
 	/**
-	 * Build taxonomy tables from the sampleTaxaCounts.
+	 * Build taxonomy tables from the OTU counts, summing the counts of each sample by taxa at each level.
 	 *
-	 * @param sampleOtuCounts TreeMap(SampleId, TreeMap(OTU, count)) OTU counts for every sample
+	 * @param otuCounts OTU counts for every sample
 	 * @throws Exception if errors occur
 	 */
-	protected void buildTaxonomyTables( final TreeMap<String, TreeMap<String, Long>> sampleOtuCounts )
-		throws Exception {
+	protected void buildTaxonomyTables( final OtuCountMatrix otuCounts ) throws Exception {
 		final String label = "OTUs";
 		final int pad = SummaryUtil.getPad( label ) + 4;
 
-		final TreeSet<String> otus = OtuUtil.findUniqueOtus( sampleOtuCounts );
-		Log.info( getClass(), "Write " + otus.size() + " unique OTUs for: " + sampleOtuCounts.size() + " samples" );
-		report( "OTU Count", sampleOtuCounts );
-		report( "Unique OTU", otus );
+		Log.info( getClass(),
+			"Write " + otuCounts.getNumOtus() + " unique OTUs for: " + otuCounts.getNumSamples() + " samples" );
+		report( "OTU Count", otuCounts );
+		report( "Unique OTU", otuCounts.getOtus() );
 		this.summary += BioLockJUtil.addTrailingSpaces( "# Samples:", pad ) +
-			BioLockJUtil.formatNumericOutput( new Integer( sampleOtuCounts.size() ).longValue(), false ) + RETURN;
+			BioLockJUtil.formatNumericOutput( new Integer( otuCounts.getNumSamples() ).longValue(), false ) + RETURN;
 		long totalOtus = 0;
 		boolean topLevel = true;
 		for( final String level: TaxaUtil.getTaxaLevels() ) {
-			final TreeSet<String> levelTaxa = TaxaUtil.findUniqueTaxa( otus, level );
-			final TreeMap<String, TreeMap<String, Long>> levelTaxaCounts =
-				TaxaUtil.getLevelTaxaCounts( sampleOtuCounts, level );
-			final Map<String, Long> uniqueOtus = new HashMap<>();
-
-			uniqueOtus.put( level, new Integer( levelTaxa.size() ).longValue() );
+			final OtuCountMatrix levelTaxaCounts = otuCounts.getLevelCounts( level );
 			report( "Taxonomy Counts @" + level, levelTaxaCounts );
 			final File table = TaxaUtil.getTaxonomyTableFile( getOutputDir(), level, null );
 			Log.info( getClass(), "Building: " + table.getAbsolutePath() );
@@ -68,34 +62,37 @@ public class BuildTaxaTables extends OtuCountModule {
 			final BufferedWriter writer = new BufferedWriter( new FileWriter( table ) );
 			try {
 				writer.write( MetaUtil.getID() );
-				for( final String taxa: levelTaxa )
+				for( final String taxa: levelTaxaCounts.getOtus() )
 					writer.write( TAB_DELIM + taxa );
 				writer.write( RETURN );
 
-				for( final String sampleId: sampleOtuCounts.keySet() ) {
-					final TreeMap<String, Long> taxaCounts = levelTaxaCounts.get( sampleId );
-					if( taxaCounts.isEmpty() ) {
+				for( int row = 0; row < levelTaxaCounts.getNumSamples(); row++ ) {
+					final String sampleId = levelTaxaCounts.getSampleId( row );
+					int k = levelTaxaCounts.getRowStart( row );
+					final int end = levelTaxaCounts.getRowEnd( row );
+					if( k == end ) {
 						Log.warn( getClass(), "No " + level + " taxa found: " + sampleId );
 						continue;
 					}
 					writer.write( sampleId );
 
-					for( final String taxa: levelTaxa ) {
-						Long count = 0L;
-						if( taxaCounts.keySet().contains( taxa ) ) {
-							count = taxaCounts.get( taxa );
+					for( int col = 0; col < levelTaxaCounts.getNumOtus(); col++ ) {
+						long count = 0L;
+						if( k < end && levelTaxaCounts.getEntryColumn( k ) == col ) {
+							count = levelTaxaCounts.getEntryCount( k++ );
 							if( topLevel ) totalOtus += count;
 						}
 
 						writer.write( TAB_DELIM + count );
-						Log.debug( getClass(), sampleId + ":" + taxa + "=" + count );
+						Log.debug( getClass(), sampleId + ":" + levelTaxaCounts.getOtu( col ) + "=" + count );
 					}
 
 					writer.write( RETURN );
 				}
 
 				this.summary += BioLockJUtil.addTrailingSpaces( "# Unique " + level + " OTUs:", pad ) +
-					BioLockJUtil.formatNumericOutput( uniqueOtus.get( level ), false ) + RETURN;
+					BioLockJUtil.formatNumericOutput( new Integer( levelTaxaCounts.getNumOtus() ).longValue(), false ) +
+					RETURN;
 			} finally {
 				writer.close();
 			}
@@ -111,12 +108,11 @@ public class BuildTaxaTables extends OtuCountModule {
 			Log.debug( getClass(), "REPORT [ " + label + " ]:" + item );
 	}
 
-	private void report( final String label, final TreeMap<String, TreeMap<String, Long>> map ) {
-		if( Log.doDebug() ) for( final String id: map.keySet() ) {
-			final TreeMap<String, Long> innerMap = map.get( id );
-			for( final String otu: innerMap.keySet() )
-				Log.debug( getClass(), "REPORT [ " + id + " " + label + " ]: " + otu + "=" + innerMap.get( otu ) );
-		}
+	private void report( final String label, final OtuCountMatrix counts ) {
+		if( Log.doDebug() ) for( int row = 0; row < counts.getNumSamples(); row++ )
+			for( int k = counts.getRowStart( row ); k < counts.getRowEnd( row ); k++ )
+				Log.debug( getClass(), "REPORT [ " + counts.getSampleId( row ) + " " + label + " ]: " +
+					counts.getOtu( counts.getEntryColumn( k ) ) + "=" + counts.getEntryCount( k ) );
 	}
 
 	private String summary = "";
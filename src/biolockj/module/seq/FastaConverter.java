@@ -0,0 +1,186 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date June 19, 2017
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.module.seq;
+
+import java.io.*;
+import java.util.Collection;
+import java.util.List;
+import biolockj.*;
+import biolockj.api.ApiModule;
+import biolockj.exception.SequnceFormatException;
+import biolockj.module.JavaModuleImpl;
+import biolockj.module.SeqModule;
+import biolockj.util.*;
+
+/**
+ * This BioModule converts input sequence files into decompressed single-line FastA files. Gzipped files are
+ * decompressed, FastQ reads are converted to FastA and multi-line (454) FastA sequences are joined into 1 line, all in
+ * a single streaming pass over each file. Multiple files are converted in parallel.
+ * 
+ * @blj.web_desc Fastq to Fasta Converter
+ */
+public class FastaConverter extends JavaModuleImpl implements SeqModule, ApiModule {
+
+	/**
+	 * Set {@link biolockj.Config}.{@value biolockj.Constants#INTERNAL_SEQ_TYPE} = {@value biolockj.Constants#FASTA}<br>
+	 * Set {@link biolockj.Config}.{@value biolockj.Constants#INTERNAL_SEQ_HEADER_CHAR} =
+	 * {@link biolockj.util.SeqUtil#FASTA_HEADER_DEFAULT_DELIM}
+	 *
+	 * @throws Exception if errors occur
+	 */
+	@Override
+	public void cleanUp() throws Exception {
+		super.cleanUp();
+		Config.setConfigProperty( Constants.INTERNAL_SEQ_TYPE, Constants.FASTA );
+		Config.setConfigProperty( Constants.INTERNAL_SEQ_HEADER_CHAR, SeqUtil.FASTA_HEADER_DEFAULT_DELIM );
+	}
+
+	@Override
+	public List<File> getSeqFiles( final Collection<File> files ) throws SequnceFormatException {
+		return SeqUtil.getSeqFiles( files );
+	}
+
+	/**
+	 * Produce summary message with the total number of reads converted.
+	 */
+	@Override
+	public String getSummary() throws Exception {
+		return super.getSummary() + "# Reads converted to FastA: " + this.totalNumReads + RETURN;
+	}
+
+	/**
+	 * Execute {@link #convert(File)} on each input file.
+	 */
+	@Override
+	public void runModule() throws Exception {
+		if( SeqUtil.isFastA() && !Config.getBoolean( this, Constants.INTERNAL_IS_MULTI_LINE_SEQ ) )
+			Log.warn( getClass(), "May be able to remove this BioModule - input is already in FastA format" );
+		processFiles( getInputFiles(), this::convert, ( f, numReads ) -> this.totalNumReads += numReads );
+	}
+
+	/**
+	 * Convert the sequence file into a decompressed single-line FastA file in the output directory.
+	 *
+	 * @param file Sequence file
+	 * @return Number of reads converted
+	 * @throws Exception if unable to convert the file
+	 */
+	protected Long convert( final File file ) throws Exception {
+		final File output = new File( getOutputDir().getAbsolutePath() + File.separator +
+			SeqUtil.getSampleId( file.getName() ) + SeqUtil.getReadDirectionSuffix( file ) + "." + Constants.FASTA );
+		Log.info( getClass(), "Convert " + file.getAbsolutePath() + " ---> " + output.getAbsolutePath() );
+		final long numReads;
+		if( SeqUtil.isFastQ() ) {
+			final SeqRecordReader reader = new SeqRecordReader( file );
+			final SeqRecordWriter writer = new SeqRecordWriter( output );
+			try {
+				for( SeqRecord read = reader.next(); read != null; read = reader.next() )
+					writer.writeFastA( read );
+				numReads = reader.getNumRecords();
+			} finally {
+				reader.close();
+				writer.close();
+			}
+		} else {
+			final InputStream in = BioLockJUtil.getFileInputStream( file );
+			final OutputStream out = BioLockJUtil.getFileOutputStream( output, false );
+			try {
+				numReads = joinSeqLines( in, out );
+			} finally {
+				in.close();
+				out.close();
+			}
+		}
+
+		MetricsUtil.addRecords( numReads );
+		return numReads;
+	}
+
+	@Override
+	public String getDescription() {
+		return "Convert fastq files into fasta format.";
+	}
+
+	@Override
+	public String getDetails() {
+		return "Pure Java replacement for AwkFastaConverter. Gzipped input is decompressed and converted in a single pass, " +
+			"multi-line (454) fasta sequences are joined into a single line.";
+	}
+
+	@Override
+	public String getCitationString() {
+		return "BioLockJ " + BioLockJUtil.getVersion() + System.lineSeparator() + "Module developed by Mike Sioda";
+	}
+
+	/**
+	 * Copy FastA reads, joining multi-line sequences into a single line. Blank lines, carriage returns and whitespace
+	 * within the sequence are removed. Header lines may start with
+	 * {@value biolockj.util.SeqUtil#FASTA_HEADER_DEFAULT_DELIM} or the legacy ";", and are
+	 * always written with {@value biolockj.util.SeqUtil#FASTA_HEADER_DEFAULT_DELIM}. Every read is written as a header
+	 * line followed by a sequence line, which is empty if the read has no sequence.
+	 *
+	 * @param in FastA input stream
+	 * @param out Single-line FastA output stream
+	 * @return Number of reads
+	 * @throws IOException if unable to read or write the stream
+	 */
+	public static long joinSeqLines( final InputStream in, final OutputStream out ) throws IOException {
+		final byte[] inBuf = new byte[ BUFFER_SIZE ];
+		final byte[] outBuf = new byte[ BUFFER_SIZE ];
+		final byte headerChar = (byte) SeqUtil.FASTA_HEADER_DEFAULT_DELIM.charAt( 0 );
+		final byte legacyHeaderChar = (byte) LEGACY_HEADER_DELIM.charAt( 0 );
+		long numReads = 0L;
+		boolean lineStart = true;
+		boolean inHeader = false;
+		boolean inRead = false;
+		int outLen = 0;
+		for( int n = in.read( inBuf ); n != -1; n = in.read( inBuf ) ) {
+			for( int i = 0; i < n; i++ ) {
+				if( outLen > outBuf.length - 3 ) {
+					out.write( outBuf, 0, outLen );
+					outLen = 0;
+				}
+				final byte b = inBuf[ i ];
+				if( b == '\n' ) {
+					if( inHeader ) outBuf[ outLen++ ] = '\n';
+					inHeader = false;
+					lineStart = true;
+				} else if( b == '\r' ) continue;
+				else if( lineStart && ( b == headerChar || b == legacyHeaderChar ) ) {
+					if( inRead ) outBuf[ outLen++ ] = '\n';
+					outBuf[ outLen++ ] = headerChar;
+					inHeader = true;
+					inRead = true;
+					lineStart = false;
+					numReads++;
+				} else {
+					lineStart = false;
+					if( inHeader ) outBuf[ outLen++ ] = b;
+					else if( ( b & 0xff ) > ' ' ) {
+						outBuf[ outLen++ ] = b;
+						inRead = true;
+					}
+				}
+			}
+		}
+
+		if( inHeader ) outBuf[ outLen++ ] = '\n';
+		if( inRead ) outBuf[ outLen++ ] = '\n';
+		out.write( outBuf, 0, outLen );
+		return numReads;
+	}
+
+	private long totalNumReads = 0L;
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+	private static final String LEGACY_HEADER_DELIM = ";";
+}
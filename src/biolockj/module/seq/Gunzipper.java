@@ -11,74 +11,69 @@
  */
 package biolockj.module.seq;
 
-import java.io.File;
-import java.util.ArrayList;
+import java.io.*;
+import java.util.Collection;
 import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
 import biolockj.*;
 import biolockj.api.ApiModule;
-import biolockj.module.SeqModuleImpl;
+import biolockj.exception.SequnceFormatException;
+import biolockj.module.JavaModuleImpl;
+import biolockj.module.SeqModule;
 import biolockj.util.BioLockJUtil;
 import biolockj.util.SeqUtil;
 
 /**
- * This BioModule uses gzip to decompress input sequence files.
+ * This BioModule decompresses input sequence files. Files are streamed straight from the gzipped input to the
+ * output directory, with multiple files decompressed in parallel.
  * 
  * @blj.web_desc Decompress .gz Files
  */
-public class Gunzipper extends SeqModuleImpl implements ApiModule {
+public class Gunzipper extends JavaModuleImpl implements SeqModule, ApiModule {
 
-	public Gunzipper() {
-		addGeneralProperty( Constants.EXE_GZIP );
-	}
 	@Override
-	public List<List<String>> buildScript( final List<File> files ) throws Exception {
-		final List<List<String>> data = new ArrayList<>();
-		for( final File f: files ) {
-			final ArrayList<String> lines = new ArrayList<>();
-			if( SeqUtil.isGzipped( f.getName() ) ) lines.add( unzip( f ) );
-			else {
-				Log.warn( getClass(),
-					"May be able to remove this BioModule - input already decompressed: " + f.getAbsolutePath() );
-				lines.add( copyToOutputDir( f ) );
-			}
-
-			data.add( lines );
-		}
-
-		return data;
+	public List<File> getSeqFiles( final Collection<File> files ) throws SequnceFormatException {
+		return SeqUtil.getSeqFiles( files );
 	}
 
 	/**
-	 * This method generates the bash function: {@value #FUNCTION_GUNZIP}.
+	 * Decompress each gzipped input file into the output directory. Files that are not gzipped are copied.
 	 */
 	@Override
-	public List<String> getWorkerScriptFunctions() throws Exception {
-		final List<String> lines = super.getWorkerScriptFunctions();
-		lines.add( "function " + FUNCTION_GUNZIP + "() {" );
-		lines.add( Config.getExe( this, Constants.EXE_GZIP ) + " -cd $1 > $2" );
-		lines.add( "}" + RETURN );
-		return lines;
-	}
-
-	private String copyToOutputDir( final File file ) {
-		return "cp " + file.getAbsolutePath() + " " + getOutputDir().getAbsolutePath();
-	}
-
-	private String unzip( final File file ) throws Exception {
-		return FUNCTION_GUNZIP + " " + file.getAbsolutePath() + " " + getOutputDir().getAbsolutePath() +
-			File.separator + SeqUtil.getSampleId( file.getName() ) + SeqUtil.getReadDirectionSuffix( file ) + "." +
-			Config.requireString( this, Constants.INTERNAL_SEQ_TYPE );
-	}
-	
-	@Override
-	public String getDockerImageName() {
-		return "blj_basic";
+	public void runModule() throws Exception {
+		processFiles( getInputFiles(), this::unzip, null );
 	}
 
 	/**
-	 * Name of the bash function used to decompress gzipped files: {@value #FUNCTION_GUNZIP}
+	 * Decompress the file into the output directory, or copy it if it is already decompressed.
+	 *
+	 * @param file Sequence file
+	 * @return null
+	 * @throws Exception if unable to decompress the file
 	 */
-	protected static final String FUNCTION_GUNZIP = "openZip";
+	protected Void unzip( final File file ) throws Exception {
+		if( !SeqUtil.isGzipped( file.getName() ) ) {
+			Log.warn( getClass(),
+				"May be able to remove this BioModule - input already decompressed: " + file.getAbsolutePath() );
+			FileUtils.copyFileToDirectory( file, getOutputDir() );
+			return null;
+		}
+
+		final File output = new File( getOutputDir().getAbsolutePath() + File.separator +
+			SeqUtil.getSampleId( file.getName() ) + SeqUtil.getReadDirectionSuffix( file ) + "." +
+			Config.requireString( this, Constants.INTERNAL_SEQ_TYPE ) );
+		Log.info( getClass(), "Decompress " + file.getAbsolutePath() + " ---> " + output.getAbsolutePath() );
+		final InputStream in = BioLockJUtil.getFileInputStream( file );
+		final OutputStream out = BioLockJUtil.getFileOutputStream( output, false );
+		try {
+			IOUtils.copyLarge( in, out, new byte[ BUFFER_SIZE ] );
+		} finally {
+			in.close();
+			out.close();
+		}
+		return null;
+	}
 
 	@Override
 	public String getDescription() {
@@ -89,4 +84,6 @@ public class Gunzipper extends SeqModuleImpl implements ApiModule {
 	public String getCitationString() {
 		return "BioLockJ " + BioLockJUtil.getVersion() + System.lineSeparator() + "Module developed by Mike Sioda";
 	}
+
+	private static final int BUFFER_SIZE = 256 * 1024;
 }
@@ -13,7 +13,6 @@ package biolockj.module.seq;
 
 import java.io.*;
 import java.util.*;
-import java.util.zip.GZIPOutputStream;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
@@ -113,26 +112,22 @@ public class Multiplexer extends JavaModuleImpl implements SeqModule, ApiModule
 	public void runModule() throws Exception {
 		Log.info( getClass(), "Multiplexing file type = " + Config.requireString( this, Constants.INTERNAL_SEQ_TYPE ) );
 
+		if( Config.getBoolean( this, DO_GZIP ) ) Log.info( getClass(), "Multiplexed files will be gzipped" );
+
 		for( final File f: getInputFiles() )
 			multiplex( f );
-
-		if( Config.getBoolean( this, DO_GZIP ) ) {
-			Log.warn( getClass(), "BioLockJ gzip data in: " + this.muxFiles );
-			compressData();
-			removeDecompressedFiles();
-		}
 	}
 
 	/**
 	 * Get the header for the sequence.
 	 *
 	 * @param file Sequence file in fasta or fastq format
-	 * @param seqLines Sequence lines for 1 read
+	 * @param read Sequence read
 	 * @return the header row for the sequence
 	 * @throws Exception if errors occur while obtaining header
 	 */
-	protected String getHeader( final File file, final List<String> seqLines ) throws Exception {
-		final String header = seqLines.get( 0 ).trim();
+	protected String getHeader( final File file, final SeqRecord read ) throws Exception {
+		final String header = read.getHeader();
 		final String headerChar = header.substring( 0, 1 );
 		final String sampleId = SeqUtil.getSampleId( file.getName() );
 		final long numReads = incrementNumReads( file );
@@ -162,25 +157,15 @@ public class Multiplexer extends JavaModuleImpl implements SeqModule, ApiModule
 	protected void multiplex( final File sample ) throws Exception {
 		Log.info( getClass(), "Multiplexing file  = " + sample.getAbsolutePath() );
 		final File muxFile = new File( getMutliplexeFileName( sample ) );
-		final List<String> seqLines = new ArrayList<>();
-		BufferedReader reader = null;
-		BufferedWriter writer = null;
+		final SeqRecordReader reader = new SeqRecordReader( sample );
+		final SeqRecordWriter writer = new SeqRecordWriter( muxFile, true );
 		try {
-			reader = BioLockJUtil.getFileReader( sample );
-			writer = new BufferedWriter( new FileWriter( muxFile, true ) );
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				seqLines.add( line );
-				if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) // full read
-				{
-					writer.write( getHeader( sample, seqLines ) + RETURN );
-					for( int i = 1; i < seqLines.size(); i++ )
-						writer.write( seqLines.get( i ) + RETURN );
-					seqLines.clear();
-				}
-			}
+			for( SeqRecord read = reader.next(); read != null; read = reader.next() )
+				writer.write( read, getHeader( sample, read ) );
 		} finally {
-			if( writer != null ) writer.close();
-			if( reader != null ) reader.close();
+			writer.close();
+			reader.close();
+			MetricsUtil.addRecords( reader.getNumRecords() );
 		}
 	}
 
@@ -206,31 +191,10 @@ public class Multiplexer extends JavaModuleImpl implements SeqModule, ApiModule
 			"All other BioLockJ modules require demultiplexed data." );
 	}
 
-	private void compressData() throws Exception {
-		for( final String path: this.muxFiles ) {
-			FileInputStream fis = null;
-			FileOutputStream fos = null;
-			GZIPOutputStream gzipOS = null;
-			try {
-				fis = new FileInputStream( path );
-				fos = new FileOutputStream( path + Constants.GZIP_EXT );
-				gzipOS = new GZIPOutputStream( fos );
-				final byte[] buffer = new byte[ 1024 ];
-				int len;
-				while( ( len = fis.read( buffer ) ) != -1 )
-					gzipOS.write( buffer, 0, len );
-			} finally {
-				if( gzipOS != null ) gzipOS.close();
-				if( fos != null ) fos.close();
-				if( fis != null ) fis.close();
-			}
-		}
-	}
-
 	private String getMutliplexeFileName( final File file ) throws Exception {
 		final String path = getOutputDir().getAbsolutePath() + File.separator + Config.pipelineName() +
-			SeqUtil.getReadDirectionSuffix( file ) + "." + SeqUtil.getSeqType();
-		this.muxFiles.add( path );
+			SeqUtil.getReadDirectionSuffix( file ) + "." + SeqUtil.getSeqType() +
+			( Config.getBoolean( this, DO_GZIP ) ? Constants.GZIP_EXT: "" );
 		return path;
 	}
 
@@ -259,13 +223,7 @@ public class Multiplexer extends JavaModuleImpl implements SeqModule, ApiModule
 		return numReads;
 	}
 
-	private void removeDecompressedFiles() {
-		for( final String path: this.muxFiles )
-			new File( path ).delete();
-	}
-
 	private final Map<String, Long> fwMap = new HashMap<>();
-	private final Set<String> muxFiles = new HashSet<>();
 	private int rcCount = 0;
 	private final Map<String, Long> rvMap = new HashMap<>();
 	private long totalNumFwReads = 0L;
@@ -13,7 +13,7 @@ package biolockj.module.seq;
 
 import java.io.*;
 import java.util.*;
-import java.util.stream.LongStream;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.lang.math.NumberUtils;
 import biolockj.*;
 import biolockj.Properties;
@@ -114,55 +114,45 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 		Log.info( getClass(), "Base #Reads based on: " + RegisterNumReads.getNumReadFieldName() );
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
 		final List<File> files = getInputFiles();
-		for( int i = 0; i < files.size(); i++ ) {
-			final File f = files.get( i );
-			rarefy( f );
+		final AtomicInteger numDone = new AtomicInteger();
+		processFiles( files, this::rarefy, ( f, numReads ) -> {
+			if( numReads != null ) this.readsPerSample.put( SeqUtil.getSampleId( f.getName() ), numReads.toString() );
+			final int i = numDone.getAndIncrement();
 			if( i % 25 == 0 || i + 1 == files.size() )
 				Log.info( getClass(), "Done rarefying " + i + "/" + files.size() + " files." );
-		}
-
+		} );
 	}
 
 	/**
-	 * Build the rarefied file for the input file, keeping only the given indexes
+	 * Build the rarefied file for the input file, keeping only the given reads. The file is read once, 1 read at a
+	 * time, moving through the sorted indexes as the matching reads are found.
 	 *
 	 * @param input Sequence file
-	 * @param indexes List of indexes to keep
+	 * @param indexes Sorted indexes (0-based) of the reads to keep
 	 * @throws Exception if unable to build rarefied file
 	 */
-	protected void buildRarefiedFile( final File input, final List<Long> indexes ) throws Exception {
-		Log.info( getClass(), "Rarefy [#index=" + indexes.size() + "]: " + input.getAbsolutePath() );
-		Log.debug( getClass(), "indexes: " + BioLockJUtil.getCollectionAsString( indexes ) );
+	protected void buildRarefiedFile( final File input, final long[] indexes ) throws Exception {
+		Log.info( getClass(), "Rarefy [#index=" + indexes.length + "]: " + input.getAbsolutePath() );
 		final String fileExt = "." + SeqUtil.getSeqType();
 		final String name =
 			getOutputDir().getAbsolutePath() + File.separator + SeqUtil.getSampleId( input.getName() ) + fileExt;
 		final File output = new File( name );
-		final BufferedReader reader = BioLockJUtil.getFileReader( input );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( output ) );
+		final SeqRecordReader reader = new SeqRecordReader( input );
+		final SeqRecordWriter writer = new SeqRecordWriter( output );
 		Log.info( getClass(),
 			"Building file [#lines/read=" + SeqUtil.getNumLinesPerRead() + "]: " + output.getAbsolutePath() );
 
 		try {
-			long index = 0;
-			int i = 0;
-			final Set<Long> usedIndexes = new HashSet<>();
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				if( indexes.contains( index ) ) {
-					if( !usedIndexes.contains( index ) ) Log.debug( getClass(), "Add to usedIndexes: " + index );
-					usedIndexes.add( index );
-					writer.write( line + RETURN );
+			int next = 0;
+			for( SeqRecord read = reader.next(); read != null && next < indexes.length; read = reader.next() )
+				if( reader.getNumRecords() - 1 == indexes[ next ] ) {
+					writer.write( read );
+					next++;
 				}
+			MetricsUtil.addRecords( reader.getNumRecords() );
 
-				if( ++i % SeqUtil.getNumLinesPerRead() == 0 ) index++;
-			}
-
-			this.readsPerSample.put( SeqUtil.getSampleId( input.getName() ), Integer.toString( indexes.size() ) );
-
-			if( !usedIndexes.containsAll( indexes ) ) {
-				indexes.removeAll( usedIndexes );
-				throw new Exception(
-					"Error occurred rarefying indexes for: " + input.getAbsolutePath() + " ---> " + indexes );
-			}
+			if( next < indexes.length ) throw new Exception( "Error occurred rarefying indexes for: " +
+				input.getAbsolutePath() + " ---> file ends before read #" + indexes[ next ] );
 		} finally {
 			reader.close();
 			writer.close();
@@ -173,39 +163,55 @@ public class RarefySeqs extends JavaModuleImpl implements SeqModule, ApiModule {
 	 * Builds the rarefied file if too many seqs found, or adds files with too few samples to the list of bad samples.
 	 *
 	 * @param seqFile Sequence file to rarefy
+	 * @return Number of reads in the rarefied file, or null if the sample was removed
 	 * @throws Exception if processing errors occur
 	 */
-	protected void rarefy( final File seqFile ) throws Exception {
+	protected Integer rarefy( final File seqFile ) throws Exception {
 		final Integer maxConfig = Config.getNonNegativeInteger( this, INPUT_RAREFYING_MAX );
 		final Integer minConfig = Config.getNonNegativeInteger( this, INPUT_RAREFYING_MIN );
-		Long max = 0L;
-		Long min = minConfig.longValue();
+		final long min = minConfig == null ? 0L: minConfig.longValue();
 		final String sampleId = SeqUtil.getSampleId( seqFile.getName() );
-		final long numReads = getCount( sampleId, RegisterNumReads.getNumReadFieldName() );
+		Long numReads = getCount( sampleId, RegisterNumReads.getNumReadFieldName() );
+		if( numReads == null ) {
+			Log.warn( getClass(), "Missing " + RegisterNumReads.getNumReadFieldName() + " for sample [" + sampleId +
+				"] - counting reads in: " + seqFile.getAbsolutePath() );
+			numReads = SeqUtil.countNumReads( seqFile );
+		}
 
-		if( maxConfig != null ) max = numReads < maxConfig.longValue() ? numReads: maxConfig.longValue();
+		final long max = maxConfig == null ? numReads: Math.min( numReads, maxConfig.longValue() );
 
 		Log.debug( getClass(), "min = " + min );
 		Log.debug( getClass(), "max = " + max );
 		Log.debug( getClass(), "numReads = " + numReads );
 		if( numReads >= min ) {
-			final long[] range = LongStream.rangeClosed( 0, numReads - 1 ).toArray();
-			Log.debug( getClass(), "range.length = " + range.length );
-			final List<Long> indexes = new ArrayList<>();
-			Collections.addAll( indexes, Arrays.stream( range ).boxed().toArray( Long[]::new ) );
-
-			Log.debug( getClass(), "Sample #indexes size #1 -->  [" + indexes.size() + "]" );
-
-			Collections.shuffle( indexes, getRandomSeed() );
-			indexes.subList( max.intValue(), indexes.size() ).clear();
-
-			Log.debug( getClass(), "Sample #indexes size  #2 -->  [" + indexes.size() + "]" );
-
+			final long[] indexes = selectIndexes( numReads, (int) max, getRandomSeed() );
 			buildRarefiedFile( seqFile, indexes );
-		} else Log.info( getClass(),
+			return indexes.length;
+		}
+
+		Log.info( getClass(),
 			"Remove sample [" + sampleId + "] - contains (" + numReads +
-				") reads, which is less than minimum # reads (" +
-				Config.getNonNegativeInteger( this, INPUT_RAREFYING_MIN ) + ")" );
+				") reads, which is less than minimum # reads (" + min + ")" );
+		return null;
+	}
+
+	/**
+	 * Randomly select numKeep of the read indexes 0 to numReads - 1 with selection sampling (Knuth, TAOCP Vol 2,
+	 * Algorithm S). Each index is kept with probability (#still needed)/(#still unseen), so every subset of size numKeep
+	 * is equally likely. The indexes are selected in ascending order, so no sort or boxed list is needed.
+	 *
+	 * @param numReads Number of reads in the file
+	 * @param numKeep Number of reads to keep
+	 * @param random Random number generator, seeded by {@link biolockj.Config}.{@value biolockj.Constants#SET_SEED}
+	 * if defined
+	 * @return Sorted array of the selected indexes
+	 */
+	public static long[] selectIndexes( final long numReads, final int numKeep, final Random random ) {
+		final long[] indexes = new long[ numKeep ];
+		int numSelected = 0;
+		for( long i = 0L; numSelected < numKeep; i++ )
+			if( ( numReads - i ) * random.nextDouble() < numKeep - numSelected ) indexes[ numSelected++ ] = i;
+		return indexes;
 	}
 
 	private String getMetaColName() throws Exception {
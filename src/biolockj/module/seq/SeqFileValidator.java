@@ -13,6 +13,7 @@ package biolockj.module.seq;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import biolockj.Config;
 import biolockj.Log;
 import biolockj.Properties;
@@ -107,7 +108,7 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 
 	/**
 	 * Cache sampleIds to compare to validated sampleIds post-processing. Call {@link #validateFile(File, Integer)} for
-	 * each input file.<br>
+	 * each input file, in parallel, and add each result to the module stats.<br>
 	 * Call {@link #removeBadFiles()} to remove empty files (cases where all reads fail validation).<br>
 	 * Call {@link #verifyPairedSeqs()} if module input files are paired read files.<br>
 	 * Call {@link biolockj.util.MetaUtil#addColumn(String, Map, File, boolean)}
@@ -115,9 +116,8 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 	@Override
 	public void runModule() throws Exception {
 		this.sampleIds.addAll( MetaUtil.getSampleIds() );
-		int count = 0;
-		for( final File file: getInputFiles() )
-			validateFile( file, count++ );
+		final AtomicInteger count = new AtomicInteger();
+		processFiles( getInputFiles(), file -> validateFile( file, count.getAndIncrement() ), this::addResult );
 
 		removeBadFiles();
 
@@ -142,100 +142,113 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 	 * <li>Remove reads below minimum threshold: {@value #INPUT_SEQ_MIN}
 	 * <li>Trim reads if above the maximum threshold: {@value #INPUT_SEQ_MAX}
 	 * </ol>
-	 * Invalid reads are saved to a file in the module temp directory for analysis/review.
+	 * Invalid reads are saved to a file in the module temp directory for analysis/review.<br>
+	 * This method may run on several files at once, so it only returns the file stats, which are added to the module
+	 * stats by {@link #addResult(File, ValidatedFile)}.
 	 *
 	 * @param file Sequence file
 	 * @param fileCount Integer count
+	 * @return Validation result
 	 * @throws Exception if I/O errors occur while processing sequence files
 	 */
-	protected void validateFile( final File file, final Integer fileCount ) throws Exception {
+	protected ValidatedFile validateFile( final File file, final Integer fileCount ) throws Exception {
 		Log.info( getClass(), "Validate File [" + fileCount + "]: " + file.getAbsolutePath() );
-		final Long[] stats = initStats();
-		long combinedReadLen = 0;
-		int seqNum = 0;
+		final ValidatedFile result = new ValidatedFile();
+		final Long[] stats = result.stats;
+		final Integer seqMax = Config.getPositiveInteger( this, INPUT_SEQ_MAX );
+		final int seqMin = minReadLen();
+		final boolean isFastQ = SeqUtil.isFastQ();
+		final List<String> headerChars = SeqUtil.getSeqHeaderChars();
+		final String validHeaderChars = String.join( "", headerChars );
 
-		final List<String> seqLines = new ArrayList<>();
-		final List<String> badLines = new ArrayList<>();
 		final File outputFile = new File( getFileName( getOutputDir(), file.getName() ) );
-		final BufferedReader reader = BioLockJUtil.getFileReader( file );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( outputFile ) );
+		final File invalidFile = new File( getFileName( getTempDir(), "INVALID_READS_" + file.getName() ) );
+		final SeqRecordReader reader = new SeqRecordReader( file );
+		final SeqRecordWriter writer = new SeqRecordWriter( outputFile );
+		SeqRecordWriter invalidWriter = null;
 		try {
-			String line = null;
-
-			try {
-				line = SeqUtil.scanFirstLine( reader, file );
-			} catch( final Exception ex ) {
-				this.badFiles.add( outputFile );
-				Log.debug( getClass(), "Error scanning input file: " + ex.getMessage() );
-				return;
-			}
+			for( SeqRecord read = reader.next(); read != null; read = reader.next() ) {
+				final long seqNum = reader.getNumRecords();
+				final int seqLen = read.length( SeqRecord.SEQ );
+				String invalidMsg = null;
+				if( read.length( SeqRecord.HEADER ) == 0 ) Log.warn( getClass(), "Sequence #" + seqNum +
+					" has an empty header & seq len = " + seqLen + " in ---> " + file.getAbsolutePath() );
+
+				if( validHeaderChars.indexOf( read.getHeaderChar() ) == -1 ) {
+					stats[ INDEX_NUM_READS_INVALID_FORMAT ]++;
+					invalidMsg = "Sequence #" + seqNum + " format invalid.  Must begin with a valid header char (" +
+						headerChars + ")  --> header line = " + read.getHeader();
+				} else if( seqLen < seqMin ) {
+					stats[ INDEX_NUM_READS_TOO_SHORT ]++;
+					invalidMsg = "Sequence #" + seqNum + " format invalid.  Must have a minimum number of bases (" +
+						seqMin + ")  --> \n" + read.getHeader() + "\n" + read.getSeq();
+				} else if( isFastQ && seqLen != read.length( SeqRecord.QUAL ) ) {
+					stats[ INDEX_NUM_READS_INVALID_FORMAT ]++;
+					invalidMsg = "Sequence #" + seqNum + " fastq format invalid.  Must have equal " +
+						" number of bases and quality scores: " + read.getHeader();
+				}
 
-			do {
-				seqLines.add( line.trim() );
-				if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) {
-					seqNum++;
-					final int headerLen = seqLines.get( 0 ).length();
-					final int seqLen = seqLines.get( 1 ).length();
-					String headerChar = "";
-					if( headerLen == 0 ) Log.warn( getClass(), "Sequence #" + seqNum +
-						" has an empty header & seq len = " + seqLen + " in ---> " + file.getAbsolutePath() );
-					else headerChar = seqLines.get( 0 ).substring( 0, 1 );
-
-					if( !SeqUtil.getSeqHeaderChars().contains( headerChar ) ) {
-						stats[ INDEX_NUM_READS_INVALID_FORMAT ]++;
-						badLines.addAll( seqLines );
-						Log.warn( getClass(),
-							"Sequence #" + seqNum + " format invalid.  Must begin with a valid header char (" +
-								SeqUtil.getSeqHeaderChars() + ")  --> header line = " + seqLines.get( 0 ) );
-					} else if( seqLen < minReadLen() ) {
-						stats[ INDEX_NUM_READS_TOO_SHORT ]++;
-						badLines.addAll( seqLines );
-						Log.warn( getClass(),
-							"Sequence #" + seqNum + " format invalid.  Must have a minimum number of bases (" +
-								minReadLen() + ")  --> \n" + seqLines.get( 0 ) + "\n" + seqLines.get( 1 ) );
-					} else if( SeqUtil.isFastQ() && seqLen != seqLines.get( 3 ).length() ) {
-						stats[ INDEX_NUM_READS_INVALID_FORMAT ]++;
-						badLines.addAll( seqLines );
-						Log.warn( getClass(), "Sequence #" + seqNum + " fastq format invalid.  Must have equal " +
-							" number of bases and quality scores: " + seqLines.get( 0 ) );
-					} else {
-						stats[ INDEX_NUM_VALID_READS ]++;
-						setMaxSeq( SeqUtil.getSampleId( file.getName() ), seqLen );
-						final Integer seqMax = Config.getPositiveInteger( this, INPUT_SEQ_MAX );
-						if( seqMax != null && seqMax > 0 && seqLen > seqMax ) {
-							stats[ INDEX_NUM_TRIMMED_READS ]++;
-							seqLines.set( 1, seqLines.get( 1 ).substring( 0, seqMax ) );
-							if( SeqUtil.isFastQ() ) seqLines.set( 3, seqLines.get( 3 ).substring( 0, seqMax ) );
-						}
-
-						final long readLen = seqLines.get( 1 ).length();
-						combinedReadLen += readLen;
-
-						if( readLen > 0 && stats[ INDEX_MIN_READS ] == 0 || readLen < stats[ INDEX_MIN_READS ] )
-							stats[ INDEX_MIN_READS ] = readLen;
-						if( readLen > stats[ INDEX_MAX_READS ] ) stats[ INDEX_MAX_READS ] = readLen;
-
-						for( final String seqLine: seqLines )
-							writer.write( seqLine + RETURN );
+				if( invalidMsg != null ) {
+					Log.warn( getClass(), invalidMsg );
+					if( invalidWriter == null ) {
+						Log.warn( getClass(), "Extracting invalid reads to --> " + invalidFile.getAbsolutePath() );
+						invalidWriter = new SeqRecordWriter( invalidFile );
 					}
+					invalidWriter.write( read );
+					continue;
+				}
 
-					seqLines.clear();
+				stats[ INDEX_NUM_VALID_READS ]++;
+				result.maxSeqLen = Math.max( result.maxSeqLen, seqLen );
+				if( seqMax != null && seqMax > 0 && seqLen > seqMax ) {
+					stats[ INDEX_NUM_TRIMMED_READS ]++;
+					read.truncate( seqMax );
 				}
 
-				line = reader.readLine();
-			} while( line != null );
+				final long readLen = read.length( SeqRecord.SEQ );
+				result.combinedReadLen += readLen;
+
+				if( readLen > 0 && stats[ INDEX_MIN_READS ] == 0 || readLen < stats[ INDEX_MIN_READS ] )
+					stats[ INDEX_MIN_READS ] = readLen;
+				if( readLen > stats[ INDEX_MAX_READS ] ) stats[ INDEX_MAX_READS ] = readLen;
+
+				writer.write( read );
+			}
 		} finally {
 			writer.close();
-			if( reader != null ) reader.close();
+			reader.close();
+			if( invalidWriter != null ) invalidWriter.close();
+			MetricsUtil.addRecords( reader.getNumRecords() );
 		}
+
+		if( reader.getNumRecords() == 0 ) {
+			Log.debug( getClass(), "Input dir contains empty file: " + file.getAbsolutePath() );
+			result.badFile = outputFile;
+			return result;
+		}
+
 		Log.info( BioLockJUtil.class, "Output file: " + outputFile.getAbsolutePath() );
+		if( stats[ INDEX_NUM_VALID_READS ] == 0 ) result.badFile = file;
 
-		if( stats[ INDEX_NUM_VALID_READS ] == 0 ) this.badFiles.add( file );
+		return result;
+	}
 
-		if( !this.badFiles.contains( file ) ) {
-			saveRemovedSeqsToFile( badLines, file );
-			populateSampleStats( stats, file, combinedReadLen );
+	/**
+	 * Add the validation result of a single file to the module stats. Called on the module thread in input file
+	 * order.
+	 *
+	 * @param file Sequence file
+	 * @param result Validation result
+	 * @throws Exception if unable to update the stats
+	 */
+	protected void addResult( final File file, final ValidatedFile result ) throws Exception {
+		if( result.badFile != null ) {
+			this.badFiles.add( result.badFile );
+			return;
 		}
+
+		setMaxSeq( SeqUtil.getSampleId( file.getName() ), result.maxSeqLen );
+		populateSampleStats( result.stats, file, result.combinedReadLen );
 	}
 
 	/**
@@ -396,20 +409,6 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 		this.sampleStats.put( SeqUtil.getSampleId( file.getName() ), stats );
 	}
 
-	private void saveRemovedSeqsToFile( final Collection<String> badLines, final File file ) throws Exception {
-		if( !badLines.isEmpty() ) {
-			final File tempFile = new File( getFileName( getTempDir(), "INVALID_READS_" + file.getName() ) );
-			Log.warn( getClass(), "Extracting invalid reads to --> " + tempFile.getAbsolutePath() );
-			final BufferedWriter invalidWriter = new BufferedWriter( new FileWriter( tempFile ) );
-			try {
-				for( final String seqLine: badLines )
-					invalidWriter.write( seqLine + RETURN );
-			} finally {
-				invalidWriter.close();
-			}
-		}
-	}
-
 	private void setMaxSeq( final String sampleId, final long seqLen ) {
 		final TreeSet<String> ids = new TreeSet<>();
 		ids.add( sampleId );
@@ -445,6 +444,16 @@ public class SeqFileValidator extends JavaModuleImpl implements SeqModule, ApiMo
 		return stats;
 	}
 
+	/**
+	 * Stats for a single validated sequence file.
+	 */
+	protected static class ValidatedFile {
+		private File badFile = null;
+		private long combinedReadLen = 0L;
+		private long maxSeqLen = 0L;
+		private final Long[] stats = initStats();
+	}
+
 	private Set<File> badFiles = new HashSet<>();
 	private final Map<Long, TreeSet<String>> maxSeqFound = new HashMap<>();
 	private String otuColName = null;
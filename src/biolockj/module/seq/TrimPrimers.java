@@ -14,6 +14,7 @@ package biolockj.module.seq;
 import java.io.*;
 import java.text.DecimalFormat;
 import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.ApiModule;
@@ -36,6 +37,7 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		super();
 		addNewProperty( INPUT_TRIM_SEQ_FILE, Properties.FILE_PATH, "file path to file containing one primer sequence per line." );
 		addNewProperty( INPUT_REQUIRE_PRIMER, Properties.BOOLEAN_TYPE, "Options: Y/N. If Y, TrimPrimers will discard reads that do not include a primer sequence." );
+		addNewProperty( INPUT_MAX_MISMATCHES, Properties.INTEGER_TYPE, "maximum number of mismatched bases allowed when matching a primer made of IUPAC bases; default 0" );
 	}
 
 	/**
@@ -53,6 +55,7 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		super.checkDependencies();
 		if( DockerUtil.inDockerEnv() ) Config.requireString( null, INPUT_TRIM_SEQ_FILE );
 		else Config.requireExistingFile( null, INPUT_TRIM_SEQ_FILE );
+		Config.getNonNegativeInteger( this, INPUT_MAX_MISMATCHES );
 	}
 
 	/**
@@ -273,15 +276,18 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 	/**
 	 * Get the primers listed in the {@value biolockj.Constants#INPUT_TRIM_SEQ_FILE}. If a merged fw primer (starting
 	 * with ^) and a merged rv primer (ending with $) are found set mergedReadTwoPrimers = true to enforce reads must
-	 * have both primers if discarding reads without valid primers
+	 * have both primers if discarding reads without valid primers. Each primer is compiled once into a
+	 * {@link biolockj.util.PrimerMatcher} allowing up to {@value #INPUT_MAX_MISMATCHES} mismatches.
 	 *
-	 * @return Set of primers
+	 * @return Primer matchers, in the order listed in the file
 	 * @throws Exception if unable to read the file
 	 */
-	protected Set<String> getPrimers() throws Exception {
+	protected List<PrimerMatcher> getPrimers() throws Exception {
 		boolean fwMergePrimerFound = false;
 		boolean rvMergePrimerFound = false;
-		final Set<String> primers = new HashSet<>();
+		final Integer maxMismatches = Config.getNonNegativeInteger( this, INPUT_MAX_MISMATCHES );
+		final Set<String> regexSeqs = new HashSet<>();
+		final List<PrimerMatcher> primers = new ArrayList<>();
 		final File trimSeqFile = getSeqPrimerFile();
 		final BufferedReader reader = BioLockJUtil.getFileReader( trimSeqFile );
 		try {
@@ -309,7 +315,8 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 							"INVALID PRIMER!  Primers must start with \"^\" or end with \"$\"  Update primer file: " +
 								trimSeqFile.getAbsolutePath() );
 
-						primers.add( regexSeq );
+						if( regexSeqs.add( regexSeq ) )
+							primers.add( new PrimerMatcher( regexSeq, maxMismatches == null ? 0: maxMismatches ) );
 
 					}
 				}
@@ -340,31 +347,30 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 			SeqUtil.getReadDirectionSuffix( file ) + "." + SeqUtil.getSeqType();
 	}
 
-	private Set<String> getValidHeaders( final File file, final Set<String> primers ) throws Exception {
+	private Set<String> getValidHeaders( final File file, final List<PrimerMatcher> primers ) throws Exception {
 		final Set<String> validHeaders = new HashSet<>();
-		final BufferedReader reader = BioLockJUtil.getFileReader( file );
-		int lineCounter = 1;
-		String header = null;
+		final SeqRecordReader reader = new SeqRecordReader( file );
 		try {
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				line = line.trim();
-				if( lineCounter % SeqUtil.getNumLinesPerRead() == 1 ) header = SeqUtil.getHeader( line );
-				else if( lineCounter % SeqUtil.getNumLinesPerRead() == 2 ) {
-					boolean foundHeader = false;
-					for( final String seq: primers ) {
-						final int seqLength = line.length();
-						line = line.replaceFirst( seq, "" );
-						if( seqLength != line.length() ) foundHeader = true;
+			for( SeqRecord read = reader.next(); read != null; read = reader.next() ) {
+				int from = 0;
+				int to = read.length( SeqRecord.SEQ );
+				boolean foundHeader = false;
+				for( final PrimerMatcher primer: primers ) {
+					final int len = primer.match( read, from, to );
+					if( len > 0 ) {
+						if( primer.isForward() ) from += len;
+						else to -= len;
+						foundHeader = true;
 					}
+				}
 
-					if( foundHeader ) {
-						if( validHeaders.contains( header ) )
-							throw new Exception( "NON-FATAL Exception: Duplicate header: " + header );
+				if( foundHeader ) {
+					final String header = SeqUtil.getHeader( read.getHeader() );
+					if( validHeaders.contains( header ) )
+						throw new Exception( "NON-FATAL Exception: Duplicate header: " + header );
 
-						validHeaders.add( header );
-					}
+					validHeaders.add( header );
 				}
-				lineCounter++;
 			}
 
 			Log.info( getClass(), file.getName() + " # valid headers = " + validHeaders.size() );
@@ -407,138 +413,216 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		else if( this.mergedReadTwoPrimers ) Log.warn( getClass(), "TrimPrimers # " + reportLabel + " = 0" );
 	}
 
-	private void processFile( final File file, final Set<String> primers ) throws Exception {
-		processFile( file, new HashSet<>(), primers );
+	private void addResult( final File file, final TrimResult result ) {
+		this.seqs.add( file );
+		if( !SeqUtil.isForwardRead( file.getName() ) ) this.foundPaired = true;
+		if( !result.missingBothPrimers.isEmpty() )
+			this.missingBothPrimers.put( file.getName(), result.missingBothPrimers );
+		if( !result.missingFwPrimers.isEmpty() ) this.missingFwPrimers.put( file.getName(), result.missingFwPrimers );
+		if( !result.missingRvPrimers.isEmpty() ) this.missingRvPrimers.put( file.getName(), result.missingRvPrimers );
+		if( result.numLinesNoPrimer > 0 ) this.numLinesNoPrimer.put( file.getAbsolutePath(), result.numLinesNoPrimer );
+		if( result.numLinesWithPrimer > 0 )
+			this.numLinesWithPrimer.put( file.getAbsolutePath(), result.numLinesWithPrimer );
+		if( result.numTrimmed > 0 ) this.seqsWithPrimersTrimmed.put( file, result.numTrimmed );
+		MetricsUtil.addRecords( result.numLinesNoPrimer + result.numLinesWithPrimer );
+	}
+
+	private TrimResult processFile( final File file, final List<PrimerMatcher> primers ) throws Exception {
+		return processFile( file, new HashSet<>(), primers );
 	}
 
-	private void processFile( final File file, final Set<String> validHeaders, final Set<String> primers )
+	private TrimResult processFile( final File file, final Set<String> validHeaders, final List<PrimerMatcher> primers )
 		throws Exception {
 		Log.info( getClass(), "Processing file = " + file.getAbsolutePath() );
-		this.seqs.add( file );
-
-		if( !SeqUtil.isForwardRead( file.getName() ) ) this.foundPaired = true;
-
+		final TrimResult result = new TrimResult();
 		final File trimmedFile = new File( getTrimFilePath( file ) );
 		Log.info( getClass(), "Create trimmed file = " + trimmedFile.getAbsolutePath() );
 
-		final BufferedReader reader = BioLockJUtil.getFileReader( file );
-		final BufferedWriter writer = new BufferedWriter( new FileWriter( trimmedFile ) );
+		final boolean requirePrimer = Config.getBoolean( this, INPUT_REQUIRE_PRIMER );
+		final boolean hasPairedReads = SeqUtil.hasPairedReads();
+		final SeqRecordReader reader = new SeqRecordReader( file );
+		final SeqRecordWriter writer = new SeqRecordWriter( trimmedFile );
 		try {
-			int fwPrimerLength = 0;
-			int rvPrimerLength = 0;
-			final List<String> seqLines = new ArrayList<>();
-			boolean found = false;
+			for( SeqRecord read = reader.next(); read != null; read = reader.next() ) {
+				final boolean found = trimRead( read, primers, result );
+				final boolean validRecord =
+					found && ( hasPairedReads ? validHeaders.contains( SeqUtil.getHeader( read.getHeader() ) ): true );
+
+				if( !requirePrimer || validRecord ) {
+					result.numTrimmed++;
+					writer.write( read );
+				}
+			}
+		} catch( final Exception ex ) {
+			Log.error( getClass(), "Error removing primers from file = " + file.getAbsolutePath(), ex );
+		} finally {
+			reader.close();
+			writer.close();
+		}
 
-			String origSequence = "";
-			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
-				if( seqLines.size() == 1 ) {
-					origSequence = line;
-					found = false;
-					for( final String seq: primers )
-						if( line.replaceFirst( seq, "" ).length() != line.length() ) {
-							if( seq.startsWith( "^" ) ) {
-								if( fwPrimerLength != 0 ) throw new Exception(
-									"INVALID SEQ!  Read contains 2 forward primers!  " + origSequence );
-
-								fwPrimerLength = line.length() - line.replaceFirst( seq, "" ).length();
-							} else if( seq.endsWith( "$" ) ) {
-								if( rvPrimerLength != 0 ) throw new Exception(
-									"INVALID SEQ!  Read contains 2 reverse primers!  " + origSequence );
-
-								rvPrimerLength = line.length() - line.replaceFirst( seq, "" ).length();
-							} else throw new Exception(
-								"INVALID PRIMER!  Primers must start with \"^\" or end with \"$\"" );
-
-							line = line.replaceFirst( seq, "" );
-
-							if( this.mergedReadTwoPrimers && fwPrimerLength < 1 && rvPrimerLength < 1 ) {
-								// Log.warn( getClass(), "Read missing BOTH primers " + origSequence );
-								if( this.missingBothPrimers.get( file.getName() ) == null ) {
-									final Map<String, String> m = new HashMap<>();
-									m.put( seqLines.get( 0 ), origSequence );
-									this.missingBothPrimers.put( file.getName(), m );
-								} else this.missingBothPrimers.get( file.getName() ).put( seqLines.get( 0 ),
-									origSequence );
-							} else if( this.mergedReadTwoPrimers && fwPrimerLength < 1 ) {
-								Log.debug( getClass(), "Read missing forward primer " + origSequence );
-								if( this.missingFwPrimers.get( file.getName() ) == null ) {
-									final Map<String, String> m = new HashMap<>();
-									m.put( seqLines.get( 0 ), origSequence );
-									this.missingFwPrimers.put( file.getName(), m );
-								} else
-									this.missingFwPrimers.get( file.getName() ).put( seqLines.get( 0 ), origSequence );
-
-							} else if( this.mergedReadTwoPrimers && rvPrimerLength < 1 ) {
-								Log.debug( getClass(), "Read missing reverse primer " + origSequence );
-								if( this.missingRvPrimers.get( file.getName() ) == null ) {
-									final Map<String, String> m = new HashMap<>();
-									m.put( seqLines.get( 0 ), origSequence );
-									this.missingRvPrimers.put( file.getName(), m );
-								} else
-									this.missingRvPrimers.get( file.getName() ).put( seqLines.get( 0 ), origSequence );
-							} else found = true;
-						}
+		return result;
+	}
 
-					if( found ) {
-						final Long x = this.numLinesWithPrimer.get( file.getAbsolutePath() );
-						this.numLinesWithPrimer.put( file.getAbsolutePath(), x == null ? 1L: x + 1L );
-					} else {
-						final Long x = this.numLinesNoPrimer.get( file.getAbsolutePath() );
-						this.numLinesNoPrimer.put( file.getAbsolutePath(), x == null ? 1L: x + 1L );
-					}
-				} else if( seqLines.size() == 3 ) {
-					if( fwPrimerLength > 0 ) line = line.substring( fwPrimerLength );
-					if( rvPrimerLength > 0 ) line = line.substring( 0, line.length() - rvPrimerLength );
+	/**
+	 * Trim a pair of files in 1 pass, reading forward and reverse read N together. A pair is kept only if both reads
+	 * have a primer (unless {@value #INPUT_REQUIRE_PRIMER}={@value biolockj.Constants#FALSE}) and both trimmed reads
+	 * are written together.
+	 *
+	 * @param fwFile Forward read file
+	 * @param rvFile Reverse read file
+	 * @param primers Primer matchers
+	 * @return Results for both files, or null if the files are not in the same read order
+	 * @throws Exception if unable to read or write the files
+	 */
+	private Map<File, TrimResult> processPair( final File fwFile, final File rvFile, final List<PrimerMatcher> primers )
+		throws Exception {
+		Log.info( getClass(), "Processing paired files = " + fwFile.getAbsolutePath() + " & " + rvFile.getAbsolutePath() );
+		final TrimResult fwResult = new TrimResult();
+		final TrimResult rvResult = new TrimResult();
+		final boolean requirePrimer = Config.getBoolean( this, INPUT_REQUIRE_PRIMER );
+		final SeqRecordReader fwReader = new SeqRecordReader( fwFile );
+		final SeqRecordReader rvReader = new SeqRecordReader( rvFile );
+		final SeqRecordWriter fwWriter = new SeqRecordWriter( new File( getTrimFilePath( fwFile ) ) );
+		final SeqRecordWriter rvWriter = new SeqRecordWriter( new File( getTrimFilePath( rvFile ) ) );
+		try {
+			while( true ) {
+				final SeqRecord fw = fwReader.next();
+				final SeqRecord rv = rvReader.next();
+				if( fw == null && rv == null ) break;
+				if( fw == null || rv == null || !fw.headerEquals( rv ) ) {
+					Log.warn( getClass(), "Paired files are not synchronized at read #" +
+						Math.max( fwReader.getNumRecords(), rvReader.getNumRecords() ) + ": " + fwFile.getName() +
+						" & " + rvFile.getName() + " --> match reads by header" );
+					return null;
 				}
 
-				seqLines.add( line );
+				final boolean fwFound = trimRead( fw, primers, fwResult );
+				final boolean rvFound = trimRead( rv, primers, rvResult );
+				if( !requirePrimer || fwFound && rvFound ) {
+					fwResult.numTrimmed++;
+					rvResult.numTrimmed++;
+					fwWriter.write( fw );
+					rvWriter.write( rv );
+				}
+			}
+		} catch( final Exception ex ) {
+			throw new Exception( "Error removing primers from paired files = " + fwFile.getAbsolutePath() + " & " +
+				rvFile.getAbsolutePath() + ": " + ex.getMessage(), ex );
+		} finally {
+			fwReader.close();
+			rvReader.close();
+			fwWriter.close();
+			rvWriter.close();
+		}
 
-				if( seqLines.size() == SeqUtil.getNumLinesPerRead() ) {
-					final boolean validRecord =
-						found && ( SeqUtil.hasPairedReads() ? validHeaders.contains( seqLines.get( 0 ) ): true );
+		final Map<File, TrimResult> results = new LinkedHashMap<>();
+		results.put( fwFile, fwResult );
+		results.put( rvFile, rvResult );
+		return results;
+	}
 
-					if( !Config.getBoolean( this, INPUT_REQUIRE_PRIMER ) || validRecord ) {
-						final Long x = this.seqsWithPrimersTrimmed.get( file );
-						this.seqsWithPrimersTrimmed.put( file, x == null ? 1L: x + 1L );
+	/**
+	 * Trim a pair of files that are not in the same read order. Both files are read to find the headers of reads with
+	 * a primer, then each file is trimmed keeping only the reads whose mate also has a primer.
+	 *
+	 * @param fwFile Forward read file
+	 * @param rvFile Reverse read file
+	 * @param primers Primer matchers
+	 * @return Results for both files
+	 * @throws Exception if unable to read or write the files
+	 */
+	private Map<File, TrimResult> processUnsyncedPair( final File fwFile, final File rvFile,
+		final List<PrimerMatcher> primers ) throws Exception {
+		final Set<String> validReads = getValidHeaders( fwFile, primers );
+		validReads.retainAll( getValidHeaders( rvFile, primers ) );
+		final Map<File, TrimResult> results = new LinkedHashMap<>();
+		results.put( fwFile, processFile( fwFile, validReads, primers ) );
+		results.put( rvFile, processFile( rvFile, validReads, primers ) );
+		return results;
+	}
 
-						for( int j = 0; j < SeqUtil.getNumLinesPerRead(); j++ )
-							writer.write( seqLines.get( j ) + RETURN );
-					}
-					fwPrimerLength = 0;
-					rvPrimerLength = 0;
-					seqLines.clear();
+	/**
+	 * Remove the primers from the read and update the primer counts.
+	 *
+	 * @param read Sequence read
+	 * @param primers Primer matchers
+	 * @param result Primer counts for the file
+	 * @return TRUE if the read has a valid primer
+	 * @throws Exception if the read has 2 forward or 2 reverse primers
+	 */
+	private boolean trimRead( final SeqRecord read, final List<PrimerMatcher> primers, final TrimResult result )
+		throws Exception {
+		final int seqLength = read.length( SeqRecord.SEQ );
+		int fwPrimerLength = 0;
+		int rvPrimerLength = 0;
+		boolean found = false;
+		for( final PrimerMatcher primer: primers ) {
+			final int len = primer.match( read, fwPrimerLength, seqLength - rvPrimerLength );
+			if( len > 0 ) {
+				if( primer.isForward() ) {
+					if( fwPrimerLength != 0 )
+						throw new Exception( "INVALID SEQ!  Read contains 2 forward primers!  " + read.getSeq() );
+
+					fwPrimerLength = len;
+				} else {
+					if( rvPrimerLength != 0 )
+						throw new Exception( "INVALID SEQ!  Read contains 2 reverse primers!  " + read.getSeq() );
+
+					rvPrimerLength = len;
 				}
+
+				if( this.mergedReadTwoPrimers && fwPrimerLength < 1 && rvPrimerLength < 1 ) {
+					// Log.warn( getClass(), "Read missing BOTH primers " + read.getSeq() );
+					result.missingBothPrimers.put( read.getHeader(), read.getSeq() );
+				} else if( this.mergedReadTwoPrimers && fwPrimerLength < 1 ) {
+					Log.debug( getClass(), "Read missing forward primer " + read.getSeq() );
+					result.missingFwPrimers.put( read.getHeader(), read.getSeq() );
+
+				} else if( this.mergedReadTwoPrimers && rvPrimerLength < 1 ) {
+					Log.debug( getClass(), "Read missing reverse primer " + read.getSeq() );
+					result.missingRvPrimers.put( read.getHeader(), read.getSeq() );
+				} else found = true;
 			}
-		} catch( final Exception ex ) {
-			Log.error( getClass(), "Error removing primers from file = " + file.getAbsolutePath(), ex );
-		} finally {
-			reader.close();
-			writer.close();
 		}
+
+		if( found ) result.numLinesWithPrimer++;
+		else result.numLinesNoPrimer++;
+
+		read.trim( fwPrimerLength, rvPrimerLength );
+		return found;
 	}
 
 	private void trimSeqs() throws Exception {
-		final Set<String> primers = getPrimers();
+		final List<PrimerMatcher> primers = getPrimers();
 		final boolean hasPairedReads = SeqUtil.hasPairedReads();
 		final Map<File, File> pairedReads = hasPairedReads ? SeqUtil.getPairedReads( getInputFiles() ): null;
 		final List<File> files = getFwReads( pairedReads );
 		if( files == null ) throw new Exception( "Failed to obtain input sequence files" );
 		final int count = files.size();
-		int i = 0;
+		final AtomicInteger numDone = new AtomicInteger();
 		Log.info( getClass(), "Trimming primers from " + ( hasPairedReads ? 2 * count: count ) + " files..." );
-		for( final File file: files ) {
-			final Set<String> validReads = getValidHeaders( file, primers );
-			if( pairedReads != null ) {
-				validReads.retainAll( getValidHeaders( pairedReads.get( file ), primers ) );
-				processFile( file, validReads, primers );
-				processFile( pairedReads.get( file ), validReads );
-			} else processFile( file, primers );
-
-			if( ( i++ + 1 ) % 25 == 0 ) Log.info( getClass(),
+		processFiles( files, file -> {
+			if( pairedReads == null ) {
+				final Map<File, TrimResult> results = new LinkedHashMap<>();
+				results.put( file, processFile( file, primers ) );
+				return results;
+			}
+
+			final File rvFile = pairedReads.get( file );
+			final Map<File, TrimResult> results = processPair( file, rvFile, primers );
+			if( results != null ) return results;
+			return processUnsyncedPair( file, rvFile, primers );
+		}, ( file, results ) -> {
+			for( final File f: results.keySet() )
+				addResult( f, results.get( f ) );
+
+			final int i = numDone.incrementAndGet();
+			if( i % 25 == 0 ) Log.info( getClass(),
 				"Done trimming " + i + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
-		}
+		} );
 
-		Log.info( getClass(), "Done trimming " + i + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
+		Log.info( getClass(),
+			"Done trimming " + numDone.get() + "/" + count + ( hasPairedReads ? " file pairs": " files" ) );
 
 		printReports( this.missingBothPrimers, "missingBothPrimers" );
 		printReports( this.missingFwPrimers, "missingFwPrimers" );
@@ -557,6 +641,18 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 		return Config.requireExistingFile( null, INPUT_TRIM_SEQ_FILE );
 	}
 
+	/**
+	 * Primer counts for a single trimmed sequence file.
+	 */
+	private static class TrimResult {
+		private final Map<String, String> missingBothPrimers = new HashMap<>();
+		private final Map<String, String> missingFwPrimers = new HashMap<>();
+		private final Map<String, String> missingRvPrimers = new HashMap<>();
+		private long numLinesNoPrimer = 0L;
+		private long numLinesWithPrimer = 0L;
+		private long numTrimmed = 0L;
+	}
+
 	private final DecimalFormat df = new DecimalFormat( "##.##" );
 	private boolean foundPaired = false;
 	private boolean mergedReadTwoPrimers = false;
@@ -586,6 +682,12 @@ public class TrimPrimers extends JavaModuleImpl implements SeqModule, ApiModule,
 	 * without a primer should be kept or discarded
 	 */
 	protected static final String INPUT_REQUIRE_PRIMER = "trimPrimers.requirePrimer";
+
+	/**
+	 * {@link biolockj.Config} property {@value #INPUT_MAX_MISMATCHES} is the maximum number of mismatched bases allowed
+	 * when matching a primer made of IUPAC bases
+	 */
+	protected static final String INPUT_MAX_MISMATCHES = "trimPrimers.maxMismatches";
 	
 	private static Set<String> substitutions = new HashSet<>();
 	private static final List<String> summaryMsgs = new ArrayList<>();
@@ -15,6 +15,8 @@ import java.io.Serializable;
 import java.util.*;
 import biolockj.*;
 import biolockj.util.OtuUtil;
+import biolockj.util.TaxaDictionary;
+import biolockj.util.TaxaTree;
 import biolockj.util.TaxaUtil;
 
 /**
@@ -43,7 +45,7 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		final String name = node.getOtuName();
 		if( this.otuCounts.get( name ) == null ) {
 			Log.debug( getClass(), "Add new OtuNode: " + name + "=" + node.getCount() );
-			this.otuCounts.put( name, node.getCount() );
+			this.otuCounts.put( TaxaDictionary.intern( name ), node.getCount() );
 		} else {
 			final long count = this.otuCounts.get( name ) + node.getCount();
 			Log.debug( getClass(), "Update OtuNode: " + name + "=" + count );
@@ -51,6 +53,16 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		}
 	}
 
+	/**
+	 * Add the OTU counts of another ParsedSample for the same sample.
+	 *
+	 * @param sample ParsedSample
+	 */
+	public void addSample( final ParsedSample sample ) {
+		for( final Map.Entry<String, Long> entry: sample.otuCounts.entrySet() )
+			this.otuCounts.merge( entry.getKey(), entry.getValue(), Long::sum );
+	}
+
 	@Override
 	public int compareTo( final ParsedSample o ) {
 		return o.getSampleId().compareTo( getSampleId() );
@@ -74,6 +86,10 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 	 * Example:
 	 * d__Bacteria;p__Bacteroidetes;c__Bacteroidia;o__Bacteroidales;f__Bacteroidaceae;g__Bacteroides;s__Bacteroides_vulgatus
 	 * 87342
+	 * <p>
+	 * The child OTUs of a parent OTU are those whose path starts with every taxon of the parent path, compared 1 whole
+	 * taxon at a time. Earlier versions counted every OTU path that contained the parent path as a substring, so the
+	 * count under "g__Bacillus" also included "g__Bacillus_A"; such parents now get a larger unclassified OTU count.
 	 * 
 	 * @return map OTU-count
 	 * @throws Exception if errors occur
@@ -87,15 +103,15 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		}
 
 		final TreeMap<String, Long> fullPathOtuCounts = new TreeMap<>();
+		final TaxaTree tree = new TaxaTree();
 		for( String otu: this.otuCounts.keySet() ) {
 			if( otu.isEmpty() ) continue;
-			final Set<String> kids = getChildren( fullPathOtuCounts, otu );
 			final long otuCount = this.otuCounts.get( otu );
-			if( kids.isEmpty() ) {
+			if( tree.getNumOtus( otu ) == 0 ) {
 				Log.debug( getClass(), "Add [ " + this.sampleId + " ] OTU " + otu + "=" + otuCount );
-				fullPathOtuCounts.put( otu, otuCount );
+				addOtu( fullPathOtuCounts, tree, otu, otuCount );
 			} else {
-				final long totalCount = totalCount( fullPathOtuCounts, kids );
+				final long totalCount = tree.getCount( otu );
 				if( totalCount < otuCount ) {
 					String parentTaxa = null;
 					String parentLevel = null;
@@ -108,7 +124,7 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 								OtuUtil.buildOtuTaxa( level, TaxaUtil.getUnclassifiedTaxa( parentTaxa, parentLevel ) );
 
 					final long diff = otuCount - totalCount;
-					fullPathOtuCounts.put( otu, diff );
+					addOtu( fullPathOtuCounts, tree, otu, diff );
 					Log.debug( getClass(), "Add [ " + this.sampleId + " ] Unclassified OTU: " + otu + "=" + diff );
 				} else if( otuCount >= totalCount )
 					Log.debug( getClass(), "Ignore [" + this.sampleId + " ] Parent OTU " + otu + "=" + otuCount );
@@ -143,18 +159,11 @@ public class ParsedSample implements Serializable, Comparable<ParsedSample> {
 		this.otuCounts = overrideOtuCounts;
 	}
 
-	private static Set<String> getChildren( final TreeMap<String, Long> otuCounts, final String otu ) {
-		final Set<String> kids = new HashSet<>();
-		for( final String key: otuCounts.keySet() )
-			if( key.contains( otu ) ) kids.add( key );
-		return kids;
-	}
-
-	private static long totalCount( final TreeMap<String, Long> otuCounts, final Set<String> otus ) {
-		long count = 0;
-		for( final String otu: otus )
-			count += otuCounts.get( otu );
-		return count;
+	private static void addOtu( final TreeMap<String, Long> otuCounts, final TaxaTree tree, final String otu,
+		final long count ) {
+		final Long prevCount = otuCounts.put( otu, count );
+		if( prevCount == null ) tree.add( otu, count );
+		else tree.add( otu, count - prevCount );
 	}
 
 	private Map<String, Long> otuCounts = new TreeMap<>();
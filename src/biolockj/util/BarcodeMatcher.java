@@ -0,0 +1,188 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Find barcodes in {@link biolockj.util.SeqRecord} lines with a hash lookup instead of testing every barcode.<br>
+ * DNA barcodes (upper case A, C, G, T only, up to {@value #MAX_HASHED_LENGTH} bases) are packed 2 bits per base into a
+ * long. The line is scanned once, with a rolling key for each barcode length looked up in an open addressing hash
+ * table, so the cost does not depend on the number of barcodes. Any other barcodes are tested one at a time. Matching
+ * is case sensitive, as with {@link java.lang.String#contains(CharSequence)}.
+ */
+public class BarcodeMatcher {
+
+	/**
+	 * Build the matcher.
+	 *
+	 * @param barcodes Map key=barcode, value=Sample ID
+	 */
+	public BarcodeMatcher( final Map<String, String> barcodes ) {
+		int size = 16;
+		while( size < barcodes.size() * 2 )
+			size *= 2;
+		this.keys = new long[ size ];
+		this.ids = new String[ size ];
+
+		final SortedSet<Integer> lens = new TreeSet<>( Collections.reverseOrder() );
+		for( final String barcode: barcodes.keySet() ) {
+			final long key = encode( barcode );
+			if( key == INVALID ) {
+				this.otherBarcodes.add( barcode.getBytes( StandardCharsets.ISO_8859_1 ) );
+				this.otherIds.add( barcodes.get( barcode ) );
+			} else if( !barcode.isEmpty() ) {
+				put( key, barcodes.get( barcode ) );
+				lens.add( barcode.length() );
+			}
+		}
+
+		this.lengths = new int[ lens.size() ];
+		int i = 0;
+		for( final Integer len: lens )
+			this.lengths[ i++ ] = len;
+	}
+
+	/**
+	 * Find the first barcode found anywhere in the line.
+	 *
+	 * @param read Sequence read
+	 * @param line Line index, such as {@link biolockj.util.SeqRecord#HEADER}
+	 * @return Sample ID of the barcode, or null if no barcode is found
+	 */
+	public String find( final SeqRecord read, final int line ) {
+		if( this.lengths.length > 0 ) {
+			long key = 0L;
+			int numBases = 0;
+			final int len = read.length( line );
+			for( int i = 0; i < len; i++ ) {
+				final int code = CODES[ read.byteAt( line, i ) & 0xff ];
+				if( code < 0 ) {
+					numBases = 0;
+					continue;
+				}
+				key = key << 2 | code;
+				numBases++;
+				for( final int barcodeLen: this.lengths )
+					if( numBases >= barcodeLen ) {
+						final String id = get( key & MASKS[ barcodeLen ] | (long) barcodeLen << LENGTH_SHIFT );
+						if( id != null ) return id;
+					}
+			}
+		}
+
+		for( int i = 0; i < this.otherBarcodes.size(); i++ )
+			if( read.contains( line, this.otherBarcodes.get( i ) ) ) return this.otherIds.get( i );
+		return null;
+	}
+
+	/**
+	 * Find the longest barcode at the start of the line.
+	 *
+	 * @param read Sequence read
+	 * @param line Line index, such as {@link biolockj.util.SeqRecord#SEQ}
+	 * @return Sample ID of the barcode, or null if the line does not start with a barcode
+	 */
+	public String findPrefix( final SeqRecord read, final int line ) {
+		if( this.lengths.length > 0 ) {
+			final int maxLen = Math.min( this.lengths[ 0 ], read.length( line ) );
+			long key = 0L;
+			int numBases = 0;
+			while( numBases < maxLen ) {
+				final int code = CODES[ read.byteAt( line, numBases ) & 0xff ];
+				if( code < 0 ) break;
+				key = key << 2 | code;
+				numBases++;
+			}
+			for( final int barcodeLen: this.lengths )
+				if( numBases >= barcodeLen ) {
+					final String id =
+						get( key >>> 2 * ( numBases - barcodeLen ) | (long) barcodeLen << LENGTH_SHIFT );
+					if( id != null ) return id;
+				}
+		}
+
+		for( int i = 0; i < this.otherBarcodes.size(); i++ )
+			if( read.startsWith( line, this.otherBarcodes.get( i ) ) ) return this.otherIds.get( i );
+		return null;
+	}
+
+	private String get( final long key ) {
+		final int mask = this.keys.length - 1;
+		for( int i = hash( key ) & mask;; i = i + 1 & mask ) {
+			if( this.keys[ i ] == key ) return this.ids[ i ];
+			if( this.keys[ i ] == 0L ) return null;
+		}
+	}
+
+	private void put( final long key, final String id ) {
+		final int mask = this.keys.length - 1;
+		int i = hash( key ) & mask;
+		while( this.keys[ i ] != 0L && this.keys[ i ] != key )
+			i = i + 1 & mask;
+		this.keys[ i ] = key;
+		this.ids[ i ] = id;
+	}
+
+	/**
+	 * Pack the barcode into a long, with the length in the top bits so barcodes of different lengths never share a
+	 * key.
+	 */
+	private static long encode( final String barcode ) {
+		if( barcode.length() > MAX_HASHED_LENGTH ) return INVALID;
+		long key = 0L;
+		for( int i = 0; i < barcode.length(); i++ ) {
+			final int code = CODES[ barcode.charAt( i ) & 0xff ];
+			if( code < 0 ) return INVALID;
+			key = key << 2 | code;
+		}
+		return key | (long) barcode.length() << LENGTH_SHIFT;
+	}
+
+	private static int[] getCodes() {
+		final int[] codes = new int[ 256 ];
+		Arrays.fill( codes, -1 );
+		final String bases = "ACGT";
+		for( int i = 0; i < bases.length(); i++ )
+			codes[ bases.charAt( i ) ] = i;
+		return codes;
+	}
+
+	private static long[] getMasks() {
+		final long[] masks = new long[ MAX_HASHED_LENGTH + 1 ];
+		for( int i = 1; i < masks.length; i++ )
+			masks[ i ] = ( 1L << 2 * i ) - 1;
+		return masks;
+	}
+
+	private static int hash( final long key ) {
+		final long h = key * 0x9E3779B97F4A7C15L;
+		return (int) ( h ^ h >>> 32 );
+	}
+
+	private final String[] ids;
+	private final long[] keys;
+	private final int[] lengths;
+	private final List<byte[]> otherBarcodes = new ArrayList<>();
+	private final List<String> otherIds = new ArrayList<>();
+
+	/**
+	 * Maximum length of barcodes found by hash lookup: {@value #MAX_HASHED_LENGTH}
+	 */
+	public static final int MAX_HASHED_LENGTH = 28;
+
+	private static final int[] CODES = getCodes();
+	private static final long INVALID = -1L;
+	private static final int LENGTH_SHIFT = 56;
+	private static final long[] MASKS = getMasks();
+}
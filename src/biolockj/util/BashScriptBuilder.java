@@ -12,8 +12,10 @@
 package biolockj.util;
 
 import java.io.*;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
 import java.util.regex.Matcher;
+import org.apache.commons.io.FileUtils;
 import biolockj.*;
 import biolockj.Properties;
 import biolockj.api.API_Exception;
@@ -37,22 +39,28 @@ public class BashScriptBuilder {
 	 * Docker *non-R_Modules* include: 1 MAIN script, 1+ worker-scripts - MAIN.sh runs workers<br>
 	 * AWS Docker R_Modules include: 0 MAIN scripts, 0 worker-scripts - MAIN.R run by Nextflow<br>
 	 * AWS Docker *non-R_Modules* include: 0 MAIN scripts, 1+ worker-scripts MAIN.sh runs workers<br>
+	 * If a worker script already exists with a {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file (left by a
+	 * restarted pipeline, see {@link biolockj.util.ModuleUtil#resetFailedWorkers(ScriptModule)}) and the new script is
+	 * identical, the worker is not run again by the MAIN script.<br>
+	 * Synchronized since the worker script list is shared, and modules may build scripts at the same time.
 	 * 
 	 * @param module ScriptModule
 	 * @param data Bash script lines
 	 * @throws PipelineScriptException if any errors occur writing module script
 	 */
-	public static void buildScripts( final ScriptModule module, final List<List<String>> data )
+	public static synchronized void buildScripts( final ScriptModule module, final List<List<String>> data )
 		throws PipelineScriptException {
 		if( data == null || data.size() < 1 )
 			throw new PipelineScriptException( module, "All worker scripts are empty" );
 		try {
 			workerScripts.clear();
+			completeWorkers.clear();
 			buildWorkerScripts( module, data );
 			if( workerScripts.isEmpty() )
 				throw new PipelineScriptException( module, false, "No worker script lines created" );
 			if( !DockerUtil.inAwsEnv() ) buildMainScript( module );
 			workerScripts.clear();
+			completeWorkers.clear();
 			Processor.setFilePermissions( module.getScriptDir().getAbsolutePath(),
 				Config.requireString( module, Constants.SCRIPT_PERMISSIONS ) );
 		} catch( final Exception ex ) {
@@ -90,7 +98,8 @@ public class BashScriptBuilder {
 
 		final List<String> mainScriptLines = initMainScript( module );
 		for( final File worker: workerScripts )
-			mainScriptLines.add( getMainScriptExecuteWorkerLine( worker.getAbsolutePath() ) );
+			if( !completeWorkers.contains( worker ) )
+				mainScriptLines.add( getMainScriptExecuteWorkerLine( worker.getAbsolutePath() ) );
 
 		mainScriptLines
 			.add( RETURN + "touch \"" + getMainScriptPath( module ) + "_" + Constants.SCRIPT_SUCCESS + "\"" );
@@ -363,7 +372,11 @@ public class BashScriptBuilder {
 				if( !( module instanceof JavaModule ) )
 					workerLines.add( "touch \"" + workerScriptPath + "_" + Constants.SCRIPT_SUCCESS + "\"" );
 				final List<String> workerLinesEasyReading = insertPathVars(module, workerLines);
-				workerScripts.add( createScript( module, workerScriptPath, workerLinesEasyReading ) );
+				if( isCompleteWorker( module, workerScriptPath, workerLinesEasyReading ) ) {
+					final File worker = new File( workerScriptPath );
+					completeWorkers.add( worker );
+					workerScripts.add( worker );
+				} else workerScripts.add( createScript( module, workerScriptPath, workerLinesEasyReading ) );
 				sampleCount = 0;
 				if( it.hasNext() ) {
 					workerScriptPath = getWorkerScriptPath( module );
@@ -375,9 +388,33 @@ public class BashScriptBuilder {
 		Log.info( BashScriptBuilder.class, Constants.LOG_SPACER );
 		Log.info( BashScriptBuilder.class,
 			workerNum() + " WORKER scripts created for: " + module.getClass().getName() );
+		if( !completeWorkers.isEmpty() ) Log.info( BashScriptBuilder.class,
+			completeWorkers.size() + " WORKER scripts already completed successfully - these will not run again" );
 		Log.info( BashScriptBuilder.class, Constants.LOG_SPACER );
 	}
 
+	/**
+	 * Return TRUE if the worker script exists with a {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file and
+	 * its content is identical to the new script lines. If the script changed, its indicator files are deleted so it
+	 * will run again.
+	 */
+	private static boolean isCompleteWorker( final ScriptModule module, final String scriptPath,
+		final List<String> lines ) throws IOException {
+		final File script = new File( scriptPath );
+		final File success = new File( scriptPath + "_" + Constants.SCRIPT_SUCCESS );
+		if( !script.isFile() || !success.isFile() ) return false;
+
+		final StringWriter newScript = new StringWriter();
+		writeScript( module, new BufferedWriter( newScript ), lines );
+		if( newScript.toString().equals( FileUtils.readFileToString( script, StandardCharsets.UTF_8 ) ) ) return true;
+
+		Log.warn( BashScriptBuilder.class,
+			"Worker script changed since last successful run, so it will run again: " + scriptPath );
+		success.delete();
+		new File( scriptPath + "_" + Constants.SCRIPT_STARTED ).delete();
+		return false;
+	}
+
 	private static String getMainScriptPath( final ScriptModule module ) {
 		return new File( module.getScriptDir().getAbsolutePath() + File.separator + BioModule.MAIN_SCRIPT_PREFIX +
 			module.getModuleDir().getName() + Constants.SH_EXT ).getAbsolutePath();
@@ -500,5 +537,6 @@ public class BashScriptBuilder {
 	private static final String TEMP_DIR_VAR = "${" + TEMP_DIR + "}";
 	
 	private static final String RETURN = Constants.RETURN;
+	private static final Set<File> completeWorkers = new HashSet<>();
 	private static final List<File> workerScripts = new ArrayList<>();
 }
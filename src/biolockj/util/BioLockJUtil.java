@@ -17,7 +17,6 @@ import java.net.URL;
 import java.text.DecimalFormat;
 import java.util.*;
 import java.util.jar.Manifest;
-import java.util.zip.GZIPInputStream;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
@@ -266,17 +265,56 @@ public class BioLockJUtil {
 	}
 
 	/**
-	 * Get a {@link BufferedReader} for standard text file or {@link GZIPInputStream} for gzipped files ending in ".gz"
+	 * Get a {@link BufferedReader} for standard text file, decompressing gzipped files ending in ".gz"
 	 *
 	 * @param file to be read
-	 * @return {@link BufferedReader} or {@link GZIPInputStream} if file is gzipped
+	 * @return {@link BufferedReader}
 	 * @throws FileNotFoundException if file does not exist
 	 * @throws IOException if unable to read or write the file
 	 */
 	public static BufferedReader getFileReader( final File file ) throws FileNotFoundException, IOException {
-		return SeqUtil.isGzipped( file.getName() ) ?
-			new BufferedReader( new InputStreamReader( new GZIPInputStream( new FileInputStream( file ) ) ) ):
-			new BufferedReader( new FileReader( file ) );
+		return new BufferedReader( new InputStreamReader( getFileInputStream( file ) ) );
+	}
+
+	/**
+	 * Get an {@link InputStream} for the file contents, decompressed on a background thread by a
+	 * {@link ParallelGzipInputStream} for gzipped files ending in ".gz". Bytes read are counted in the
+	 * {@link MetricsUtil} metrics of the current module.
+	 *
+	 * @param file to be read
+	 * @return {@link InputStream}
+	 * @throws FileNotFoundException if file does not exist
+	 * @throws IOException if unable to read the file
+	 */
+	public static InputStream getFileInputStream( final File file ) throws FileNotFoundException, IOException {
+		final InputStream in = MetricsUtil.meter( new FileInputStream( file ) );
+		return SeqUtil.isGzipped( file.getName() ) ? new ParallelGzipInputStream( in ): in;
+	}
+
+	/**
+	 * Get an {@link OutputStream} for a file, compressed in parallel by a {@link ParallelGzipOutputStream} if the file
+	 * name ends in ".gz". Bytes written are counted in the {@link MetricsUtil} metrics of the current module.
+	 *
+	 * @param file to be written
+	 * @param append Set true to append to an existing file (gzipped files get a new gzip member)
+	 * @return {@link OutputStream}
+	 * @throws IOException if unable to create the file
+	 */
+	public static OutputStream getFileOutputStream( final File file, final boolean append ) throws IOException {
+		final OutputStream out = MetricsUtil.meter( new FileOutputStream( file, append ) );
+		return SeqUtil.isGzipped( file.getName() ) ? new ParallelGzipOutputStream( out ): out;
+	}
+
+	/**
+	 * Get a {@link BufferedWriter} for a new text file. Bytes written are counted in the {@link MetricsUtil} metrics of
+	 * the current module.
+	 *
+	 * @param file to be written
+	 * @return {@link BufferedWriter}
+	 * @throws IOException if unable to create the file
+	 */
+	public static BufferedWriter getFileWriter( final File file ) throws IOException {
+		return new BufferedWriter( new OutputStreamWriter( getFileOutputStream( file, false ) ) );
 	}
 
 	/**
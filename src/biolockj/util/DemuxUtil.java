@@ -93,7 +93,7 @@ public class DemuxUtil {
 	}
 
 	/**
-	 * Determine Sample Id by examining the sequence lines.<br>
+	 * Determine Sample Id by examining the sequence read.<br>
 	 * If {@value #DEMUX_STRATEGY }={@value #OPTION_ID_IN_HEADER}, extract the Sample Id from the sequence header via
 	 * {@link biolockj.util.SeqUtil#getSampleId(String)}<br>
 	 * If {@value #DEMUX_STRATEGY }={@value #OPTION_BARCODE_IN_HEADER} and the sequence header contains a bar-code in
@@ -103,26 +103,36 @@ public class DemuxUtil {
 	 * If {@value #DEMUX_STRATEGY }={@value #OPTION_BARCODE_IN_SEQ} and the sequence itself begins with a bar-code in
 	 * the idMap, return the corresponding SampleID from the idMap.<br>
 	 * 
-	 * @param seqLines List of lines for one fasta or fatsq read
+	 * @param read Fasta or fastq read
 	 * @return Sample ID or null
 	 * @throws Exception if propagated from {@link biolockj.util.SeqUtil} or {@link biolockj.Config}
 	 */
-	public static String getSampleId( final List<String> seqLines ) throws Exception {
+	public static String getSampleId( final SeqRecord read ) throws Exception {
 		if( demuxWithBarcode() ) {
-			final Map<String, String> map = getIdMap();
-			if( map != null ) for( final String barCodeId: map.keySet() )
-				if( ( barcodeInHeader() || barcodeInMapping() ) && seqLines.get( 0 ).contains( barCodeId ) ||
-					barcodeInSeq() && seqLines.get( 1 ).startsWith( barCodeId ) ) return map.get( barCodeId );
+			final BarcodeMatcher matcher = getBarcodeMatcher();
+			if( matcher == null ) return null;
+			if( barcodeInSeq() ) return matcher.findPrefix( read, SeqRecord.SEQ );
+			if( barcodeInHeader() || barcodeInMapping() ) return matcher.find( read, SeqRecord.HEADER );
 			return null;
 		}
-		return SeqUtil.getSampleId( seqLines.get( 0 ) );
+		return SeqUtil.getSampleId( read.getHeader() );
 	}
 
 	/**
-	 * Check for the existance of the barcode column.
-	 * 
-	 * @return Boolean TRUE if barcode column exists and is populated.
+	 * Get the {@link biolockj.util.BarcodeMatcher} for the barcodes in the ID map, built from {@link #getIdMap()} on
+	 * the first call.
+	 *
+	 * @return BarcodeMatcher, or null if not demultiplexing with barcodes
+	 * @throws Exception if propagated from {@link biolockj.util.MetaUtil} or {@link biolockj.Config}
 	 */
+	public static BarcodeMatcher getBarcodeMatcher() throws Exception {
+		if( barcodeMatcher == null ) {
+			final Map<String, String> map = getIdMap();
+			if( map != null ) barcodeMatcher = new BarcodeMatcher( map );
+		}
+		return barcodeMatcher;
+	}
+
 	public static boolean hasValidBarcodes() {
 		try {
 			final String barCodeCol = Config.getString( null, MetaUtil.META_BARCODE_COLUMN );
@@ -290,6 +300,7 @@ public class DemuxUtil {
 	 */
 	protected static final String SAMPLE_ID_SUFFIX_TRIM_DEFAULT = "_";
 
+	private static BarcodeMatcher barcodeMatcher = null;
 	private static final Map<String, String> idMap = new HashMap<>();
 
 }
@@ -0,0 +1,156 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import biolockj.Log;
+
+/**
+ * Track the Docker containers spawned for the worker scripts of a single {@link biolockj.module.ScriptModule}.<br>
+ * The MAIN script appends one "&lt;worker&gt;:docker:&lt;containerId&gt;" line to its
+ * {@value biolockj.Constants#SCRIPT_STARTED} indicator file for each container it launches. This file is read
+ * incrementally, so each line is parsed only once.<br>
+ * The running containers are listed with a single "docker ps" call, which is cached for
+ * {@value #MIN_QUERY_MILLIS} milliseconds unless a new container is tracked. Stopped containers never restart, so they
+ * are not queried again.
+ */
+public class DockerContainerMonitor {
+
+	/**
+	 * Construct a monitor for the containers listed in the MAIN script {@value biolockj.Constants#SCRIPT_STARTED}
+	 * indicator file.
+	 *
+	 * @param mainStarted MAIN script started indicator file
+	 */
+	public DockerContainerMonitor( final File mainStarted ) {
+		this.mainStarted = mainStarted;
+	}
+
+	/**
+	 * Return the given worker scripts whose container is no longer running.<br>
+	 * Workers without a container ID (not yet launched) are never reported as stopped.
+	 *
+	 * @param workers Worker scripts, usually those with a running status
+	 * @return Worker scripts with a stopped container
+	 */
+	public List<File> getStoppedWorkers( final Collection<File> workers ) {
+		final List<File> stoppedWorkers = new ArrayList<>();
+		if( workers.isEmpty() ) return stoppedWorkers;
+		readStartedFlag();
+
+		final Set<String> ids = new HashSet<>();
+		for( final File worker: workers ) {
+			final String id = this.containerIds.get( worker.getName() );
+			if( id == null ) {
+				if( this.missingIds.add( worker.getName() ) )
+					Log.warn( getClass(), "No container id for [" + worker.getName() + "]." );
+			} else if( !this.stopped.contains( id ) ) ids.add( id );
+		}
+
+		if( !ids.isEmpty() && ( !this.queried.containsAll( ids ) ||
+			System.currentTimeMillis() - this.lastQuery >= MIN_QUERY_MILLIS ) ) updateStatus( ids );
+
+		for( final File worker: workers ) {
+			final String id = this.containerIds.get( worker.getName() );
+			if( id != null && this.stopped.contains( id ) ) stoppedWorkers.add( worker );
+		}
+
+		return stoppedWorkers;
+	}
+
+	/**
+	 * Parse any lines appended to the MAIN script started indicator file since the last call.
+	 */
+	private void readStartedFlag() {
+		if( this.mainStarted == null || this.mainStarted.length() <= this.offset ) return;
+		try( RandomAccessFile raf = new RandomAccessFile( this.mainStarted, "r" ) ) {
+			final byte[] bytes = new byte[ (int) ( raf.length() - this.offset ) ];
+			raf.seek( this.offset );
+			raf.readFully( bytes );
+			int start = 0;
+			for( int i = 0; i < bytes.length; i++ )
+				if( bytes[ i ] == '\n' ) {
+					parseLine( new String( bytes, start, i - start, StandardCharsets.UTF_8 ).trim() );
+					start = i + 1;
+				}
+			this.offset += start;
+		} catch( final IOException ex ) {
+			Log.warn( getClass(),
+				"Failed to extract container ids from [" + this.mainStarted.getName() + "]: " + ex.getMessage() );
+		}
+	}
+
+	private void parseLine( final String line ) {
+		final String[] parts = line.split( ":" );
+		if( parts.length == 3 && parts[ 1 ].equals( DockerUtil.DOCKER_KEY ) && !parts[ 2 ].isEmpty() ) {
+			this.containerIds.put( parts[ 0 ], parts[ 2 ] );
+			this.missingIds.remove( parts[ 0 ] );
+		}
+	}
+
+	/**
+	 * List the running containers with a single "docker ps" call, and flag each of the given containers not in the
+	 * list as stopped. If the docker command fails, no container is flagged as stopped.
+	 *
+	 * @param ids Container IDs to check
+	 */
+	private void updateStatus( final Set<String> ids ) {
+		this.lastQuery = System.currentTimeMillis();
+		final Set<String> running = new HashSet<>();
+		try {
+			final Process p = new ProcessBuilder( DOCKER, "ps", "-q", "--no-trunc" )
+				.redirectError( ProcessBuilder.Redirect.to( new File( "/dev/null" ) ) ).start();
+			try( BufferedReader br = new BufferedReader( new InputStreamReader( p.getInputStream() ) ) ) {
+				for( String s = br.readLine(); s != null; s = br.readLine() )
+					if( !s.trim().isEmpty() ) running.add( s.trim() );
+			}
+			final int exitCode = p.waitFor();
+			if( exitCode != 0 ) {
+				Log.warn( getClass(), "Could not determine running containers: docker ps exit code = " + exitCode );
+				return;
+			}
+		} catch( final IOException | InterruptedException ex ) {
+			Log.warn( getClass(), "Could not determine running containers: " + ex.getMessage() );
+			if( ex instanceof InterruptedException ) Thread.currentThread().interrupt();
+			return;
+		}
+
+		Log.debug( getClass(), "Docker ps found " + running.size() + " running containers" );
+		this.queried.addAll( ids );
+		for( final String id: ids )
+			if( !isRunning( id, running ) ) this.stopped.add( id );
+	}
+
+	private static boolean isRunning( final String id, final Set<String> running ) {
+		if( running.contains( id ) ) return true;
+		for( final String fullId: running )
+			if( fullId.startsWith( id ) || id.startsWith( fullId ) ) return true;
+		return false;
+	}
+
+	private final Map<String, String> containerIds = new HashMap<>();
+	private long lastQuery = 0L;
+	private final File mainStarted;
+	private final Set<String> missingIds = new HashSet<>();
+	private long offset = 0L;
+	private final Set<String> queried = new HashSet<>();
+	private final Set<String> stopped = new HashSet<>();
+
+	/**
+	 * Minimum number of milliseconds between "docker ps" calls if no new container is tracked:
+	 * {@value #MIN_QUERY_MILLIS}
+	 */
+	public static final long MIN_QUERY_MILLIS = 5000L;
+	private static final String DOCKER = "docker";
+}
@@ -68,45 +68,6 @@ public class DockerUtil {
 		return lines;
 	}
 	
-	public static boolean workerContainerStopped (final File mainStarted, final File workerScript) {
-		boolean hasStopped = false;
-		String containerId = null;
-		BufferedReader reader;
-		try {
-			reader = new BufferedReader( new FileReader( mainStarted ));
-			String s = null;
-			String key = workerScript.getName() + ":" + DOCKER_KEY + ":";
-			while( ( s = reader.readLine() ) != null )
-			{
-				if (s.startsWith( workerScript.getName() )) containerId=s.replaceFirst( key, "" );
-			}
-			reader.close();
-		} catch( IOException e ) {
-			Log.warn(DockerUtil.class, "Failed to extract container id from [" + mainStarted.getName() + "].");
-			e.printStackTrace();
-		}
-		if ( containerId == null ) {
-			Log.warn(DockerUtil.class, "No container id for [" + workerScript.getName() + "].");
-		}else {
-			try {
-				hasStopped = ! containerIsRunning(containerId);
-			} catch( IOException e ) {
-				Log.warn(DockerUtil.class, "Could not determine if container [" + containerId + "] is running.");
-				e.printStackTrace();
-			}
-		}
-		return(hasStopped);
-	}
-	private static boolean containerIsRunning (final String containerId) throws IOException {
-		String cmd = "docker inspect -f '{{.State.Running}}' " + containerId + " 2>/dev/null";
-		final Process p = Runtime.getRuntime().exec( cmd ); 
-		final BufferedReader br = new BufferedReader( new InputStreamReader( p.getInputStream() ) );
-		String s = br.readLine();
-		br.close();
-		Log.debug(DockerUtil.class, "Docker inspect result: " + s);
-		return s.equals( "'true'" );
-	}
-	
 	private static List<String> getDockerVolumes( final BioModule module )
 		throws ConfigPathException, ConfigNotFoundException, DockerVolCreationException {
 		Log.debug( DockerUtil.class, "Assign Docker volumes for module: " + module.getClass().getSimpleName() );
@@ -494,6 +455,6 @@ public class DockerUtil {
 	private static final String DOCKER_DETACHED_FLAG = "--detach";
 	private static final String ID_VAR = "containerId";
 	private static final String SCRIPT_ID_VAR = "SCRIPT_ID";
-	private static final String DOCKER_KEY = "docker";
+	static final String DOCKER_KEY = "docker";
 	private static final String DOCKER_INFO_FILE = "dockerInfo.json";
 }
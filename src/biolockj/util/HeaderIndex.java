@@ -0,0 +1,107 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+/**
+ * Index of read header fingerprints, mapping each 64-bit {@link biolockj.util.SeqRecord#getHeaderKey()} fingerprint
+ * to an int value, such as the Sample ID index of a forward read waiting for its mate. Keys are stored in an open
+ * addressing (linear probing) table of primitives, so each entry uses a few bytes no matter how long the read is, and
+ * lookups create no objects. Different headers can share a fingerprint, but with 64 bits this is vanishingly rare.
+ */
+public class HeaderIndex {
+
+	/**
+	 * Check if the index contains the fingerprint.
+	 *
+	 * @param key Header fingerprint
+	 * @return TRUE if found
+	 */
+	public boolean contains( final long key ) {
+		return find( key ) > -1;
+	}
+
+	/**
+	 * Get the value for the fingerprint.
+	 *
+	 * @param key Header fingerprint
+	 * @return Value, or -1 if not found
+	 */
+	public int get( final long key ) {
+		final int i = find( key );
+		return i < 0 ? -1: this.values[ i ];
+	}
+
+	/**
+	 * Set the value for the fingerprint, replacing any previous value.
+	 *
+	 * @param key Header fingerprint
+	 * @param value Value
+	 */
+	public void put( final long key, final int value ) {
+		final int i = find( key );
+		if( i > -1 ) {
+			this.values[ i ] = value;
+			return;
+		}
+		if( ( this.size + 1 ) * 2 > this.keys.length ) resize( this.keys.length * 2 );
+		insert( key, value );
+		this.size++;
+	}
+
+	/**
+	 * Get the number of fingerprints in the index.
+	 *
+	 * @return Number of fingerprints
+	 */
+	public int size() {
+		return this.size;
+	}
+
+	private int find( final long key ) {
+		final int mask = this.keys.length - 1;
+		for( int i = slot( key, mask ); this.used[ i ]; i = i + 1 & mask )
+			if( this.keys[ i ] == key ) return i;
+		return -1;
+	}
+
+	private void insert( final long key, final int value ) {
+		final int mask = this.keys.length - 1;
+		int i = slot( key, mask );
+		while( this.used[ i ] )
+			i = i + 1 & mask;
+		this.keys[ i ] = key;
+		this.values[ i ] = value;
+		this.used[ i ] = true;
+	}
+
+	private void resize( final int capacity ) {
+		final long[] oldKeys = this.keys;
+		final int[] oldValues = this.values;
+		final boolean[] oldUsed = this.used;
+		this.keys = new long[ capacity ];
+		this.values = new int[ capacity ];
+		this.used = new boolean[ capacity ];
+		for( int i = 0; i < oldKeys.length; i++ )
+			if( oldUsed[ i ] ) insert( oldKeys[ i ], oldValues[ i ] );
+	}
+
+	private static int slot( final long key, final int mask ) {
+		return (int) ( key ^ key >>> 32 ) & mask;
+	}
+
+	private long[] keys = new long[ INITIAL_CAPACITY ];
+	private int size = 0;
+	private boolean[] used = new boolean[ INITIAL_CAPACITY ];
+	private int[] values = new int[ INITIAL_CAPACITY ];
+
+	private static final int INITIAL_CAPACITY = 16;
+}
@@ -0,0 +1,193 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import biolockj.Config;
+import biolockj.Log;
+
+/**
+ * This utility counts lines in text files at the byte level, without decoding lines into Strings. Plain files are
+ * memory-mapped and gzipped files are read with {@link biolockj.util.ParallelGzipInputStream}.
+ * <p>
+ * Counts are cached by file path, size and last modified time. In a pipeline, the cache is also saved to
+ * {@value #CACHE_FILE} in the pipeline root directory, so files are not counted again when the pipeline is restarted.
+ */
+public class LineCounter {
+
+	// Prevent instantiation
+	private LineCounter() {}
+
+	/**
+	 * Count the lines in the file, without using the cache. A last line without a line break is counted, as with
+	 * {@link java.io.BufferedReader#readLine()}.
+	 *
+	 * @param file Text file, gzipped if the name ends with ".gz"
+	 * @return Number of lines
+	 * @throws IOException if unable to read the file
+	 */
+	public static long countLines( final File file ) throws IOException {
+		if( SeqUtil.isGzipped( file.getName() ) ) return countLines( BioLockJUtil.getFileInputStream( file ) );
+
+		final FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ );
+		try {
+			final long size = channel.size();
+			final byte[] buf = new byte[ BUFFER_SIZE ];
+			long count = 0L;
+			byte last = '\n';
+			for( long pos = 0L; pos < size; pos += MAP_SIZE ) {
+				final MappedByteBuffer map =
+					channel.map( FileChannel.MapMode.READ_ONLY, pos, Math.min( MAP_SIZE, size - pos ) );
+				while( map.hasRemaining() ) {
+					final int n = Math.min( buf.length, map.remaining() );
+					map.get( buf, 0, n );
+					count += countNewLines( buf, n );
+					last = buf[ n - 1 ];
+				}
+			}
+			MetricsUtil.addBytesRead( size );
+			return last == '\n' ? count: count + 1;
+		} finally {
+			channel.close();
+		}
+	}
+
+	/**
+	 * Count the lines in the stream, then close it.
+	 *
+	 * @param in InputStream
+	 * @return Number of lines
+	 * @throws IOException if unable to read the stream
+	 */
+	public static long countLines( final InputStream in ) throws IOException {
+		try {
+			final byte[] buf = new byte[ BUFFER_SIZE ];
+			long count = 0L;
+			byte last = '\n';
+			for( int n = in.read( buf ); n != -1; n = in.read( buf ) ) {
+				if( n == 0 ) continue;
+				count += countNewLines( buf, n );
+				last = buf[ n - 1 ];
+			}
+			return last == '\n' ? count: count + 1;
+		} finally {
+			in.close();
+		}
+	}
+
+	/**
+	 * Get the number of lines in the file, from the cache if the file has not changed since it was counted.
+	 *
+	 * @param file Text file, gzipped if the name ends with ".gz"
+	 * @return Number of lines
+	 * @throws IOException if unable to read the file
+	 */
+	public static long getNumLines( final File file ) throws IOException {
+		final String path = file.getAbsolutePath();
+		final long size = file.length();
+		final long lastModified = file.lastModified();
+		final Map<String, long[]> cache = getCache();
+		final long[] entry = cache.get( path );
+		if( entry != null && entry[ SIZE ] == size && entry[ LAST_MODIFIED ] == lastModified ) {
+			Log.debug( LineCounter.class, "Use cached line count [ " + entry[ NUM_LINES ] + " ] for: " + path );
+			return entry[ NUM_LINES ];
+		}
+
+		final long numLines = countLines( file );
+		cache.put( path, new long[] { size, lastModified, numLines } );
+		saveEntry( path, size, lastModified, numLines );
+		return numLines;
+	}
+
+	private static long countNewLines( final byte[] buf, final int len ) {
+		long count = 0L;
+		for( int i = 0; i < len; i++ )
+			if( buf[ i ] == '\n' ) count++;
+		return count;
+	}
+
+	/**
+	 * Get the cache for the current pipeline, loading any counts saved by a previous run.
+	 */
+	private static synchronized Map<String, long[]> getCache() {
+		final File file = getCacheFile();
+		if( cache != null && ( file == null ? cacheFile == null: file.equals( cacheFile ) ) ) return cache;
+
+		cache = new ConcurrentHashMap<>();
+		cacheFile = file;
+		if( file != null && file.isFile() ) try {
+			final BufferedReader reader = new BufferedReader( new FileReader( file ) );
+			try {
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final String[] cols = line.split( DELIM );
+					if( cols.length == 4 ) cache.put( cols[ 0 ], new long[] { Long.parseLong( cols[ 1 ] ),
+						Long.parseLong( cols[ 2 ] ), Long.parseLong( cols[ 3 ] ) } );
+				}
+			} finally {
+				reader.close();
+			}
+			Log.info( LineCounter.class, "Loaded " + cache.size() + " cached line counts from: " + file.getAbsolutePath() );
+		} catch( final Exception ex ) {
+			Log.warn( LineCounter.class, "Ignore invalid line count cache: " + file.getAbsolutePath() + " --> " +
+				ex.getMessage() );
+			cache.clear();
+		}
+
+		return cache;
+	}
+
+	private static File getCacheFile() {
+		final File dir = Config.getPipelineDir();
+		return dir == null || !dir.isDirectory() ? null: new File( dir, CACHE_FILE );
+	}
+
+	/**
+	 * Append the count to the cache file. Each entry is written with a single write, so modules counting files in
+	 * other JVMs can append to the same file.
+	 */
+	private static synchronized void saveEntry( final String path, final long size, final long lastModified,
+		final long numLines ) {
+		if( cacheFile == null ) return;
+		final String line = path + DELIM + size + DELIM + lastModified + DELIM + numLines + "\n";
+		try {
+			final FileOutputStream out = new FileOutputStream( cacheFile, true );
+			try {
+				out.write( line.getBytes( StandardCharsets.UTF_8 ) );
+			} finally {
+				out.close();
+			}
+		} catch( final IOException ex ) {
+			Log.warn( LineCounter.class, "Unable to save line count to: " + cacheFile.getAbsolutePath() + " --> " +
+				ex.getMessage() );
+		}
+	}
+
+	/**
+	 * Name of the hidden line count cache file in the pipeline root directory: {@value #CACHE_FILE}
+	 */
+	public static final String CACHE_FILE = ".lineCounts.tsv";
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+	private static final String DELIM = "\t";
+	private static final int LAST_MODIFIED = 1;
+	private static final long MAP_SIZE = 64L * 1024 * 1024;
+	private static final int NUM_LINES = 2;
+	private static final int SIZE = 0;
+	private static Map<String, long[]> cache = null;
+	private static File cacheFile = null;
+}
@@ -0,0 +1,287 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.lang.management.*;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.input.ProxyInputStream;
+import org.apache.commons.io.output.ProxyOutputStream;
+import org.json.JSONObject;
+import biolockj.Config;
+import biolockj.Log;
+import biolockj.Pipeline;
+import biolockj.module.BioModule;
+
+/**
+ * This utility collects performance metrics for each {@link biolockj.module.BioModule} run by the
+ * {@link biolockj.Pipeline}:
+ * <ul>
+ * <li>Wall time and JVM CPU time
+ * <li>Bytes read by {@link biolockj.util.BioLockJUtil#getFileReader(File)} and written by
+ * {@link biolockj.util.BioLockJUtil#getFileWriter(File)}
+ * <li>Size of the module output directory
+ * <li>Records processed, as reported by the module with {@link #addRecords(long)}
+ * <li>Peak heap usage, GC count and GC time
+ * </ul>
+ * I/O and record counts are assigned to the module returned by {@link biolockj.Pipeline#exeModule()}. CPU, heap and GC
+ * metrics are measured for the whole JVM, so they include any other module running at the same time.<br>
+ * Metrics are saved to {@value #METRICS_FILE} in the pipeline root directory after each module. A detached Java module
+ * saves its own metrics from the direct module JVM, so the pipeline JVM only updates the wall time of its entry. The
+ * file is updated under a file lock, since pipeline and direct module JVMs may save at the same time.
+ */
+public class MetricsUtil {
+
+	// Prevent instantiation
+	private MetricsUtil() {}
+
+	/**
+	 * Add to the number of bytes read by the current module, for files not read through a metered stream.
+	 *
+	 * @param numBytes Number of bytes
+	 */
+	public static void addBytesRead( final long numBytes ) {
+		final ModuleMetrics metrics = getCurrentMetrics();
+		if( metrics != null ) metrics.bytesRead.addAndGet( numBytes );
+	}
+
+	/**
+	 * Add to the number of records (such as reads or samples) processed by the current module.
+	 *
+	 * @param numRecords Number of records
+	 */
+	public static void addRecords( final long numRecords ) {
+		final ModuleMetrics metrics = getCurrentMetrics();
+		if( metrics != null ) metrics.records.addAndGet( numRecords );
+	}
+
+	/**
+	 * Return the 1 line metrics summary for the module, for the pipeline summary file.
+	 *
+	 * @param module BioModule
+	 * @return Metrics summary, or null if the module was not measured
+	 */
+	public static String getSummary( final BioModule module ) {
+		final ModuleMetrics m = metricsMap.get( module );
+		if( m == null ) return null;
+		return "CPU: " + SummaryUtil.getRunTime( m.cpuMillis ) + "; Read: " + toMiB( m.bytesRead.get() ) +
+			"; Written: " + toMiB( m.bytesWritten.get() ) + "; Output: " + toMiB( m.outputBytes ) + "; Records: " +
+			m.records.get() + "; Peak heap: " + toMiB( m.peakHeap ) + "; GC: " + m.gcCount + " (" + m.gcMillis +
+			" ms)";
+	}
+
+	/**
+	 * Wrap the input stream to count the bytes read by the current module.
+	 *
+	 * @param in InputStream
+	 * @return Metered InputStream
+	 */
+	public static InputStream meter( final InputStream in ) {
+		final ModuleMetrics metrics = getCurrentMetrics();
+		if( metrics == null ) return in;
+		return new ProxyInputStream( in ) {
+			@Override
+			protected void afterRead( final int n ) {
+				if( n > 0 ) metrics.bytesRead.addAndGet( n );
+			}
+		};
+	}
+
+	/**
+	 * Wrap the output stream to count the bytes written by the current module.
+	 *
+	 * @param out OutputStream
+	 * @return Metered OutputStream
+	 */
+	public static OutputStream meter( final OutputStream out ) {
+		final ModuleMetrics metrics = getCurrentMetrics();
+		if( metrics == null ) return out;
+		return new ProxyOutputStream( out ) {
+			@Override
+			protected void beforeWrite( final int n ) {
+				metrics.bytesWritten.addAndGet( n );
+			}
+		};
+	}
+
+	/**
+	 * Mark the module as run by a direct module JVM, which saves its own metrics. When the module is stopped, only the
+	 * wall time measured here is saved, unless the direct module JVM saved no metrics.
+	 *
+	 * @param module BioModule
+	 */
+	public static void setDetached( final BioModule module ) {
+		final ModuleMetrics m = metricsMap.get( module );
+		if( m != null ) m.detached = true;
+	}
+
+	/**
+	 * Start measuring the module. Peak heap usage is reset.
+	 *
+	 * @param module BioModule
+	 */
+	public static void start( final BioModule module ) {
+		final ModuleMetrics m = new ModuleMetrics();
+		for( final MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans() )
+			if( pool.getType() == MemoryType.HEAP ) pool.resetPeakUsage();
+		m.startMillis = System.currentTimeMillis();
+		m.startCpu = getCpuMillis();
+		m.startGcCount = getGcCount();
+		m.startGcMillis = getGcMillis();
+		metricsMap.put( module, m );
+	}
+
+	/**
+	 * Stop measuring the module and save the {@value #METRICS_FILE} file. Only the 1st call for each module run is
+	 * recorded.
+	 *
+	 * @param module BioModule
+	 * @param status Module status, such as SUCCESS or FAILED
+	 */
+	public static void stop( final BioModule module, final String status ) {
+		final ModuleMetrics m = metricsMap.get( module );
+		if( m == null || m.status != null ) return;
+		m.status = status;
+		m.wallMillis = System.currentTimeMillis() - m.startMillis;
+		m.cpuMillis = getCpuMillis() - m.startCpu;
+		m.gcCount = getGcCount() - m.startGcCount;
+		m.gcMillis = getGcMillis() - m.startGcMillis;
+		for( final MemoryPoolMXBean pool: ManagementFactory.getMemoryPoolMXBeans() )
+			if( pool.getType() == MemoryType.HEAP && pool.getPeakUsage() != null )
+				m.peakHeap += pool.getPeakUsage().getUsed();
+		if( module.getOutputDir().isDirectory() ) m.outputBytes = FileUtils.sizeOfDirectory( module.getOutputDir() );
+		saveMetrics();
+	}
+
+	private static long getCpuMillis() {
+		final OperatingSystemMXBean os = ManagementFactory.getOperatingSystemMXBean();
+		if( os instanceof com.sun.management.OperatingSystemMXBean )
+			return ( (com.sun.management.OperatingSystemMXBean) os ).getProcessCpuTime() / 1000000L;
+		return 0L;
+	}
+
+	private static ModuleMetrics getCurrentMetrics() {
+		final BioModule module = Pipeline.exeModule();
+		return module == null ? null: metricsMap.get( module );
+	}
+
+	private static long getGcCount() {
+		long count = 0L;
+		for( final GarbageCollectorMXBean gc: ManagementFactory.getGarbageCollectorMXBeans() )
+			count += Math.max( 0L, gc.getCollectionCount() );
+		return count;
+	}
+
+	private static long getGcMillis() {
+		long millis = 0L;
+		for( final GarbageCollectorMXBean gc: ManagementFactory.getGarbageCollectorMXBeans() )
+			millis += Math.max( 0L, gc.getCollectionTime() );
+		return millis;
+	}
+
+	/**
+	 * Save metrics for all measured modules to {@value #METRICS_FILE}, keeping the metrics of modules run by a previous
+	 * attempt of a restarted pipeline or by a direct module JVM. The file is read and written while holding a lock on
+	 * {@value #LOCK_FILE}, so concurrent saves from other JVMs are not lost.
+	 */
+	private static synchronized void saveMetrics() {
+		final File file = new File( Config.pipelinePath() + File.separator + METRICS_FILE );
+		RandomAccessFile lockFile = null;
+		try {
+			lockFile = new RandomAccessFile( new File( Config.pipelinePath() + File.separator + LOCK_FILE ), "rw" );
+			final FileLock lock = lockFile.getChannel().lock();
+			try {
+				saveMetrics( file );
+			} finally {
+				lock.release();
+			}
+		} catch( final Exception ex ) {
+			Log.warn( MetricsUtil.class, "Unable to save " + file.getAbsolutePath() + ": " + ex.getMessage() );
+		} finally {
+			if( lockFile != null ) try {
+				lockFile.close();
+			} catch( final IOException ex ) {
+				Log.warn( MetricsUtil.class, "Unable to close " + LOCK_FILE + ": " + ex.getMessage() );
+			}
+		}
+	}
+
+	private static void saveMetrics( final File file ) throws Exception {
+		final JSONObject modules = file.isFile() ?
+			new JSONObject( FileUtils.readFileToString( file, StandardCharsets.UTF_8 ) ).optJSONObject( MODULES ): null;
+		final JSONObject json = new JSONObject();
+		json.put( "pipeline", Config.pipelineName() );
+		json.put( MODULES, modules == null ? new JSONObject(): modules );
+		final JSONObject savedModules = json.getJSONObject( MODULES );
+		for( final BioModule module: metricsMap.keySet() ) {
+			final ModuleMetrics m = metricsMap.get( module );
+			if( m.status == null ) continue;
+			final JSONObject saved = savedModules.optJSONObject( ModuleUtil.displaySignature( module ) );
+			if( m.detached && saved != null ) {
+				saved.put( "wallMillis", m.wallMillis );
+				continue;
+			}
+			final JSONObject jm = new JSONObject();
+			jm.put( "class", module.getClass().getName() );
+			jm.put( "status", m.status );
+			jm.put( "wallMillis", m.wallMillis );
+			jm.put( "cpuMillis", m.cpuMillis );
+			jm.put( "bytesRead", m.bytesRead.get() );
+			jm.put( "bytesWritten", m.bytesWritten.get() );
+			jm.put( "outputBytes", m.outputBytes );
+			jm.put( "records", m.records.get() );
+			jm.put( "peakHeapBytes", m.peakHeap );
+			jm.put( "gcCount", m.gcCount );
+			jm.put( "gcMillis", m.gcMillis );
+			savedModules.put( ModuleUtil.displaySignature( module ), jm );
+		}
+		FileUtils.writeStringToFile( file, json.toString( 2 ), StandardCharsets.UTF_8 );
+	}
+
+	private static String toMiB( final long bytes ) {
+		return String.format( "%.1f mb", bytes / ( 1024.0 * 1024.0 ) );
+	}
+
+	/**
+	 * Metrics for a single module run.
+	 */
+	private static class ModuleMetrics {
+		final AtomicLong bytesRead = new AtomicLong();
+		final AtomicLong bytesWritten = new AtomicLong();
+		long cpuMillis = 0L;
+		long gcCount = 0L;
+		long gcMillis = 0L;
+		long outputBytes = 0L;
+		long peakHeap = 0L;
+		final AtomicLong records = new AtomicLong();
+		long startCpu = 0L;
+		long startGcCount = 0L;
+		long startGcMillis = 0L;
+		long startMillis = 0L;
+		boolean detached = false;
+		String status = null;
+		long wallMillis = 0L;
+	}
+
+	/**
+	 * Name of the metrics file saved in the pipeline root directory: {@value #METRICS_FILE}
+	 */
+	public static final String METRICS_FILE = "metrics.json";
+	private static final String LOCK_FILE = "." + METRICS_FILE + ".lock";
+	private static final Map<BioModule, ModuleMetrics> metricsMap = new ConcurrentHashMap<>();
+	private static final String MODULES = "modules";
+}
@@ -0,0 +1,245 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.commons.io.FileUtils;
+import biolockj.Config;
+import biolockj.Constants;
+import biolockj.Log;
+import biolockj.api.ApiModule;
+import biolockj.module.BioModule;
+import biolockj.module.report.Email;
+
+/**
+ * This utility caches module output between pipelines, if
+ * {@link biolockj.Config}.{@value biolockj.Constants#PIPELINE_RESULT_CACHE} is defined.<br>
+ * Cached results are saved under &lt;cache&gt;/&lt;module class&gt;/&lt;input key&gt;/&lt;property key&gt;, where:
+ * <ul>
+ * <li>The input key is a SHA-256 digest of the module class, the name and content of each input file, and the content
+ * of the current metadata file.
+ * <li>The property key is a SHA-256 digest of every property the module read, as reported by
+ * {@link biolockj.Config#getUsedProps(BioModule)}, plus the properties listed by
+ * {@link biolockj.api.ApiModule#listProps()}.
+ * </ul>
+ * A cached result is used if the input key matches and every saved property resolves to the same value in the
+ * current {@link biolockj.Config}. Output files are copied to and from the cache, so a module that rewrites the output
+ * of a previous module in place cannot change a cached result.<br>
+ * A restored module does not run, so any state normally set by {@link biolockj.module.BioModule#runModule()} is not
+ * set. The module summary is saved with the output and reported in its place by
+ * {@link biolockj.util.SummaryUtil#reportSuccess(BioModule)}.
+ */
+public class ModuleCacheUtil {
+
+	// Prevent instantiation
+	private ModuleCacheUtil() {}
+
+	/**
+	 * Get the summary to report for a module restored from the cache: the summary saved with the cached output, or a
+	 * note that it is not available.
+	 *
+	 * @param module BioModule
+	 * @return Module summary, or null if the module was not restored from the cache
+	 */
+	public static String getRestoredSummary( final BioModule module ) {
+		return restoredSummaries.get( module );
+	}
+
+	/**
+	 * Restore the module output directory from the cache, if a matching result exists.<br>
+	 * Must be called before the module is executed, since the input key includes the current metadata file.
+	 *
+	 * @param module BioModule
+	 * @return true if the output directory was restored
+	 * @throws Exception if errors occur reading the cache
+	 */
+	public static boolean restore( final BioModule module ) throws Exception {
+		if( !isCacheable( module ) ) return false;
+		final String inputKey = getInputKey( module );
+		if( inputKey == null ) return false;
+		inputKeys.put( module, inputKey );
+
+		final File dir = new File( getCacheDir( module ), inputKey );
+		final File[] entries = dir.listFiles();
+		if( entries == null ) return false;
+		Arrays.sort( entries );
+		for( final File entry: entries ) {
+			final File output = new File( entry, BioModule.OUTPUT_DIR );
+			final File propFile = new File( entry, PROP_FILE );
+			if( !output.isDirectory() || !propFile.isFile() || !propsMatch( module, readProps( propFile ) ) ) continue;
+			Log.info( ModuleCacheUtil.class, "Restore " + ModuleUtil.displaySignature( module ) +
+				" output from cache: " + entry.getAbsolutePath() );
+			FileUtils.copyDirectory( output, module.getOutputDir() );
+			final File summaryFile = new File( entry, SUMMARY_FILE );
+			String summary = "Output restored from cache: " + entry.getAbsolutePath() + Constants.RETURN;
+			if( summaryFile.isFile() ) summary += FileUtils.readFileToString( summaryFile, StandardCharsets.UTF_8 );
+			else {
+				Log.warn( ModuleCacheUtil.class, "Module summary not cached for " +
+					ModuleUtil.displaySignature( module ) + " --> summary will not include its run details" );
+				summary += "Module summary not available: the cached result was saved without it." + Constants.RETURN;
+			}
+			restoredSummaries.put( module, summary );
+			return true;
+		}
+
+		Log.info( ModuleCacheUtil.class, "No cached result found for: " + ModuleUtil.displaySignature( module ) );
+		return false;
+	}
+
+	/**
+	 * Save the output directory and summary of a successfully completed module to the cache. Errors are logged, but do
+	 * not fail the pipeline.
+	 *
+	 * @param module BioModule
+	 * @param runDetached Set true if the module ran in a direct module JVM, which saved its summary with
+	 * {@link #saveDirectSummary(BioModule)}
+	 */
+	public static void save( final BioModule module, final boolean runDetached ) {
+		final String inputKey = inputKeys.remove( module );
+		if( inputKey == null ) return;
+		File tempDir = null;
+		try {
+			final TreeMap<String, String> props = getModuleProps( module );
+			final File entry = new File( new File( getCacheDir( module ), inputKey ), digest( props.toString() ) );
+			if( entry.isDirectory() ) return;
+
+			tempDir = new File( entry.getParentFile(), "." + entry.getName() + "_" + System.currentTimeMillis() );
+			FileUtils.copyDirectory( module.getOutputDir(), new File( tempDir, BioModule.OUTPUT_DIR ) );
+			writeProps( props, new File( tempDir, PROP_FILE ) );
+			final File directSummary = new File( module.getTempDir(), DIRECT_SUMMARY_FILE );
+			if( !runDetached ) FileUtils.writeStringToFile( new File( tempDir, SUMMARY_FILE ), module.getSummary(),
+				StandardCharsets.UTF_8 );
+			else if( directSummary.isFile() ) FileUtils.copyFile( directSummary, new File( tempDir, SUMMARY_FILE ) );
+			Files.move( tempDir.toPath(), entry.toPath(), StandardCopyOption.ATOMIC_MOVE );
+			Log.info( ModuleCacheUtil.class, "Saved " + ModuleUtil.displaySignature( module ) + " output to cache: " +
+				entry.getAbsolutePath() );
+		} catch( final Exception ex ) {
+			Log.warn( ModuleCacheUtil.class,
+				"Unable to cache output of " + ModuleUtil.displaySignature( module ) + ": " + ex.getMessage() );
+		} finally {
+			if( tempDir != null && tempDir.exists() ) FileUtils.deleteQuietly( tempDir );
+		}
+	}
+
+	/**
+	 * Save the summary of a module run in a direct module JVM to the module temp directory, so the pipeline JVM can
+	 * cache it with the module output. Errors are logged, but do not fail the module.
+	 *
+	 * @param module BioModule
+	 */
+	public static void saveDirectSummary( final BioModule module ) {
+		try {
+			if( Config.getString( null, Constants.PIPELINE_RESULT_CACHE ) == null ) return;
+			FileUtils.writeStringToFile( new File( module.getTempDir(), DIRECT_SUMMARY_FILE ), module.getSummary(),
+				StandardCharsets.UTF_8 );
+		} catch( final Exception ex ) {
+			Log.warn( ModuleCacheUtil.class, "Unable to save summary of " + ModuleUtil.displaySignature( module ) +
+				" for the cache: " + ex.getMessage() );
+		}
+	}
+
+	private static String digest( final String val ) throws Exception {
+		final MessageDigest md = MessageDigest.getInstance( DIGEST_ALGORITHM );
+		return toHex( md.digest( val.getBytes( StandardCharsets.UTF_8 ) ) );
+	}
+
+	private static void digestFile( final MessageDigest md, final File file ) throws IOException {
+		md.update( file.getName().getBytes( StandardCharsets.UTF_8 ) );
+		final byte[] buffer = new byte[ BUFFER_SIZE ];
+		try( InputStream in = new FileInputStream( file ) ) {
+			for( int n = in.read( buffer ); n != -1; n = in.read( buffer ) )
+				md.update( buffer, 0, n );
+		}
+	}
+
+	private static File getCacheDir( final BioModule module ) throws Exception {
+		return new File( Config.getExistingDir( null, Constants.PIPELINE_RESULT_CACHE ),
+			module.getClass().getName() );
+	}
+
+	private static String getInputKey( final BioModule module ) {
+		try {
+			final MessageDigest md = MessageDigest.getInstance( DIGEST_ALGORITHM );
+			md.update( module.getClass().getName().getBytes( StandardCharsets.UTF_8 ) );
+			final List<File> files = new ArrayList<>( module.getInputFiles() );
+			Collections.sort( files );
+			for( final File file: files )
+				digestFile( md, file );
+			if( MetaUtil.exists() ) digestFile( md, MetaUtil.getMetadata() );
+			return toHex( md.digest() );
+		} catch( final Exception ex ) {
+			Log.warn( ModuleCacheUtil.class, "Unable to build cache key for " + ModuleUtil.displaySignature( module ) +
+				": " + ex.getMessage() );
+		}
+		return null;
+	}
+
+	private static TreeMap<String, String> getModuleProps( final BioModule module ) {
+		final TreeMap<String, String> props = Config.getUsedProps( module );
+		if( module instanceof ApiModule ) for( final String prop: ( (ApiModule) module ).listProps() )
+			if( !Config.isInternalProperty( prop ) ) props.put( prop, Config.getString( module, prop ) );
+		return props;
+	}
+
+	private static boolean isCacheable( final BioModule module ) throws Exception {
+		return !( module instanceof Email ) && !BioLockJUtil.isDirectMode() &&
+			Config.getString( null, Constants.PIPELINE_RESULT_CACHE ) != null;
+	}
+
+	private static boolean propsMatch( final BioModule module, final Properties cached ) {
+		for( final String prop: cached.stringPropertyNames() ) {
+			final String val = Config.getString( module, prop );
+			if( !cached.getProperty( prop ).equals( val == null ? "": val ) ) {
+				Log.debug( ModuleCacheUtil.class, "Cached result skipped, property changed: " + prop );
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static Properties readProps( final File file ) throws IOException {
+		final Properties props = new Properties();
+		try( Reader reader = new InputStreamReader( new FileInputStream( file ), StandardCharsets.UTF_8 ) ) {
+			props.load( reader );
+		}
+		return props;
+	}
+
+	private static String toHex( final byte[] bytes ) {
+		final StringBuilder sb = new StringBuilder();
+		for( final byte b: bytes )
+			sb.append( String.format( "%02x", b ) );
+		return sb.toString();
+	}
+
+	private static void writeProps( final Map<String, String> map, final File file ) throws IOException {
+		final Properties props = new Properties();
+		for( final String prop: map.keySet() )
+			props.setProperty( prop, map.get( prop ) == null ? "": map.get( prop ) );
+		try( Writer writer = new OutputStreamWriter( new FileOutputStream( file ), StandardCharsets.UTF_8 ) ) {
+			props.store( writer, "Properties used by the cached module" );
+		}
+	}
+
+	private static final int BUFFER_SIZE = 64 * 1024;
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final String DIRECT_SUMMARY_FILE = ".cacheSummary.txt";
+	private static final Map<BioModule, String> inputKeys = new ConcurrentHashMap<>();
+	private static final String PROP_FILE = "module.properties";
+	private static final Map<BioModule, String> restoredSummaries = new ConcurrentHashMap<>();
+	private static final String SUMMARY_FILE = "summary.txt";
+}
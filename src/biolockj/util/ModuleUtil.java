@@ -14,12 +14,16 @@ package biolockj.util;
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.filefilter.IOFileFilter;
+import org.apache.commons.io.filefilter.WildcardFileFilter;
 import biolockj.*;
 import biolockj.exception.BioLockJStatusException;
 import biolockj.exception.ConfigFormatException;
 import biolockj.exception.ConfigNotFoundException;
 import biolockj.module.BioModule;
 import biolockj.module.JavaModule;
+import biolockj.module.ScriptModule;
 import biolockj.module.classifier.ClassifierModule;
 import biolockj.module.implicit.Demultiplexer;
 import biolockj.module.report.r.R_CalculateStats;
@@ -35,6 +39,28 @@ public class ModuleUtil {
 	// Prevent instantiation
 	private ModuleUtil() {}
 
+	/**
+	 * Return TRUE if an incomplete module can be restarted without running its successful worker scripts again.<br>
+	 * Only bash {@link biolockj.module.ScriptModule}s (not {@link biolockj.module.JavaModule}s or
+	 * {@link biolockj.module.report.r.R_Module}s) outside of AWS qualify, and at least 1 worker script must have a
+	 * {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file.
+	 *
+	 * @param module BioModule
+	 * @return TRUE if successful worker output can be kept
+	 */
+	public static boolean canResumeWorkers( final BioModule module ) {
+		if( !( module instanceof ScriptModule ) || module instanceof JavaModule || module instanceof R_Module ||
+			DockerUtil.inAwsEnv() || !subDirExists( module, Constants.SCRIPT_DIR ) ) return false;
+		try {
+			for( final File worker: getWorkerScripts( (ScriptModule) module ) )
+				if( new File( worker.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS ).isFile() ) return true;
+		} catch( final Exception ex ) {
+			Log.warn( ModuleUtil.class, "Unable to check worker scripts of " + displaySignature( module ) + ": " +
+				ex.getMessage() );
+		}
+		return false;
+	}
+
 	/**
 	 * Return the module ID as a 2 digit display number (add leading zero if needed).
 	 * 
@@ -206,6 +232,30 @@ public class ModuleUtil {
 		return Pipeline.getModules().get( module.getID() - 1 );
 	}
 
+	/**
+	 * Return the worker scripts in the module script directory.<br>
+	 * For {@link biolockj.module.report.r.R_Module}s, the MAIN R script (or MAIN bash script in Docker) is returned,
+	 * otherwise the MAIN script is excluded.
+	 *
+	 * @param module ScriptModule
+	 * @return Worker scripts
+	 * @throws Exception if errors occur finding the MAIN script
+	 */
+	public static Collection<File> getWorkerScripts( final ScriptModule module ) throws Exception {
+		final Collection<File> scriptFiles =
+			FileUtils.listFiles( module.getScriptDir(), getWorkerScriptFilter( module ), null );
+
+		final File mainScript = module.getMainScript();
+		if( !( module instanceof R_Module ) && mainScript != null ) scriptFiles.remove( mainScript );
+
+		if( !DockerUtil.inAwsEnv() ) Log.debug( ModuleUtil.class,
+			"mainScript = " + ( mainScript == null ? "<null>": mainScript.getAbsolutePath() ) );
+		for( final File f: scriptFiles )
+			Log.debug( ModuleUtil.class, "Worker Script = " + f.getAbsolutePath() );
+
+		return scriptFiles;
+	}
+
 	/**
 	 * Return TRUE if module has executed.
 	 *
@@ -360,6 +410,30 @@ public class ModuleUtil {
 		return dir;
 	}
 
+	/**
+	 * Prepare an incomplete module to resume: keep the output, temp files and successful worker scripts, but delete the
+	 * MAIN script and every worker script without a {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file, along
+	 * with their indicator files. When the module runs, {@link biolockj.util.BashScriptBuilder} regenerates the missing
+	 * worker scripts and the MAIN script only runs those workers.
+	 *
+	 * @param module ScriptModule
+	 * @throws Exception if errors occur deleting the scripts
+	 */
+	public static void resetFailedWorkers( final ScriptModule module ) throws Exception {
+		final Collection<File> workers = getWorkerScripts( module );
+		int numReset = 0;
+		for( final File worker: workers )
+			if( !new File( worker.getAbsolutePath() + "_" + Constants.SCRIPT_SUCCESS ).isFile() ) {
+				deleteScript( worker );
+				numReset++;
+			}
+
+		final File mainScript = module.getMainScript();
+		if( mainScript != null ) deleteScript( mainScript );
+		Log.info( ModuleUtil.class, "Resume incomplete module " + displaySignature( module ) + ": keep " +
+			( workers.size() - numReset ) + " successful worker scripts, reset " + numReset + " worker scripts" );
+	}
+
 	/**
 	 * Return TRUE if BioModule sub-directory exists
 	 *
@@ -372,6 +446,13 @@ public class ModuleUtil {
 		return dir.isDirectory();
 	}
 
+	private static void deleteScript( final File script ) {
+		for( final String flag: new String[] { Constants.SCRIPT_STARTED, Constants.SCRIPT_SUCCESS,
+			Constants.SCRIPT_FAILURES } )
+			FileUtils.deleteQuietly( new File( script.getAbsolutePath() + "_" + flag ) );
+		FileUtils.deleteQuietly( script );
+	}
+
 	private static List<Integer> getClassifierIds() {
 		final List<Integer> ids = new ArrayList<>();
 		for( final BioModule m: Pipeline.getModules() )
@@ -379,6 +460,15 @@ public class ModuleUtil {
 		return ids;
 	}
 
+	private static IOFileFilter getWorkerScriptFilter( final ScriptModule module ) {
+		String filterString = "*" + Constants.SH_EXT;
+		if( DockerUtil.inDockerEnv() && module instanceof R_Module )
+			filterString = BioModule.MAIN_SCRIPT_PREFIX + "*" + Constants.SH_EXT;
+		else if( module instanceof R_Module ) filterString = BioModule.MAIN_SCRIPT_PREFIX + "*" + Constants.R_EXT;
+
+		return new WildcardFileFilter( filterString );
+	}
+
 	private static List<Integer> getRModulesIds() {
 		final List<Integer> ids = new ArrayList<>();
 		for( final BioModule m: Pipeline.getModules() )
@@ -0,0 +1,456 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.util.*;
+import biolockj.Constants;
+
+/**
+ * Sparse sample by OTU count matrix, stored in compressed sparse row (CSR) format. Rows are samples, ordered by sample
+ * ID, and columns are OTUs, ordered by name, so iteration follows the same order as the
+ * TreeMap(SampleId, TreeMap(OTU, count)) returned by {@link biolockj.util.OtuUtil#getSampleOtuCounts(Collection)}.
+ * Counts are primitive longs, and each column holds the OTU exactly as read, stored once for all samples, with its
+ * {@link biolockj.util.TaxaDictionary} ID for taxa lookups.<br>
+ * Each stored count is an entry: the entries of a row are found from {@link #getRowStart(int)} to
+ * {@link #getRowEnd(int)}, ordered by column. Entries set to 0 are treated as removed.<br>
+ * {@link #getLevelCounts(String)} builds a matrix of the same samples with 1 column per taxa at the given level.
+ */
+public class OtuCountMatrix {
+
+	/**
+	 * OTU counts read from a single sample OTU count file, as returned by
+	 * {@link biolockj.util.OtuUtil#readSampleCounts(File)}.
+	 */
+	public static class SampleCounts {
+
+		/**
+		 * Construct an empty sample.
+		 *
+		 * @param sampleId Sample ID
+		 */
+		public SampleCounts( final String sampleId ) {
+			this.sampleId = sampleId;
+		}
+
+		/**
+		 * Add an OTU count. The OTU is kept as given, and shares the {@link biolockj.util.TaxaDictionary} copy of
+		 * the OTU String if equal.
+		 *
+		 * @param otu OTU
+		 * @param count OTU count
+		 */
+		public void add( final String otu, final long count ) {
+			if( this.size == this.otus.length ) {
+				this.otus = Arrays.copyOf( this.otus, this.size * 2 );
+				this.counts = Arrays.copyOf( this.counts, this.size * 2 );
+			}
+			this.otus[ this.size ] = TaxaDictionary.intern( otu );
+			this.counts[ this.size++ ] = count;
+		}
+
+		/**
+		 * Get the sample ID.
+		 *
+		 * @return Sample ID
+		 */
+		public String getSampleId() {
+			return this.sampleId;
+		}
+
+		private long[] counts = new long[ INIT_SIZE ];
+		private String[] otus = new String[ INIT_SIZE ];
+		private final String sampleId;
+		private int size = 0;
+	}
+
+	/**
+	 * Build the matrix from the OTU counts of each sample. If a sample ID or an OTU within a sample is listed more
+	 * than once, the last count is kept, as with a TreeMap.
+	 *
+	 * @param samples OTU counts by sample
+	 */
+	public OtuCountMatrix( final Collection<SampleCounts> samples ) {
+		final TreeMap<String, SampleCounts> sampleMap = new TreeMap<>();
+		for( final SampleCounts sample: samples )
+			sampleMap.put( sample.getSampleId(), sample );
+
+		final Set<String> uniqueOtus = new HashSet<>();
+		for( final SampleCounts sample: sampleMap.values() )
+			for( int i = 0; i < sample.size; i++ )
+				uniqueOtus.add( sample.otus[ i ] );
+
+		this.columns = uniqueOtus.toArray( new String[ uniqueOtus.size() ] );
+		Arrays.sort( this.columns );
+		this.columnIds = new int[ this.columns.length ];
+		final Map<String, Integer> columnIndex = new HashMap<>( this.columns.length * 2 );
+		for( int i = 0; i < this.columns.length; i++ ) {
+			this.columnIds[ i ] = TaxaDictionary.getOtuId( this.columns[ i ] );
+			columnIndex.put( this.columns[ i ], i );
+		}
+
+		this.sampleIds = sampleMap.keySet().toArray( new String[ sampleMap.size() ] );
+		this.rowStart = new int[ this.sampleIds.length + 1 ];
+		int numEntries = 0;
+		for( final SampleCounts sample: sampleMap.values() )
+			numEntries += sample.size;
+		this.entryColumns = new int[ numEntries ];
+		this.entryCounts = new long[ numEntries ];
+
+		int row = 0;
+		int k = 0;
+		for( final SampleCounts sample: sampleMap.values() ) {
+			final long[] keys = new long[ sample.size ];
+			for( int i = 0; i < sample.size; i++ )
+				keys[ i ] = (long) columnIndex.get( sample.otus[ i ] ) << 32 | i;
+			Arrays.sort( keys );
+			for( int i = 0; i < keys.length; i++ ) {
+				final int col = (int) ( keys[ i ] >>> 32 );
+				if( i + 1 < keys.length && (int) ( keys[ i + 1 ] >>> 32 ) == col ) continue;
+				this.entryColumns[ k ] = col;
+				this.entryCounts[ k++ ] = sample.counts[ (int) keys[ i ] ];
+			}
+			this.rowStart[ ++row ] = k;
+		}
+	}
+
+	private OtuCountMatrix( final String[] sampleIds, final String[] columns, final int[] columnIds,
+		final int[] rowStart, final int[] entryColumns, final long[] entryCounts ) {
+		this.sampleIds = sampleIds;
+		this.columns = columns;
+		this.columnIds = columnIds;
+		this.rowStart = rowStart;
+		this.entryColumns = entryColumns;
+		this.entryCounts = entryCounts;
+	}
+
+	/**
+	 * Get the {@link biolockj.util.TaxaDictionary} ID of the column: the OTU ID, or the taxa ID for a matrix built by
+	 * {@link #getLevelCounts(String)}. OTUs listed with empty taxa (such as "a||b") share the ID of the OTU without
+	 * them, but keep their own column.
+	 *
+	 * @param col Column index
+	 * @return Dictionary ID, or {@value biolockj.util.TaxaDictionary#NO_ID} for an OTU without taxa
+	 */
+	public int getColumnId( final int col ) {
+		return this.columnIds[ col ];
+	}
+
+	/**
+	 * Get the number of entries in the column.
+	 *
+	 * @param col Column index
+	 * @return Number of samples with a count for the column
+	 */
+	public int getColumnSize( final int col ) {
+		final int[] colStart = getTranspose()[ 0 ];
+		return colStart[ col + 1 ] - colStart[ col ];
+	}
+
+	/**
+	 * Get the entry indexes of the column, ordered by row, for column iteration.
+	 *
+	 * @param col Column index
+	 * @return Entry indexes
+	 */
+	public int[] getColumnEntries( final int col ) {
+		final int[][] transpose = getTranspose();
+		return Arrays.copyOfRange( transpose[ 1 ], transpose[ 0 ][ col ], transpose[ 0 ][ col + 1 ] );
+	}
+
+	/**
+	 * Get the count for the sample and column.
+	 *
+	 * @param row Row index
+	 * @param col Column index
+	 * @return Count, or 0 if the sample has no count for the column
+	 */
+	public long getCount( final int row, final int col ) {
+		final int k = getEntry( row, col );
+		return k < 0 ? 0L: this.entryCounts[ k ];
+	}
+
+	/**
+	 * Find the entry of the sample and column.
+	 *
+	 * @param row Row index
+	 * @param col Column index
+	 * @return Entry index, or -1 if the sample has no count for the column
+	 */
+	public int getEntry( final int row, final int col ) {
+		final int k = Arrays.binarySearch( this.entryColumns, this.rowStart[ row ], this.rowStart[ row + 1 ], col );
+		return k < 0 ? -1: k;
+	}
+
+	/**
+	 * Get the column of the entry.
+	 *
+	 * @param k Entry index
+	 * @return Column index
+	 */
+	public int getEntryColumn( final int k ) {
+		return this.entryColumns[ k ];
+	}
+
+	/**
+	 * Get the count of the entry.
+	 *
+	 * @param k Entry index
+	 * @return Count
+	 */
+	public long getEntryCount( final int k ) {
+		return this.entryCounts[ k ];
+	}
+
+	/**
+	 * Get the row of the entry.
+	 *
+	 * @param k Entry index
+	 * @return Row index
+	 */
+	public int getEntryRow( final int k ) {
+		int row = Arrays.binarySearch( this.rowStart, k );
+		if( row < 0 ) return -row - 2;
+		while( this.rowStart[ row + 1 ] == k )
+			row++;
+		return row;
+	}
+
+	/**
+	 * Sum the counts of each sample by the taxa found at the given level of each OTU. OTUs without a taxa at the level
+	 * are ignored. The new matrix has the same rows, and 1 column per taxa name, ordered by name, as with
+	 * {@link biolockj.util.TaxaUtil#getLevelTaxaCounts(TreeMap, String)}.
+	 *
+	 * @param level Taxonomy level
+	 * @return Matrix of taxa counts
+	 */
+	public OtuCountMatrix getLevelCounts( final String level ) {
+		final TreeMap<String, Integer> taxaIds = new TreeMap<>();
+		final int[] otuTaxa = new int[ this.columns.length ];
+		for( int col = 0; col < this.columns.length; col++ ) {
+			otuTaxa[ col ] = TaxaDictionary.getTaxaId( this.columnIds[ col ], level );
+			if( otuTaxa[ col ] != TaxaDictionary.NO_ID )
+				taxaIds.put( TaxaDictionary.getTaxaName( otuTaxa[ col ] ), otuTaxa[ col ] );
+		}
+
+		final String[] taxa = taxaIds.keySet().toArray( new String[ taxaIds.size() ] );
+		final int[] ids = new int[ taxa.length ];
+		final Map<Integer, Integer> taxaColumns = new HashMap<>( taxa.length * 2 );
+		for( int i = 0; i < taxa.length; i++ ) {
+			ids[ i ] = taxaIds.get( taxa[ i ] );
+			taxaColumns.put( ids[ i ], i );
+		}
+		final int[] colMap = new int[ this.columns.length ];
+		for( int col = 0; col < this.columns.length; col++ )
+			colMap[ col ] = otuTaxa[ col ] == TaxaDictionary.NO_ID ? -1: taxaColumns.get( otuTaxa[ col ] );
+
+		final int[] newRowStart = new int[ this.rowStart.length ];
+		final int[] newColumns = new int[ Math.min( this.entryColumns.length, taxa.length * getNumSamples() ) ];
+		final long[] newCounts = new long[ newColumns.length ];
+		final long[] sums = new long[ taxa.length ];
+		final int[] found = new int[ taxa.length ];
+		int n = 0;
+		for( int row = 0; row < getNumSamples(); row++ ) {
+			int numFound = 0;
+			for( int k = this.rowStart[ row ]; k < this.rowStart[ row + 1 ]; k++ ) {
+				final int col = colMap[ this.entryColumns[ k ] ];
+				if( col < 0 || this.entryCounts[ k ] == 0 ) continue;
+				if( sums[ col ] == 0 ) found[ numFound++ ] = col;
+				sums[ col ] += this.entryCounts[ k ];
+			}
+			Arrays.sort( found, 0, numFound );
+			for( int i = 0; i < numFound; i++ ) {
+				newColumns[ n ] = found[ i ];
+				newCounts[ n++ ] = sums[ found[ i ] ];
+				sums[ found[ i ] ] = 0L;
+			}
+			newRowStart[ row + 1 ] = n;
+		}
+
+		return new OtuCountMatrix( this.sampleIds, taxa, ids, newRowStart, Arrays.copyOf( newColumns, n ),
+			Arrays.copyOf( newCounts, n ) );
+	}
+
+	/**
+	 * Get the number of columns.
+	 *
+	 * @return Number of OTUs, or taxa for a matrix built by {@link #getLevelCounts(String)}
+	 */
+	public int getNumOtus() {
+		return this.columns.length;
+	}
+
+	/**
+	 * Get the number of rows.
+	 *
+	 * @return Number of samples
+	 */
+	public int getNumSamples() {
+		return this.sampleIds.length;
+	}
+
+	/**
+	 * Get the column name.
+	 *
+	 * @param col Column index
+	 * @return OTU, or taxa name for a matrix built by {@link #getLevelCounts(String)}
+	 */
+	public String getOtu( final int col ) {
+		return this.columns[ col ];
+	}
+
+	/**
+	 * Find the column index of the OTU.
+	 *
+	 * @param otu OTU, or taxa name for a matrix built by {@link #getLevelCounts(String)}
+	 * @return Column index, or -1 if not found
+	 */
+	public int getOtuIndex( final String otu ) {
+		final int col = Arrays.binarySearch( this.columns, otu );
+		return col < 0 ? -1: col;
+	}
+
+	/**
+	 * Get the column names in column order.
+	 *
+	 * @return OTUs, or taxa names for a matrix built by {@link #getLevelCounts(String)}
+	 */
+	public List<String> getOtus() {
+		return Collections.unmodifiableList( Arrays.asList( this.columns ) );
+	}
+
+	/**
+	 * Get the index after the last entry of the row.
+	 *
+	 * @param row Row index
+	 * @return Entry index (exclusive)
+	 */
+	public int getRowEnd( final int row ) {
+		return this.rowStart[ row + 1 ];
+	}
+
+	/**
+	 * Get the index of the 1st entry of the row.
+	 *
+	 * @param row Row index
+	 * @return Entry index
+	 */
+	public int getRowStart( final int row ) {
+		return this.rowStart[ row ];
+	}
+
+	/**
+	 * Get the sample ID of the row.
+	 *
+	 * @param row Row index
+	 * @return Sample ID
+	 */
+	public String getSampleId( final int row ) {
+		return this.sampleIds[ row ];
+	}
+
+	/**
+	 * Get the sample IDs in row order.
+	 *
+	 * @return Sample IDs
+	 */
+	public List<String> getSampleIds() {
+		return Collections.unmodifiableList( Arrays.asList( this.sampleIds ) );
+	}
+
+	/**
+	 * Find the row index of the sample.
+	 *
+	 * @param sampleId Sample ID
+	 * @return Row index, or -1 if not found
+	 */
+	public int getSampleIndex( final String sampleId ) {
+		final int row = Arrays.binarySearch( this.sampleIds, sampleId );
+		return row < 0 ? -1: row;
+	}
+
+	/**
+	 * Get the total count of the sample.
+	 *
+	 * @param row Row index
+	 * @return Sum of the row counts
+	 */
+	public long getSampleTotal( final int row ) {
+		long total = 0L;
+		for( int k = this.rowStart[ row ]; k < this.rowStart[ row + 1 ]; k++ )
+			total += this.entryCounts[ k ];
+		return total;
+	}
+
+	/**
+	 * Update the count of an entry. Set the count to 0 to remove it.
+	 *
+	 * @param k Entry index
+	 * @param count New count
+	 */
+	public void setEntryCount( final int k, final long count ) {
+		this.entryCounts[ k ] = count;
+	}
+
+	/**
+	 * Write the OTU counts of the sample to an OTU count file, skipping removed entries.
+	 *
+	 * @param row Row index
+	 * @param file OTU count file
+	 * @return Total count written
+	 * @throws Exception if unable to write the file
+	 */
+	public long writeSample( final int row, final File file ) throws Exception {
+		long total = 0L;
+		final BufferedWriter writer = BioLockJUtil.getFileWriter( file );
+		try {
+			for( int k = this.rowStart[ row ]; k < this.rowStart[ row + 1 ]; k++ )
+				if( this.entryCounts[ k ] != 0 ) {
+					writer.write( this.columns[ this.entryColumns[ k ] ] + Constants.TAB_DELIM + this.entryCounts[ k ] +
+						Constants.RETURN );
+					total += this.entryCounts[ k ];
+				}
+		} finally {
+			writer.close();
+		}
+		return total;
+	}
+
+	/**
+	 * Build the column index on first use: the start of each column and the entry indexes ordered by column, then row.
+	 */
+	private synchronized int[][] getTranspose() {
+		if( this.transpose == null ) {
+			final int[] colStart = new int[ this.columns.length + 1 ];
+			for( final int col: this.entryColumns )
+				colStart[ col + 1 ]++;
+			for( int col = 0; col < this.columns.length; col++ )
+				colStart[ col + 1 ] += colStart[ col ];
+			final int[] next = Arrays.copyOf( colStart, this.columns.length );
+			final int[] entries = new int[ this.entryColumns.length ];
+			for( int k = 0; k < this.entryColumns.length; k++ )
+				entries[ next[ this.entryColumns[ k ] ]++ ] = k;
+			this.transpose = new int[][] { colStart, entries };
+		}
+		return this.transpose;
+	}
+
+	private final int[] columnIds;
+	private final String[] columns;
+	private final int[] entryColumns;
+	private final long[] entryCounts;
+	private final int[] rowStart;
+	private final String[] sampleIds;
+	private int[][] transpose = null;
+	private static final int INIT_SIZE = 64;
+}
@@ -76,7 +76,8 @@ public class OtuUtil {
 	}
 
 	/**
-	 * Compile OTU counts from an individual sample OTU count file
+	 * Compile OTU counts from an individual sample OTU count file. OTU names are shared through the
+	 * {@link biolockj.util.TaxaDictionary}, so OTUs found in many samples are stored only once.
 	 * 
 	 * @param file OTU count file
 	 * @return TreeMap(OTU, count)
@@ -91,7 +92,7 @@ public class OtuUtil {
 		try {
 			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
 				final OtuCountLine ocl = new OtuCountLine( line );
-				otuCounts.put( ocl.getOtu(), ocl.getCount() );
+				otuCounts.put( TaxaDictionary.intern( ocl.getOtu() ), ocl.getCount() );
 			}
 		} finally {
 			if( reader != null ) reader.close();
@@ -155,6 +156,36 @@ public class OtuUtil {
 			otuCountFile.getName().length() - Constants.TSV_EXT.length() );
 	}
 
+	/**
+	 * Read the OTU counts of a single sample OTU count file. OTUs and counts are kept exactly as read, and are added to
+	 * the {@link biolockj.util.TaxaDictionary}, loading the dictionary saved in the file directory if found. Safe to
+	 * call on multiple threads.
+	 * 
+	 * @param file OTU count file
+	 * @return Sample OTU counts
+	 * @throws Exception if the file name is missing "_{@value biolockj.Constants#OTU_COUNT}_" or the file is not
+	 * formatted as an OTU file
+	 */
+	public static OtuCountMatrix.SampleCounts readSampleCounts( final File file ) throws Exception {
+		if( !file.getName().contains( "_" + Constants.OTU_COUNT + "_" ) )
+			throw new Exception( "Module input files must contain sample OTU counts with \"_" + Constants.OTU_COUNT +
+				"_\" as part of the file name.  Found file: " + file.getAbsolutePath() );
+
+		TaxaDictionary.load( file.getParentFile() );
+		final OtuCountMatrix.SampleCounts sample = new OtuCountMatrix.SampleCounts( getSampleId( file ) );
+		final BufferedReader reader = BioLockJUtil.getFileReader( file );
+		try {
+			for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+				final OtuCountLine ocl = new OtuCountLine( line );
+				sample.add( ocl.getOtu(), ocl.getCount() );
+			}
+		} finally {
+			reader.close();
+		}
+
+		return sample;
+	}
+
 	/**
 	 * TreeMap OTU counts for each sample file formatted and named as in
 	 * {@link biolockj.module.implicit.parser.ParserModule} output.
@@ -167,6 +198,7 @@ public class OtuUtil {
 		throws Exception {
 		final TreeMap<String, TreeMap<String, Long>> otuCountsBySample = new TreeMap<>();
 		for( final File file: files ) {
+			TaxaDictionary.load( file.getParentFile() );
 			if( !file.getName().contains( "_" + Constants.OTU_COUNT + "_" ) )
 				throw new Exception( "Module input files must contain sample OTU counts with \"_" +
 					Constants.OTU_COUNT + "_\" as part of the file name.  Found file: " + file.getAbsolutePath() );
@@ -177,6 +209,22 @@ public class OtuUtil {
 		return otuCountsBySample;
 	}
 
+	/**
+	 * Build the {@link biolockj.util.OtuCountMatrix} of the OTU count files, formatted and named as in
+	 * {@link biolockj.module.implicit.parser.ParserModule} output. Modules should use
+	 * {@link biolockj.module.report.otu.OtuCountModule#getOtuCountMatrix()}, which reads the files in parallel.
+	 * 
+	 * @param files Collection of OTU count files
+	 * @return OTU count matrix
+	 * @throws Exception if any of the input file names are missing "_{@value biolockj.Constants#OTU_COUNT}_"
+	 */
+	public static OtuCountMatrix getOtuCountMatrix( final Collection<File> files ) throws Exception {
+		final List<OtuCountMatrix.SampleCounts> samples = new ArrayList<>();
+		for( final File file: files )
+			samples.add( readSampleCounts( file ) );
+		return new OtuCountMatrix( samples );
+	}
+
 	/**
 	 * Check the file name and contents to determine if file is an OTU count file.
 	 * 
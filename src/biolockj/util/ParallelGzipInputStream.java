@@ -0,0 +1,160 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Gzip input stream that decompresses on a background thread, like pigz. The background thread reads and inflates
+ * the file into {@value #NUM_BUFFERS} read-ahead buffers, so disk reads, decompression and CRC checks run while the
+ * caller parses the previous buffer. Multi-member files (such as those written by
+ * {@link biolockj.util.ParallelGzipOutputStream}) are read as 1 stream.
+ */
+public class ParallelGzipInputStream extends InputStream {
+
+	/**
+	 * Start decompressing the stream on a background thread.
+	 *
+	 * @param in Gzipped input stream
+	 * @throws IOException if the stream does not start with a valid gzip header
+	 */
+	public ParallelGzipInputStream( final InputStream in ) throws IOException {
+		final GZIPInputStream gzip = new GZIPInputStream( in, BUFFER_SIZE );
+		for( int i = 0; i < NUM_BUFFERS; i++ )
+			this.free.add( new Chunk() );
+		this.reader = new Thread( () -> inflate( gzip ), "gunzip-" + Thread.currentThread().getName() );
+		this.reader.setDaemon( true );
+		this.reader.start();
+	}
+
+	@Override
+	public int available() throws IOException {
+		return this.current == null ? 0: this.current.len - this.pos;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if( this.closed ) return;
+		this.closed = true;
+		this.reader.interrupt();
+		try {
+			this.reader.join();
+		} catch( final InterruptedException ex ) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	@Override
+	public int read() throws IOException {
+		if( !nextChunk() ) return -1;
+		return this.current.data[ this.pos++ ] & 0xff;
+	}
+
+	@Override
+	public int read( final byte[] b, final int off, final int len ) throws IOException {
+		if( len == 0 ) return 0;
+		if( !nextChunk() ) return -1;
+		final int n = Math.min( len, this.current.len - this.pos );
+		System.arraycopy( this.current.data, this.pos, b, off, n );
+		this.pos += n;
+		return n;
+	}
+
+	/**
+	 * Fill free buffers from the gzip stream until the end of the stream. Runs on the background thread, which owns
+	 * the gzip stream.
+	 */
+	private void inflate( final GZIPInputStream gzip ) {
+		try {
+			while( true ) {
+				final Chunk chunk = this.free.take();
+				chunk.len = 0;
+				while( chunk.len < chunk.data.length ) {
+					final int n = gzip.read( chunk.data, chunk.len, chunk.data.length - chunk.len );
+					if( n == -1 ) break;
+					chunk.len += n;
+				}
+				if( chunk.len == 0 ) break;
+				this.full.put( chunk );
+			}
+			this.full.put( EOF );
+		} catch( final InterruptedException ex ) {
+			return;
+		} catch( final Exception ex ) {
+			this.error = ex instanceof IOException ? (IOException) ex: new IOException( ex.getMessage(), ex );
+			this.full.offer( EOF );
+		} finally {
+			try {
+				gzip.close();
+			} catch( final IOException ex ) {
+				// nothing to do: the stream is no longer used
+			}
+		}
+	}
+
+	/**
+	 * Make sure the current buffer has unread bytes, taking the next buffer from the background thread if needed.
+	 *
+	 * @return FALSE at the end of the stream
+	 */
+	private boolean nextChunk() throws IOException {
+		if( this.closed ) throw new IOException( "Stream closed" );
+		while( this.current == null || this.pos == this.current.len ) {
+			if( this.current == EOF ) return false;
+			if( this.current != null ) this.free.add( this.current );
+			try {
+				this.current = this.full.take();
+			} catch( final InterruptedException ex ) {
+				Thread.currentThread().interrupt();
+				throw new InterruptedIOException( "Interrupted while reading gzip stream" );
+			}
+			this.pos = 0;
+			if( this.current == EOF && this.error != null ) throw this.error;
+		}
+		return true;
+	}
+
+	/**
+	 * Read-ahead buffer passed between the threads.
+	 */
+	private static class Chunk {
+		private final byte[] data;
+		private int len = 0;
+
+		private Chunk() {
+			this( BUFFER_SIZE );
+		}
+
+		private Chunk( final int size ) {
+			this.data = new byte[ size ];
+		}
+	}
+
+	private volatile boolean closed = false;
+	private Chunk current = null;
+	private volatile IOException error = null;
+	private final BlockingQueue<Chunk> free = new ArrayBlockingQueue<>( NUM_BUFFERS );
+	private final BlockingQueue<Chunk> full = new ArrayBlockingQueue<>( NUM_BUFFERS + 1 );
+	private int pos = 0;
+	private final Thread reader;
+
+	/**
+	 * Number of read-ahead buffers: {@value #NUM_BUFFERS}
+	 */
+	public static final int NUM_BUFFERS = 4;
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+	private static final Chunk EOF = new Chunk( 0 );
+}
@@ -0,0 +1,209 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Gzip output stream that compresses blocks in parallel, like pigz. Data is cut into {@value #BLOCK_SIZE} byte blocks
+ * and each block is compressed into a complete gzip member on a shared thread pool. Members are written in order, so
+ * the output is a standard multi-member gzip file that can be read by gzip, pigz or {@link java.util.zip.GZIPInputStream}.
+ * <p>
+ * To limit memory use, the block buffer is allocated on first write and starts at 64 KB, so
+ * small files never use a full block. Each writer keeps at most 2 blocks per processor in flight, and all writers
+ * together keep at most 4 blocks per processor in flight on the shared pool. When the shared limit is reached, the
+ * writer first writes its own finished members, and compresses the block in the calling thread if it has none.
+ */
+public class ParallelGzipOutputStream extends OutputStream {
+
+	/**
+	 * Compress with the default gzip compression level.
+	 *
+	 * @param out Output stream for the compressed data
+	 */
+	public ParallelGzipOutputStream( final OutputStream out ) {
+		this( out, Deflater.DEFAULT_COMPRESSION );
+	}
+
+	/**
+	 * Compress with the given compression level.
+	 *
+	 * @param out Output stream for the compressed data
+	 * @param level Compression level from {@link java.util.zip.Deflater#BEST_SPEED} to
+	 * {@link java.util.zip.Deflater#BEST_COMPRESSION}
+	 */
+	public ParallelGzipOutputStream( final OutputStream out, final int level ) {
+		this.out = out;
+		this.level = level;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if( this.closed ) return;
+		this.closed = true;
+		try {
+			if( this.len > 0 || this.numMembers == 0 ) submitBlock();
+			while( !this.pending.isEmpty() )
+				writeMember();
+		} finally {
+			IN_FLIGHT.release( this.pending.size() );
+			this.pending.clear();
+			this.out.close();
+		}
+	}
+
+	/**
+	 * Compress the buffered data as a (possibly small) member and write all pending members.
+	 */
+	@Override
+	public void flush() throws IOException {
+		if( this.len > 0 ) submitBlock();
+		while( !this.pending.isEmpty() )
+			writeMember();
+		this.out.flush();
+	}
+
+	@Override
+	public void write( final byte[] b, final int off, final int length ) throws IOException {
+		int pos = off;
+		int remaining = length;
+		while( remaining > 0 ) {
+			ensureCapacity();
+			final int n = Math.min( remaining, this.block.length - this.len );
+			System.arraycopy( b, pos, this.block, this.len, n );
+			this.len += n;
+			pos += n;
+			remaining -= n;
+			if( this.len == this.block.length ) submitBlock();
+		}
+	}
+
+	@Override
+	public void write( final int b ) throws IOException {
+		ensureCapacity();
+		this.block[ this.len++ ] = (byte) b;
+		if( this.len == this.block.length ) submitBlock();
+	}
+
+	/**
+	 * Allocate the block buffer on first use and double it, up to {@value #BLOCK_SIZE} bytes, when full.
+	 */
+	private void ensureCapacity() {
+		if( this.block == null ) this.block = new byte[ this.numMembers > 0 ? BLOCK_SIZE: INIT_BLOCK_SIZE ];
+		else if( this.len == this.block.length )
+			this.block = Arrays.copyOf( this.block, Math.min( 2 * this.block.length, BLOCK_SIZE ) );
+	}
+
+	private void submitBlock() throws IOException {
+		if( this.pending.size() >= MAX_PENDING ) writeMember();
+		final byte[] data = this.block == null ? new byte[ 0 ]: this.block;
+		final int dataLen = this.len;
+		this.block = null;
+		this.len = 0;
+		this.numMembers++;
+		while( !IN_FLIGHT.tryAcquire() ) {
+			if( this.pending.isEmpty() ) {
+				this.out.write( compress( data, dataLen, this.level ) );
+				return;
+			}
+			writeMember();
+		}
+		try {
+			this.pending.add( getPool().submit( () -> compress( data, dataLen, this.level ) ) );
+		} catch( final RejectedExecutionException ex ) {
+			IN_FLIGHT.release();
+			throw new IOException( "Failed to submit gzip block: " + ex.getMessage(), ex );
+		}
+	}
+
+	private void writeMember() throws IOException {
+		final Future<byte[]> member = this.pending.removeFirst();
+		try {
+			this.out.write( member.get() );
+		} catch( final ExecutionException ex ) {
+			throw new IOException( "Failed to compress gzip block: " + ex.getCause().getMessage(), ex.getCause() );
+		} catch( final InterruptedException ex ) {
+			Thread.currentThread().interrupt();
+			throw new InterruptedIOException( "Interrupted while compressing gzip block" );
+		} finally {
+			IN_FLIGHT.release();
+		}
+	}
+
+	/**
+	 * Compress the data as a complete gzip member: header, raw deflate data, then the CRC-32 and size trailer.
+	 */
+	private static byte[] compress( final byte[] data, final int len, final int level ) {
+		final Deflater deflater = new Deflater( level, true );
+		try {
+			final ByteArrayOutputStream member = new ByteArrayOutputStream( len / 3 + 64 );
+			member.write( GZIP_HEADER, 0, GZIP_HEADER.length );
+			deflater.setInput( data, 0, len );
+			deflater.finish();
+			final byte[] buf = new byte[ 64 * 1024 ];
+			while( !deflater.finished() )
+				member.write( buf, 0, deflater.deflate( buf ) );
+
+			final CRC32 crc = new CRC32();
+			crc.update( data, 0, len );
+			writeInt( member, (int) crc.getValue() );
+			writeInt( member, len );
+			return member.toByteArray();
+		} finally {
+			deflater.end();
+		}
+	}
+
+	private static synchronized ExecutorService getPool() {
+		if( pool == null ) pool = Executors.newFixedThreadPool( NUM_THREADS, r -> {
+			final Thread thread = new Thread( r, "gzip-" + threadCount.incrementAndGet() );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		return pool;
+	}
+
+	private static void writeInt( final ByteArrayOutputStream out, final int val ) {
+		out.write( val & 0xff );
+		out.write( val >>> 8 & 0xff );
+		out.write( val >>> 16 & 0xff );
+		out.write( val >>> 24 & 0xff );
+	}
+
+	private byte[] block = null;
+	private boolean closed = false;
+	private int len = 0;
+	private final int level;
+	private long numMembers = 0L;
+	private final OutputStream out;
+	private final Deque<Future<byte[]>> pending = new ArrayDeque<>();
+
+	/**
+	 * Number of uncompressed bytes in each gzip member: {@value #BLOCK_SIZE}
+	 */
+	public static final int BLOCK_SIZE = 1024 * 1024;
+
+	private static final int INIT_BLOCK_SIZE = 64 * 1024;
+	private static final byte[] GZIP_HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+	private static final int NUM_THREADS = Runtime.getRuntime().availableProcessors();
+	private static final int MAX_PENDING = 2 * NUM_THREADS;
+	private static final Semaphore IN_FLIGHT = new Semaphore( 2 * MAX_PENDING );
+	private static ExecutorService pool = null;
+	private static final AtomicInteger threadCount = new AtomicInteger();
+}
@@ -0,0 +1,144 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Match an anchored primer against the sequence of a {@link biolockj.util.SeqRecord}. Forward primers start with "^"
+ * and must match at the start of the sequence, reverse primers end with "$" and must match at the end.<br>
+ * Primers made of bases and IUPAC character classes, such as those built by
+ * {@link biolockj.util.SeqUtil#getIupacBase(String)}, are compiled into 1 bit mask per position and compared to the
+ * read bytes directly, with an optional number of mismatches. Any other regular expression is compiled once into a
+ * {@link java.util.regex.Pattern}.
+ */
+public class PrimerMatcher {
+
+	/**
+	 * Compile the primer.
+	 *
+	 * @param primer Primer regular expression, starting with "^" or ending with "$"
+	 * @param maxMismatches Maximum number of mismatched bases allowed for IUPAC primers
+	 * @throws IllegalArgumentException if the primer is not anchored
+	 */
+	public PrimerMatcher( final String primer, final int maxMismatches ) {
+		this.primer = primer;
+		this.maxMismatches = maxMismatches;
+		this.forward = primer.startsWith( "^" );
+		if( !this.forward && !primer.endsWith( "$" ) )
+			throw new IllegalArgumentException( "Primers must start with \"^\" or end with \"$\": " + primer );
+
+		final boolean bothAnchors = this.forward && primer.endsWith( "$" ) && primer.length() > 1;
+		this.masks = bothAnchors ? null
+			: getMasks( this.forward ? primer.substring( 1 ): primer.substring( 0, primer.length() - 1 ) );
+		this.pattern = this.masks == null ? Pattern.compile( primer ): null;
+	}
+
+	/**
+	 * Get the primer regular expression.
+	 *
+	 * @return Primer
+	 */
+	public String getPrimer() {
+		return this.primer;
+	}
+
+	/**
+	 * Check if the primer is a forward primer, matched at the start of the sequence.
+	 *
+	 * @return TRUE for "^" primers, FALSE for "$" primers
+	 */
+	public boolean isForward() {
+		return this.forward;
+	}
+
+	/**
+	 * Match the primer against the part of the read sequence from position from to position to. Forward primers must
+	 * match at from, reverse primers must end at to.
+	 *
+	 * @param read Sequence read
+	 * @param from Start position in the sequence
+	 * @param to End position in the sequence (exclusive)
+	 * @return Number of bases matched, or 0 if the primer is not found
+	 */
+	public int match( final SeqRecord read, final int from, final int to ) {
+		if( this.masks == null ) return matchPattern( read, from, to );
+		final int len = this.masks.length;
+		if( to - from < len ) return 0;
+		final int start = this.forward ? from: to - len;
+		int numMismatches = 0;
+		for( int i = 0; i < len; i++ )
+			if( ( BASE_BITS[ read.byteAt( SeqRecord.SEQ, start + i ) & 0xff ] & this.masks[ i ] ) == 0 &&
+				++numMismatches > this.maxMismatches ) return 0;
+		return len;
+	}
+
+	@Override
+	public String toString() {
+		return this.primer;
+	}
+
+	private int matchPattern( final SeqRecord read, final int from, final int to ) {
+		final Matcher matcher = this.pattern.matcher( read.getSeq().substring( from, to ) );
+		return matcher.find() ? matcher.end() - matcher.start(): 0;
+	}
+
+	/**
+	 * Build the base mask for each primer position.
+	 *
+	 * @param seq Primer without its anchor
+	 * @return Masks, or null if the primer contains regular expression syntax other than IUPAC character classes
+	 */
+	private static byte[] getMasks( final String seq ) {
+		final byte[] masks = new byte[ seq.length() ];
+		int len = 0;
+		for( int i = 0; i < seq.length(); i++ ) {
+			final char c = seq.charAt( i );
+			byte mask = 0;
+			if( c == '[' ) {
+				final int close = seq.indexOf( ']', i );
+				if( close < 0 ) return null;
+				for( int j = i + 1; j < close; j++ ) {
+					final char base = seq.charAt( j );
+					final byte bit = base < 128 ? BASE_BITS[ base ]: 0;
+					if( bit == 0 ) return null;
+					mask |= bit;
+				}
+				i = close;
+			} else if( c < 128 ) mask = BASE_BITS[ c ];
+
+			if( mask == 0 ) return null;
+			masks[ len++ ] = mask;
+		}
+
+		if( len == 0 ) return null;
+		final byte[] out = new byte[ len ];
+		System.arraycopy( masks, 0, out, 0, len );
+		return out;
+	}
+
+	private final boolean forward;
+	private final byte[] masks;
+	private final int maxMismatches;
+	private final Pattern pattern;
+	private final String primer;
+
+	private static final byte[] BASE_BITS = new byte[ 256 ];
+
+	static {
+		BASE_BITS[ 'A' ] = 1;
+		BASE_BITS[ 'C' ] = 2;
+		BASE_BITS[ 'G' ] = 4;
+		BASE_BITS[ 'T' ] = 8;
+	}
+}
@@ -0,0 +1,336 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import biolockj.Constants;
+
+/**
+ * A single FastA (header + seq) or FastQ (header + seq + plus + qual) read, stored as a view of the lines in a byte
+ * buffer. Lines never include the line break or leading/trailing whitespace.<br>
+ * Records returned by {@link biolockj.util.SeqRecordReader#next()} are reused, so they are only valid until the next
+ * call. Use {@link #copy()} to keep a record.
+ */
+public class SeqRecord {
+
+	/**
+	 * Construct an empty record with the given number of lines.
+	 *
+	 * @param numLines Number of lines per read: 2 for FastA, 4 for FastQ
+	 */
+	public SeqRecord( final int numLines ) {
+		this.start = new int[ numLines ];
+		this.end = new int[ numLines ];
+	}
+
+	/**
+	 * Check if the line contains the pattern.
+	 *
+	 * @param line Line index, such as {@value #HEADER}
+	 * @param pattern Bytes to find
+	 * @return TRUE if the pattern is found
+	 */
+	public boolean contains( final int line, final byte[] pattern ) {
+		return indexOf( line, pattern ) > -1;
+	}
+
+	/**
+	 * Copy the record into its own buffer, so it remains valid after the reader moves on.
+	 *
+	 * @return New record
+	 */
+	public SeqRecord copy() {
+		final SeqRecord copy = new SeqRecord( this.start.length );
+		int len = 0;
+		for( int i = 0; i < this.start.length; i++ )
+			len += length( i );
+		copy.buf = new byte[ len ];
+		int pos = 0;
+		for( int i = 0; i < this.start.length; i++ ) {
+			System.arraycopy( this.buf, this.start[ i ], copy.buf, pos, length( i ) );
+			copy.start[ i ] = pos;
+			pos += length( i );
+			copy.end[ i ] = pos;
+		}
+		return copy;
+	}
+
+	/**
+	 * Get the header line, including the header character.
+	 *
+	 * @return Header line
+	 */
+	public String getHeader() {
+		return getLine( HEADER );
+	}
+
+	/**
+	 * Get a 64-bit fingerprint of the read header, as returned by {@link biolockj.util.SeqUtil#getHeader(String)}, so
+	 * forward and reverse reads of a pair have the same fingerprint. Different headers can share a fingerprint, so use
+	 * {@link #headerEquals(SeqRecord)} to confirm a match.
+	 *
+	 * @return Header fingerprint
+	 */
+	public long getHeaderKey() {
+		long hash = FNV_OFFSET;
+		final int end = this.start[ HEADER ] + getHeaderKeyLength();
+		for( int i = this.start[ HEADER ]; i < end; i++ )
+			hash = ( hash ^ this.buf[ i ] & 0xff ) * FNV_PRIME;
+		hash ^= hash >>> 33;
+		hash *= 0xff51afd7ed558ccdL;
+		return hash ^ hash >>> 33;
+	}
+
+	/**
+	 * Get the 1st character of the header line, which identifies the file format.
+	 *
+	 * @return Header character, or 0 if the header is empty
+	 */
+	public char getHeaderChar() {
+		return length( HEADER ) == 0 ? 0: (char) this.buf[ this.start[ HEADER ] ];
+	}
+
+	/**
+	 * Get a line of the record as a String. This allocates a new String, so use the byte methods where possible.
+	 *
+	 * @param line Line index, such as {@value #SEQ}
+	 * @return Line
+	 */
+	public String getLine( final int line ) {
+		return new String( this.buf, this.start[ line ], length( line ), StandardCharsets.ISO_8859_1 );
+	}
+
+	/**
+	 * Get the number of lines in the record.
+	 *
+	 * @return 2 for FastA, 4 for FastQ
+	 */
+	public int getNumLines() {
+		return this.start.length;
+	}
+
+	/**
+	 * Get the sequence line.
+	 *
+	 * @return Sequence
+	 */
+	public String getSeq() {
+		return getLine( SEQ );
+	}
+
+	/**
+	 * Check if the reads have the same header, as returned by {@link biolockj.util.SeqUtil#getHeader(String)}, without
+	 * creating any Strings.
+	 *
+	 * @param other Sequence read
+	 * @return TRUE if the headers match
+	 */
+	public boolean headerEquals( final SeqRecord other ) {
+		final int len = getHeaderKeyLength();
+		if( len != other.getHeaderKeyLength() ) return false;
+		for( int i = 0; i < len; i++ )
+			if( this.buf[ this.start[ HEADER ] + i ] != other.buf[ other.start[ HEADER ] + i ] ) return false;
+		return true;
+	}
+
+	/**
+	 * Find the first position of the pattern in the line.
+	 *
+	 * @param line Line index, such as {@value #HEADER}
+	 * @param pattern Bytes to find
+	 * @return Position of the pattern in the line, or -1 if not found
+	 */
+	public int indexOf( final int line, final byte[] pattern ) {
+		final int last = this.end[ line ] - pattern.length;
+		for( int i = this.start[ line ]; i <= last; i++ ) {
+			int j = 0;
+			while( j < pattern.length && this.buf[ i + j ] == pattern[ j ] )
+				j++;
+			if( j == pattern.length ) return i - this.start[ line ];
+		}
+		return -1;
+	}
+
+	/**
+	 * Get the length of a line.
+	 *
+	 * @param line Line index, such as {@value #SEQ}
+	 * @return Number of characters
+	 */
+	public int length( final int line ) {
+		return this.end[ line ] - this.start[ line ];
+	}
+
+	/**
+	 * Check if the line starts with the prefix.
+	 *
+	 * @param line Line index, such as {@value #SEQ}
+	 * @param prefix Bytes to match
+	 * @return TRUE if the line starts with the prefix
+	 */
+	public boolean startsWith( final int line, final byte[] prefix ) {
+		if( length( line ) < prefix.length ) return false;
+		for( int i = 0; i < prefix.length; i++ )
+			if( this.buf[ this.start[ line ] + i ] != prefix[ i ] ) return false;
+		return true;
+	}
+
+	/**
+	 * Remove bases from the start and end of the sequence, and the matching quality scores for FastQ.
+	 *
+	 * @param numStart Number of bases to remove from the start
+	 * @param numEnd Number of bases to remove from the end
+	 */
+	public void trim( final int numStart, final int numEnd ) {
+		for( int line = SEQ; line < this.start.length; line += 2 ) {
+			this.start[ line ] = Math.min( this.start[ line ] + numStart, this.end[ line ] );
+			this.end[ line ] = Math.max( this.end[ line ] - numEnd, this.start[ line ] );
+		}
+	}
+
+	/**
+	 * Trim the sequence, and the quality scores for FastQ, to the maximum length.
+	 *
+	 * @param maxLen Maximum number of bases
+	 */
+	public void truncate( final int maxLen ) {
+		for( int line = SEQ; line < this.start.length; line += 2 )
+			this.end[ line ] = Math.min( this.end[ line ], this.start[ line ] + maxLen );
+	}
+
+	@Override
+	public String toString() {
+		final StringBuilder sb = new StringBuilder();
+		for( int i = 0; i < this.start.length; i++ )
+			sb.append( getLine( i ) ).append( Constants.RETURN );
+		return sb.toString();
+	}
+
+	/**
+	 * Write the record, with a line break after each line.
+	 *
+	 * @param out OutputStream
+	 * @throws IOException if unable to write the record
+	 */
+	public void write( final OutputStream out ) throws IOException {
+		write( out, HEADER );
+	}
+
+	/**
+	 * Write the record lines starting from the given line, with a line break after each line.
+	 *
+	 * @param out OutputStream
+	 * @param firstLine Index of the first line to write
+	 * @throws IOException if unable to write the lines
+	 */
+	public void write( final OutputStream out, final int firstLine ) throws IOException {
+		for( int i = firstLine; i < this.start.length; i++ ) {
+			out.write( this.buf, this.start[ i ], length( i ) );
+			out.write( '\n' );
+		}
+	}
+
+	/**
+	 * Write the record in FastA format: the header with its 1st character replaced by
+	 * {@value biolockj.util.SeqUtil#FASTA_HEADER_DEFAULT_DELIM}, then the sequence.
+	 *
+	 * @param out OutputStream
+	 * @throws IOException if unable to write the record
+	 */
+	public void writeFastA( final OutputStream out ) throws IOException {
+		out.write( FASTA_HEADER_CHAR );
+		if( length( HEADER ) > 0 ) out.write( this.buf, this.start[ HEADER ] + 1, length( HEADER ) - 1 );
+		out.write( '\n' );
+		out.write( this.buf, this.start[ SEQ ], length( SEQ ) );
+		out.write( '\n' );
+	}
+
+	/**
+	 * Get a byte of a line.
+	 *
+	 * @param line Line index
+	 * @param i Position in the line
+	 * @return Byte value
+	 */
+	byte byteAt( final int line, final int i ) {
+		return this.buf[ this.start[ line ] + i ];
+	}
+
+	/**
+	 * Get the length of the header up to the Illumina read direction indicator, if found.
+	 */
+	private int getHeaderKeyLength() {
+		int len = indexOf( HEADER, FW_READ_IND );
+		if( len < 0 ) len = indexOf( HEADER, RV_READ_IND );
+		return len < 0 ? length( HEADER ): len;
+	}
+
+	/**
+	 * Point the record at a new buffer. Called by {@link biolockj.util.SeqRecordReader} for each read.
+	 *
+	 * @param buffer Byte buffer
+	 */
+	void setBuffer( final byte[] buffer ) {
+		this.buf = buffer;
+	}
+
+	/**
+	 * Set the position of a line in the buffer, trimming any whitespace.
+	 *
+	 * @param line Line index
+	 * @param from Start position
+	 * @param to End position (exclusive)
+	 */
+	void setLine( final int line, final int from, final int to ) {
+		int i = from;
+		int j = to;
+		while( i < j && ( this.buf[ i ] & 0xff ) <= ' ' )
+			i++;
+		while( j > i && ( this.buf[ j - 1 ] & 0xff ) <= ' ' )
+			j--;
+		this.start[ line ] = i;
+		this.end[ line ] = j;
+	}
+
+	private byte[] buf = new byte[ 0 ];
+	private final int[] end;
+	private final int[] start;
+
+	/**
+	 * Index of the header line: {@value #HEADER}
+	 */
+	public static final int HEADER = 0;
+
+	/**
+	 * Index of the FastQ plus line: {@value #PLUS}
+	 */
+	public static final int PLUS = 2;
+
+	/**
+	 * Index of the FastQ quality score line: {@value #QUAL}
+	 */
+	public static final int QUAL = 3;
+
+	/**
+	 * Index of the sequence line: {@value #SEQ}
+	 */
+	public static final int SEQ = 1;
+
+	private static final int FASTA_HEADER_CHAR = SeqUtil.FASTA_HEADER_DEFAULT_DELIM.charAt( 0 );
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+	private static final byte[] FW_READ_IND = SeqUtil.ILLUMINA_FW_READ_IND.getBytes( StandardCharsets.ISO_8859_1 );
+	private static final byte[] RV_READ_IND = SeqUtil.ILLUMINA_RV_READ_IND.getBytes( StandardCharsets.ISO_8859_1 );
+
+}
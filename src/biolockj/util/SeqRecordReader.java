@@ -0,0 +1,170 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import biolockj.Log;
+
+/**
+ * Read FastA or FastQ files 1 read at a time. Bytes are parsed straight from the buffer into a reusable
+ * {@link biolockj.util.SeqRecord}, so no String is created for each line.<br>
+ * Empty lines at the top of the file are skipped. An incomplete read at the end of the file is ignored.
+ */
+public class SeqRecordReader implements Closeable {
+
+	/**
+	 * Open a sequence file (gzipped if the name ends with ".gz") with the number of lines per read of the pipeline
+	 * sequence type.
+	 *
+	 * @param file Sequence file
+	 * @throws Exception if unable to open the file or the pipeline sequence type is undefined
+	 */
+	public SeqRecordReader( final File file ) throws Exception {
+		this( BioLockJUtil.getFileInputStream( file ), SeqUtil.getNumLinesPerRead() );
+		this.name = file.getAbsolutePath();
+	}
+
+	/**
+	 * Read records from a stream.
+	 *
+	 * @param in InputStream
+	 * @param numLinesPerRead Number of lines per read: 2 for FastA, 4 for FastQ
+	 */
+	public SeqRecordReader( final InputStream in, final int numLinesPerRead ) {
+		this.in = in;
+		this.record = new SeqRecord( numLinesPerRead );
+		this.record.setBuffer( this.buf );
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.in.close();
+	}
+
+	/**
+	 * Get the number of reads returned so far.
+	 *
+	 * @return Number of reads
+	 */
+	public long getNumRecords() {
+		return this.numRecords;
+	}
+
+	/**
+	 * Get the next read. The same record is returned on every call, updated to the next read.
+	 *
+	 * @return Next read, or null at the end of the file
+	 * @throws IOException if unable to read the file
+	 */
+	public SeqRecord next() throws IOException {
+		if( this.numRecords == 0 && !skipEmptyLines() ) return null;
+		while( true ) {
+			final int endPos = parseRecord();
+			if( endPos > -1 ) {
+				this.pos = endPos;
+				this.numRecords++;
+				return this.record;
+			}
+			if( this.eof ) {
+				if( !isBlank( this.pos, this.limit ) ) Log.warn( getClass(), "Ignored incomplete read #" +
+					( this.numRecords + 1 ) + " at the end of ---> " + this.name );
+				this.pos = this.limit;
+				return null;
+			}
+			fill();
+		}
+	}
+
+	/**
+	 * Move unread bytes to the start of the buffer (growing the buffer if it is full) and read more data.
+	 */
+	private void fill() throws IOException {
+		if( this.pos == 0 && this.limit == this.buf.length ) {
+			final byte[] bigger = new byte[ this.buf.length * 2 ];
+			System.arraycopy( this.buf, 0, bigger, 0, this.limit );
+			this.buf = bigger;
+			this.record.setBuffer( this.buf );
+		} else if( this.pos > 0 ) {
+			System.arraycopy( this.buf, this.pos, this.buf, 0, this.limit - this.pos );
+			this.limit -= this.pos;
+			this.pos = 0;
+		}
+
+		final int n = this.in.read( this.buf, this.limit, this.buf.length - this.limit );
+		if( n == -1 ) this.eof = true;
+		else this.limit += n;
+	}
+
+	private boolean isBlank( final int from, final int to ) {
+		for( int i = from; i < to; i++ )
+			if( ( this.buf[ i ] & 0xff ) > ' ' ) return false;
+		return true;
+	}
+
+	/**
+	 * Set the record lines from the buffer at the current position.
+	 *
+	 * @return Position after the record, or -1 if the buffer does not hold a full record
+	 */
+	private int parseRecord() {
+		int lineStart = this.pos;
+		for( int line = 0; line < this.record.getNumLines(); line++ ) {
+			int i = lineStart;
+			while( i < this.limit && this.buf[ i ] != '\n' )
+				i++;
+			if( i == this.limit && ( !this.eof || i == lineStart ) ) return -1;
+			this.record.setLine( line, lineStart, i );
+			lineStart = Math.min( i + 1, this.limit );
+		}
+		return lineStart;
+	}
+
+	/**
+	 * Skip empty lines at the top of the file.
+	 *
+	 * @return FALSE if the file is empty
+	 */
+	private boolean skipEmptyLines() throws IOException {
+		int numSkipped = 0;
+		while( true ) {
+			int i = this.pos;
+			while( i < this.limit && this.buf[ i ] != '\n' )
+				i++;
+			if( i == this.limit ) {
+				if( this.eof ) {
+					if( isBlank( this.pos, this.limit ) ) return false;
+					break;
+				}
+				fill();
+				continue;
+			}
+			if( !isBlank( this.pos, i ) ) break;
+			this.pos = i + 1;
+			numSkipped++;
+		}
+
+		if( numSkipped > 0 ) Log.warn( getClass(),
+			"Skipped [ " + numSkipped + " ] empty lines at the top of ---> " + this.name );
+		return true;
+	}
+
+	private byte[] buf = new byte[ BUFFER_SIZE ];
+	private boolean eof = false;
+	private final InputStream in;
+	private int limit = 0;
+	private String name = "input stream";
+	private long numRecords = 0L;
+	private int pos = 0;
+	private final SeqRecord record;
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+}
@@ -0,0 +1,112 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Write {@link biolockj.util.SeqRecord}s to a FastA or FastQ file, copying the record bytes straight to the output
+ * buffer.
+ */
+public class SeqRecordWriter implements Closeable, Flushable {
+
+	/**
+	 * Create a new sequence file.
+	 *
+	 * @param file Sequence file
+	 * @throws IOException if unable to create the file
+	 */
+	public SeqRecordWriter( final File file ) throws IOException {
+		this( file, false );
+	}
+
+	/**
+	 * Open a sequence file.
+	 *
+	 * @param file Sequence file
+	 * @param append Set true to append to an existing file
+	 * @throws IOException if unable to open the file
+	 */
+	public SeqRecordWriter( final File file, final boolean append ) throws IOException {
+		this( BioLockJUtil.getFileOutputStream( file, append ) );
+	}
+
+	/**
+	 * Write records to a stream.
+	 *
+	 * @param out OutputStream
+	 */
+	public SeqRecordWriter( final OutputStream out ) {
+		this.out = new BufferedOutputStream( out, BUFFER_SIZE );
+	}
+
+	@Override
+	public void close() throws IOException {
+		this.out.close();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		this.out.flush();
+	}
+
+	/**
+	 * Get the number of reads written.
+	 *
+	 * @return Number of reads
+	 */
+	public long getNumRecords() {
+		return this.numRecords;
+	}
+
+	/**
+	 * Write the read.
+	 *
+	 * @param record Read
+	 * @throws IOException if unable to write the read
+	 */
+	public void write( final SeqRecord record ) throws IOException {
+		record.write( this.out );
+		this.numRecords++;
+	}
+
+	/**
+	 * Write the read with a new header line.
+	 *
+	 * @param record Read
+	 * @param header Header line, including the header character
+	 * @throws IOException if unable to write the read
+	 */
+	public void write( final SeqRecord record, final String header ) throws IOException {
+		this.out.write( header.getBytes( StandardCharsets.ISO_8859_1 ) );
+		this.out.write( '\n' );
+		record.write( this.out, SeqRecord.SEQ );
+		this.numRecords++;
+	}
+
+	/**
+	 * Write the read in FastA format, dropping the FastQ plus and quality lines.
+	 *
+	 * @param record Read
+	 * @throws IOException if unable to write the read
+	 */
+	public void writeFastA( final SeqRecord record ) throws IOException {
+		record.writeFastA( this.out );
+		this.numRecords++;
+	}
+
+	private long numRecords = 0L;
+	private final OutputStream out;
+
+	private static final int BUFFER_SIZE = 256 * 1024;
+}
@@ -0,0 +1,114 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * Write reads to many sequence files through a bounded pool of open {@link biolockj.util.SeqRecordWriter}s. When the
+ * pool is full, the least recently used writer is closed, and the file is reopened in append mode if more reads are
+ * written to it later. This keeps the number of open files and output buffers fixed no matter how many files are
+ * written.<br>
+ * Each file is created new (replacing any existing file) the first time it is written.
+ */
+public class SeqRecordWriterPool implements Closeable {
+
+	/**
+	 * Create a pool with up to maxOpen open writers.
+	 *
+	 * @param maxOpen Maximum number of open files
+	 */
+	public SeqRecordWriterPool( final int maxOpen ) {
+		this.maxOpen = maxOpen;
+	}
+
+	/**
+	 * Close all open writers.
+	 */
+	@Override
+	public void close() throws IOException {
+		IOException error = null;
+		for( final SeqRecordWriter writer: this.writers.values() )
+			try {
+				writer.close();
+			} catch( final IOException ex ) {
+				if( error == null ) error = ex;
+			}
+		this.writers.clear();
+		if( error != null ) throw error;
+	}
+
+	/**
+	 * Get the files written so far.
+	 *
+	 * @return Set of files
+	 */
+	public Set<File> getFiles() {
+		return Collections.unmodifiableSet( this.numRecords.keySet() );
+	}
+
+	/**
+	 * Get the number of writers closed to make room in the pool. A high number means files are often reopened.
+	 *
+	 * @return Number of evicted writers
+	 */
+	public long getNumEvictions() {
+		return this.numEvictions;
+	}
+
+	/**
+	 * Get the number of reads written to the file.
+	 *
+	 * @param file Sequence file
+	 * @return Number of reads
+	 */
+	public long getNumRecords( final File file ) {
+		final Long count = this.numRecords.get( file );
+		return count == null ? 0L: count;
+	}
+
+	/**
+	 * Write the read to the file.
+	 *
+	 * @param file Sequence file
+	 * @param read Sequence read
+	 * @throws IOException if unable to open or write the file
+	 */
+	public void write( final File file, final SeqRecord read ) throws IOException {
+		getWriter( file ).write( read );
+		this.numRecords.put( file, getNumRecords( file ) + 1 );
+	}
+
+	private SeqRecordWriter getWriter( final File file ) throws IOException {
+		SeqRecordWriter writer = this.writers.get( file );
+		if( writer == null ) {
+			if( this.writers.size() >= this.maxOpen ) {
+				final Iterator<SeqRecordWriter> it = this.writers.values().iterator();
+				final SeqRecordWriter eldest = it.next();
+				it.remove();
+				eldest.close();
+				this.numEvictions++;
+			}
+			writer = new SeqRecordWriter( file, this.numRecords.containsKey( file ) );
+			this.writers.put( file, writer );
+		}
+		return writer;
+	}
+
+	private final int maxOpen;
+	private long numEvictions = 0L;
+	private final Map<File, Long> numRecords = new HashMap<>();
+	private final LinkedHashMap<File, SeqRecordWriter> writers = new LinkedHashMap<>( 16, 0.75f, true );
+}
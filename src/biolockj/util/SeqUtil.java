@@ -14,6 +14,7 @@ package biolockj.util;
 import java.io.BufferedReader;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.filefilter.HiddenFileFilter;
 import biolockj.*;
@@ -30,20 +31,15 @@ public class SeqUtil {
 
 	/**
 	 * Method counts number of reads in the given sequence file by counting the number of lines and dividing by the
-	 * number of lines/sample (fasta=2, fastq=4)
+	 * number of lines/sample (fasta=2, fastq=4). Line counts are cached by {@link biolockj.util.LineCounter}, so
+	 * unchanged files are only counted once.
 	 * 
 	 * @param seqFile Sequence file
 	 * @return Number of reads in seqFile
 	 * @throws Exception if errors occur
 	 */
 	public static long countNumReads( final File seqFile ) throws Exception {
-		long count = 0;
-		final BufferedReader r = BioLockJUtil.getFileReader( seqFile );
-		for( String line = r.readLine(); line != null; line = r.readLine() )
-			count++;
-		r.close();
-
-		return count / getNumLinesPerRead();
+		return LineCounter.getNumLines( seqFile ) / getNumLinesPerRead();
 	}
 
 	/**
@@ -795,7 +791,7 @@ public class SeqUtil {
 
 	private static final List<String> FASTA_HEADER_DELIMS = Arrays.asList( ">", ";" );
 	private static final String FASTQ_HEADER_DELIM = "@";
-	private static final Map<String, Boolean> fileSeqMap = new HashMap<>();
+	private static final Map<String, Boolean> fileSeqMap = new ConcurrentHashMap<>();
 	private static final Integer MAX_DISPLAY_LEN = 200;
 	private static Integer numMultiSeqLines = 0;
 	static {
@@ -532,8 +532,11 @@ public class SummaryUtil {
 			sb.append( getLabel( MODULE ) + ModuleUtil.displaySignature( module ) + RETURN );
 			sb.append( getLabel( MODULE_CLASS ) + module.getClass().getName() + RETURN );
 			sb.append( getLabel( RUN_TIME ) + getModuleRunTime( module ) + RETURN );
+			final String metrics = MetricsUtil.getSummary( module );
+			if( metrics != null ) sb.append( getLabel( METRICS ) + metrics + RETURN );
 
-			final String summary = module.getSummary();
+			final String restored = ModuleCacheUtil.getRestoredSummary( module );
+			final String summary = restored == null ? module.getSummary(): restored;
 			
 			if( summary != null && !summary.isEmpty() ) {
 				sb.append( getDashes( 50 ) + RETURN + summary +
@@ -729,6 +732,7 @@ public class SummaryUtil {
 	private static final String EXT_SPACER = getDashes( 154 );
 	private static final String FINAL_META = "Final Metadata";
 	private static final String MASTER_CONFIG = "Master Config";
+	private static final String METRICS = "Metrics";
 	private static final String MODULE = "Module";
 	private static final String MODULE_CLASS = "Module class";
 	private static final String NUM_ATTEMPTS = "# Attempts";
@@ -0,0 +1,355 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import biolockj.Constants;
+import biolockj.Log;
+
+/**
+ * Pipeline-wide dictionary of OTU lineages. Each lineage (such as "phylum__Bacteroidetes|class__Bacteroidia") and each
+ * taxon (level + {@value biolockj.Constants#DELIM_SEP} + name) is assigned a stable int ID the 1st time it is seen.
+ * Lineages are stored once as a tree: each OTU ID holds the ID of its parent lineage and of its leaf taxon, and each
+ * taxon ID holds its level and name, so OTU strings can be shared across samples and taxa looked up without parsing
+ * the OTU again.<br>
+ * IDs are assigned in the order lineages are added. The dictionary can be saved to a module output directory and
+ * loaded by later modules, which then assign the same IDs.
+ */
+public class TaxaDictionary {
+
+	// Prevent instantiation
+	private TaxaDictionary() {}
+
+	/**
+	 * Remove all OTUs and taxa from the dictionary.
+	 */
+	public static synchronized void clear() {
+		otuIds.clear();
+		childIds.clear();
+		taxaIds.clear();
+		levels.clear();
+		loadedFiles.clear();
+		otuNames = new String[ INIT_SIZE ];
+		parentIds = new int[ INIT_SIZE ];
+		otuTaxaIds = new int[ INIT_SIZE ];
+		taxaLevels = new String[ INIT_SIZE ];
+		taxaNames = new String[ INIT_SIZE ];
+		numOtus = 0;
+		numTaxa = 0;
+	}
+
+	/**
+	 * Get the dictionary file in the given directory.
+	 *
+	 * @param dir Module output directory
+	 * @return Dictionary file {@value #DICTIONARY_FILE}
+	 */
+	public static File getDictionaryFile( final File dir ) {
+		return new File( dir, DICTIONARY_FILE );
+	}
+
+	/**
+	 * Get the number of OTU IDs assigned, including the parent lineages of every OTU added.
+	 *
+	 * @return Number of OTU IDs
+	 */
+	public static int getNumOtus() {
+		return numOtus;
+	}
+
+	/**
+	 * Get the number of taxa IDs assigned.
+	 *
+	 * @return Number of taxa IDs
+	 */
+	public static int getNumTaxa() {
+		return numTaxa;
+	}
+
+	/**
+	 * Get the OTU lineage for the ID.
+	 *
+	 * @param otuId OTU ID, as returned by {@link #getOtuId(String)}
+	 * @return OTU lineage, with taxa separated by {@value biolockj.Constants#OTU_SEPARATOR}
+	 */
+	public static String getOtu( final int otuId ) {
+		final String otu = otuNames[ otuId ];
+		return otu == null ? buildOtu( otuId ): otu;
+	}
+
+	/**
+	 * Get the ID of the OTU lineage, adding the lineage and each of its parent lineages if not found. Empty taxa are
+	 * ignored, as with {@link biolockj.util.TaxaUtil#getTaxaName(String, String)}.
+	 *
+	 * @param otu OTU lineage
+	 * @return OTU ID, or {@value #NO_ID} if the OTU has no taxa
+	 */
+	public static int getOtuId( final String otu ) {
+		final Integer id = otuIds.get( otu );
+		return id == null ? addOtu( otu ): id;
+	}
+
+	/**
+	 * Get the ID of the parent lineage, which is the OTU without its leaf taxon.
+	 *
+	 * @param otuId OTU ID
+	 * @return Parent OTU ID, or {@value #NO_ID} for top level OTUs
+	 */
+	public static int getParentId( final int otuId ) {
+		return parentIds[ otuId ];
+	}
+
+	/**
+	 * Get the taxonomy level of the taxon.
+	 *
+	 * @param taxaId Taxa ID
+	 * @return Taxonomy level, or null if the taxon has no level prefix
+	 */
+	public static String getTaxaLevel( final int taxaId ) {
+		return taxaLevels[ taxaId ];
+	}
+
+	/**
+	 * Get the name of the taxon, without its level prefix.
+	 *
+	 * @param taxaId Taxa ID
+	 * @return Taxa name
+	 */
+	public static String getTaxaName( final int taxaId ) {
+		return taxaNames[ taxaId ];
+	}
+
+	/**
+	 * Get the taxa name of the OTU at the given level, as returned by
+	 * {@link biolockj.util.TaxaUtil#getTaxaName(String, String)}.
+	 *
+	 * @param otu OTU lineage
+	 * @param level Taxonomy level
+	 * @return Taxa name, or null if the OTU has no taxon at the level
+	 */
+	public static String getTaxaName( final String otu, final String level ) {
+		final int otuId = getOtuId( otu );
+		final int taxaId = otuId == NO_ID ? NO_ID: getTaxaId( otuId, level );
+		return taxaId == NO_ID ? null: getTaxaName( taxaId );
+	}
+
+	/**
+	 * Get the ID of the leaf taxon of the OTU.
+	 *
+	 * @param otuId OTU ID
+	 * @return Taxa ID
+	 */
+	public static int getTaxaId( final int otuId ) {
+		return otuTaxaIds[ otuId ];
+	}
+
+	/**
+	 * Get the ID of the OTU taxon at the given level, walking the parent lineages. If the OTU lists the level more
+	 * than once, the top level taxon is returned.
+	 *
+	 * @param otuId OTU ID
+	 * @param level Taxonomy level
+	 * @return Taxa ID, or {@value #NO_ID} if the OTU has no taxon at the level
+	 */
+	public static int getTaxaId( final int otuId, final String level ) {
+		int found = NO_ID;
+		for( int id = otuId; id != NO_ID; id = parentIds[ id ] ) {
+			final int taxaId = otuTaxaIds[ id ];
+			if( level.equals( taxaLevels[ taxaId ] ) ) found = taxaId;
+		}
+		return found;
+	}
+
+	/**
+	 * Get the ID of a taxon without adding it.
+	 *
+	 * @param level Taxonomy level
+	 * @param taxa Taxa name
+	 * @return Taxa ID, or {@value #NO_ID} if not found
+	 */
+	public static int getTaxaId( final String level, final String taxa ) {
+		final Integer id = taxaIds.get( level + Constants.DELIM_SEP + taxa );
+		return id == null ? NO_ID: id;
+	}
+
+	/**
+	 * Get the shared copy of the OTU lineage, so OTUs read from many files are stored only once.
+	 *
+	 * @param otu OTU lineage
+	 * @return Shared OTU String, equal to otu
+	 */
+	public static String intern( final String otu ) {
+		final int otuId = getOtuId( otu );
+		final String shared = otuId == NO_ID ? null: otuNames[ otuId ];
+		return otu.equals( shared ) ? shared: otu;
+	}
+
+	/**
+	 * Add the lineages saved by {@link #save(File)} in the given directory, if not already loaded. Lineages are added
+	 * in ID order, so they keep their saved IDs if the dictionary was empty.
+	 *
+	 * @param dir Module output directory
+	 * @return TRUE if the dictionary file was found
+	 */
+	public static synchronized boolean load( final File dir ) {
+		final File file = getDictionaryFile( dir );
+		if( !file.isFile() ) return false;
+		if( !loadedFiles.add( file.getAbsolutePath() ) ) return true;
+		try {
+			final BufferedReader reader = BioLockJUtil.getFileReader( file );
+			try {
+				final List<Integer> ids = new ArrayList<>();
+				for( String line = reader.readLine(); line != null; line = reader.readLine() ) {
+					final String[] cols = line.split( DELIM, 3 );
+					final int parentId = Integer.parseInt( cols[ 1 ] );
+					final int otuId = addChild( parentId == NO_ID ? NO_ID: ids.get( parentId ), cols[ 2 ] );
+					ids.add( otuId );
+					if( Integer.parseInt( cols[ 0 ] ) != ids.size() - 1 )
+						throw new IOException( "Unexpected ID order at line: " + ids.size() );
+				}
+			} finally {
+				reader.close();
+			}
+			Log.info( TaxaDictionary.class,
+				"Loaded taxa dictionary with " + numOtus + " OTUs from: " + file.getAbsolutePath() );
+		} catch( final Exception ex ) {
+			Log.warn( TaxaDictionary.class,
+				"Ignore invalid taxa dictionary: " + file.getAbsolutePath() + " --> " + ex.getMessage() );
+		}
+		return true;
+	}
+
+	/**
+	 * Save the dictionary to the given directory. Each line holds an OTU ID, its parent ID and its leaf taxon.
+	 *
+	 * @param dir Module output directory
+	 * @throws IOException if unable to write the file
+	 */
+	public static synchronized void save( final File dir ) throws IOException {
+		final File file = getDictionaryFile( dir );
+		final BufferedWriter writer = new BufferedWriter( new FileWriter( file ) );
+		try {
+			for( int i = 0; i < numOtus; i++ ) {
+				final int taxaId = otuTaxaIds[ i ];
+				writer.write( i + DELIM + parentIds[ i ] + DELIM );
+				if( taxaLevels[ taxaId ] != null ) writer.write( taxaLevels[ taxaId ] + Constants.DELIM_SEP );
+				writer.write( taxaNames[ taxaId ] + Constants.RETURN );
+			}
+		} finally {
+			writer.close();
+		}
+		loadedFiles.add( file.getAbsolutePath() );
+		Log.info( TaxaDictionary.class,
+			"Saved taxa dictionary with " + numOtus + " OTUs to: " + file.getAbsolutePath() );
+	}
+
+	/**
+	 * Add the lineage and its parent lineages, one taxon at a time.
+	 */
+	private static synchronized int addOtu( final String otu ) {
+		final Integer id = otuIds.get( otu );
+		if( id != null ) return id;
+		int otuId = NO_ID;
+		int start = 0;
+		while( start <= otu.length() ) {
+			int end = otu.indexOf( Constants.OTU_SEPARATOR, start );
+			if( end < 0 ) end = otu.length();
+			if( end > start ) otuId = addChild( otuId, otu.substring( start, end ) );
+			start = end + SEPARATOR_LENGTH;
+		}
+
+		if( otuId != NO_ID ) {
+			if( otuNames[ otuId ] == null ) otuNames[ otuId ] = otu;
+			otuIds.put( otu, otuId );
+		}
+		return otuId;
+	}
+
+	/**
+	 * Get the ID of the child lineage of parentId with the given leaf taxon, adding it if not found. New entries are
+	 * stored before their ID is published to the lookup maps, so readers never see an ID past the end of the arrays.
+	 */
+	private static synchronized int addChild( final int parentId, final String taxa ) {
+		final int taxaId = addTaxa( taxa );
+		final long key = (long) parentId << 32 | taxaId & 0xffffffffL;
+		final Integer id = childIds.get( key );
+		if( id != null ) return id;
+
+		final int otuId = numOtus;
+		if( otuId == parentIds.length ) {
+			final int size = otuId * 2;
+			otuNames = Arrays.copyOf( otuNames, size );
+			otuTaxaIds = Arrays.copyOf( otuTaxaIds, size );
+			parentIds = Arrays.copyOf( parentIds, size );
+		}
+		parentIds[ otuId ] = parentId;
+		otuTaxaIds[ otuId ] = taxaId;
+		numOtus++;
+		childIds.put( key, otuId );
+		return otuId;
+	}
+
+	private static synchronized int addTaxa( final String taxa ) {
+		final Integer id = taxaIds.get( taxa );
+		if( id != null ) return id;
+
+		final int taxaId = numTaxa;
+		if( taxaId == taxaNames.length ) {
+			taxaLevels = Arrays.copyOf( taxaLevels, taxaId * 2 );
+			taxaNames = Arrays.copyOf( taxaNames, taxaId * 2 );
+		}
+		final int sep = taxa.indexOf( Constants.DELIM_SEP );
+		taxaLevels[ taxaId ] = sep < 0 ? null: levels.computeIfAbsent( taxa.substring( 0, sep ), level -> level );
+		taxaNames[ taxaId ] = sep < 0 ? taxa: taxa.substring( sep + Constants.DELIM_SEP.length() );
+		numTaxa++;
+		taxaIds.put( taxa, taxaId );
+		return taxaId;
+	}
+
+	private static synchronized String buildOtu( final int otuId ) {
+		final int parentId = parentIds[ otuId ];
+		final int taxaId = otuTaxaIds[ otuId ];
+		final String taxa = taxaLevels[ taxaId ] == null ? taxaNames[ taxaId ]
+			: taxaLevels[ taxaId ] + Constants.DELIM_SEP + taxaNames[ taxaId ];
+		final String otu = parentId == NO_ID ? taxa: getOtu( parentId ) + Constants.OTU_SEPARATOR + taxa;
+		otuNames[ otuId ] = otu;
+		return otu;
+	}
+
+	/**
+	 * Name of the hidden dictionary file saved in a module output directory: {@value #DICTIONARY_FILE}
+	 */
+	public static final String DICTIONARY_FILE = ".taxaDictionary.tsv";
+
+	/**
+	 * ID returned if an OTU or taxon is not found: {@value #NO_ID}
+	 */
+	public static final int NO_ID = -1;
+
+	private static final Map<Long, Integer> childIds = new HashMap<>();
+	private static final String DELIM = Constants.TAB_DELIM;
+	private static final int INIT_SIZE = 1024;
+	private static final Map<String, String> levels = new HashMap<>();
+	private static final Set<String> loadedFiles = new HashSet<>();
+	private static volatile int numOtus = 0;
+	private static volatile int numTaxa = 0;
+	private static final Map<String, Integer> otuIds = new ConcurrentHashMap<>();
+	private static volatile String[] otuNames = new String[ INIT_SIZE ];
+	private static volatile int[] otuTaxaIds = new int[ INIT_SIZE ];
+	private static volatile int[] parentIds = new int[ INIT_SIZE ];
+	private static final int SEPARATOR_LENGTH = Constants.OTU_SEPARATOR.length();
+	private static final Map<String, Integer> taxaIds = new ConcurrentHashMap<>();
+	private static volatile String[] taxaLevels = new String[ INIT_SIZE ];
+	private static volatile String[] taxaNames = new String[ INIT_SIZE ];
+}
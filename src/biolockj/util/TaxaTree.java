@@ -0,0 +1,101 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.util.HashMap;
+import java.util.Map;
+import biolockj.Constants;
+
+/**
+ * Taxonomy prefix tree of OTU counts. Each node is 1 level/taxon of an OTU path (such as "genus__Bacteroides") and
+ * holds the total count and number of OTUs added at or below it. Adding an OTU updates every node on its path, so the
+ * total count under any OTU is found by walking its path instead of scanning every OTU in the sample.<br>
+ * Paths are matched 1 whole taxon at a time from the top level, so "genus__Bacillus" does not include the OTUs of
+ * "genus__Bacillus_A", and the same taxon under a different parent is a different node.
+ */
+public class TaxaTree {
+
+	/**
+	 * Add the OTU count to the OTU and each of its parent taxa.
+	 *
+	 * @param otu OTU path, with taxa separated by {@value biolockj.Constants#OTU_SEPARATOR}
+	 * @param count OTU count
+	 */
+	public void add( final String otu, final long count ) {
+		Node node = this.root;
+		node.count += count;
+		node.numOtus++;
+		int start = 0;
+		while( start < otu.length() ) {
+			final String taxa = nextTaxa( otu, start );
+			Node child = node.children.get( taxa );
+			if( child == null ) {
+				child = new Node();
+				node.children.put( taxa, child );
+			}
+			node = child;
+			node.count += count;
+			node.numOtus++;
+			start += taxa.length() + SEPARATOR_LENGTH;
+		}
+	}
+
+	/**
+	 * Get the total count of the OTUs added at or below the given OTU.
+	 *
+	 * @param otu OTU path
+	 * @return Total count, or 0 if no OTU was added at or below it
+	 */
+	public long getCount( final String otu ) {
+		final Node node = getNode( otu );
+		return node == null ? 0L: node.count;
+	}
+
+	/**
+	 * Get the number of OTUs added at or below the given OTU.
+	 *
+	 * @param otu OTU path
+	 * @return Number of OTUs
+	 */
+	public int getNumOtus( final String otu ) {
+		final Node node = getNode( otu );
+		return node == null ? 0: node.numOtus;
+	}
+
+	private Node getNode( final String otu ) {
+		Node node = this.root;
+		int start = 0;
+		while( node != null && start < otu.length() ) {
+			final String taxa = nextTaxa( otu, start );
+			node = node.children.get( taxa );
+			start += taxa.length() + SEPARATOR_LENGTH;
+		}
+		return node;
+	}
+
+	private static String nextTaxa( final String otu, final int start ) {
+		final int end = otu.indexOf( Constants.OTU_SEPARATOR, start );
+		return otu.substring( start, end < 0 ? otu.length(): end );
+	}
+
+	/**
+	 * Single taxon in the tree.
+	 */
+	private static class Node {
+		private final Map<String, Node> children = new HashMap<>( 4 );
+		private long count = 0L;
+		private int numOtus = 0;
+	}
+
+	private final Node root = new Node();
+	private static final int SEPARATOR_LENGTH = Constants.OTU_SEPARATOR.length();
+}
@@ -65,7 +65,7 @@ public class TaxaUtil {
 	public static TreeSet<String> findUniqueTaxa( final TreeSet<String> otus, final String level ) {
 		final TreeSet<String> uniqueTaxa = new TreeSet<>();
 		for( final String otu: otus ) {
-			final String taxa = getTaxaName( otu, level );
+			final String taxa = TaxaDictionary.getTaxaName( otu, level );
 			if( taxa != null ) uniqueTaxa.add( taxa );
 		}
 		return uniqueTaxa;
@@ -130,14 +130,15 @@ public class TaxaUtil {
 		final TreeMap<String, TreeMap<String, Long>> taxaCounts = new TreeMap<>();
 
 		for( final String sampleId: sampleOtuCounts.keySet() ) {
-			final TreeMap<String, Long> otuCounts = sampleOtuCounts.get( sampleId );
-			for( final String otu: otuCounts.keySet() ) {
-				final String taxa = getTaxaName( otu, level );
+			TreeMap<String, Long> sampleTaxaCounts = null;
+			for( final Map.Entry<String, Long> otuCount: sampleOtuCounts.get( sampleId ).entrySet() ) {
+				final String taxa = TaxaDictionary.getTaxaName( otuCount.getKey(), level );
 				if( taxa != null ) {
-					if( taxaCounts.get( sampleId ) == null ) taxaCounts.put( sampleId, new TreeMap<>() );
-					if( taxaCounts.get( sampleId ).get( taxa ) == null ) taxaCounts.get( sampleId ).put( taxa, 0L );
-					taxaCounts.get( sampleId ).put( taxa,
-						taxaCounts.get( sampleId ).get( taxa ) + otuCounts.get( otu ) );
+					if( sampleTaxaCounts == null ) {
+						sampleTaxaCounts = new TreeMap<>();
+						taxaCounts.put( sampleId, sampleTaxaCounts );
+					}
+					sampleTaxaCounts.merge( taxa, otuCount.getValue(), Long::sum );
 				}
 			}
 		}
@@ -154,8 +155,8 @@ public class TaxaUtil {
 	public static TreeMap<String, String> getTaxaByLevel( final String otu ) {
 		final TreeMap<String, String> map = new TreeMap<>();
 		for( final String level: getTaxaLevels() ) {
-			final String name = getTaxaName( otu, level );
-			if( name != null ) map.put( level, getTaxaName( otu, level ) );
+			final String name = TaxaDictionary.getTaxaName( otu, level );
+			if( name != null ) map.put( level, name );
 		}
 		return map;
 	}
@@ -0,0 +1,292 @@
+/**
+ * @UNCC Fodor Lab
+ * @author Michael Sioda
+ * @email msioda@uncc.edu
+ * @date Oct 17, 2026
+ * @disclaimer This code is free software; you can redistribute it and/or modify it under the terms of the GNU General
+ * Public License as published by the Free Software Foundation; either version 2 of the License, or (at your option) any
+ * later version, provided that any use properly credits the author. This program is distributed in the hope that it
+ * will be useful, but WITHOUT ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS FOR A
+ * PARTICULAR PURPOSE. See the GNU General Public License for more details at http://www.gnu.org *
+ */
+package biolockj.util;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import biolockj.Constants;
+import biolockj.Log;
+
+/**
+ * Track the status of the worker scripts of a single {@link biolockj.module.ScriptModule}.<br>
+ * The worker script list is read once, and the status of each worker is held in memory. Status changes are detected
+ * by watching the script directory for new {@value biolockj.Constants#SCRIPT_STARTED},
+ * {@value biolockj.Constants#SCRIPT_SUCCESS} and {@value biolockj.Constants#SCRIPT_FAILURES} indicator files.<br>
+ * File system events are not delivered reliably on network file systems (such as NFS), so workers that have not
+ * finished are also re-checked on disk each time {@link #awaitChange(long)} times out.
+ */
+public class WorkerScriptMonitor implements Closeable {
+
+	/**
+	 * Status of a single worker script.
+	 */
+	public enum Status {
+		/**
+		 * Worker failed - {@value biolockj.Constants#SCRIPT_FAILURES} indicator file exists
+		 */
+		FAILED,
+		/**
+		 * Worker not started - no indicator file exists
+		 */
+		QUEUED,
+		/**
+		 * Worker running - {@value biolockj.Constants#SCRIPT_STARTED} indicator file exists
+		 */
+		RUNNING,
+		/**
+		 * Worker succeeded - {@value biolockj.Constants#SCRIPT_SUCCESS} indicator file exists
+		 */
+		SUCCESS;
+
+		/**
+		 * Return true if the worker has finished, regardless of outcome.
+		 *
+		 * @return true for {@link #SUCCESS} or {@link #FAILED}
+		 */
+		public boolean isDone() {
+			return this == SUCCESS || this == FAILED;
+		}
+	}
+
+	/**
+	 * Build a monitor for the given worker scripts, all of which must be in the scriptDir.
+	 *
+	 * @param scriptDir Module script directory
+	 * @param workerScripts Worker scripts
+	 * @param useWatchService Set false to only check indicator files on disk
+	 */
+	public WorkerScriptMonitor( final File scriptDir, final Collection<File> workerScripts,
+		final boolean useWatchService ) {
+		this.scriptDir = scriptDir;
+		for( final File script: workerScripts )
+			this.workers.put( script.getName(), script );
+		if( useWatchService ) this.watcher = registerWatcher( scriptDir );
+		refresh();
+	}
+
+	/**
+	 * Wait up to maxMillis for the status of a worker to change.<br>
+	 * Returns as soon as an indicator file event changes the status of a worker. Other file events in the script
+	 * directory are ignored, and the wait continues until maxMillis has passed. If no status change is seen by then
+	 * (or the WatchService is unavailable), the indicator files of unfinished workers are checked on disk.
+	 *
+	 * @param maxMillis Max number of milliseconds to wait
+	 * @return true if the status of any worker changed
+	 * @throws InterruptedException if interrupted while waiting
+	 */
+	public boolean awaitChange( final long maxMillis ) throws InterruptedException {
+		final long endTime = System.currentTimeMillis() + maxMillis;
+		for( long wait = maxMillis; this.watcher != null && wait > 0; wait = endTime - System.currentTimeMillis() ) {
+			final WatchKey key = this.watcher.poll( wait, TimeUnit.MILLISECONDS );
+			if( key == null ) break;
+
+			boolean changed = false;
+			boolean overflow = false;
+			for( final WatchEvent<?> event: key.pollEvents() ) {
+				if( event.kind() == StandardWatchEventKinds.OVERFLOW ) overflow = true;
+				else changed = update( event.context().toString() ) || changed;
+			}
+
+			if( !key.reset() ) {
+				Log.warn( getClass(),
+					"Lost watch on " + this.scriptDir.getAbsolutePath() + " --> fall back to polling" );
+				close();
+			}
+
+			if( overflow ? refresh() || changed: changed ) return true;
+		}
+
+		final long wait = endTime - System.currentTimeMillis();
+		if( wait > 0 ) Thread.sleep( wait );
+		return refresh();
+	}
+
+	@Override
+	public void close() {
+		if( this.watcher != null ) try {
+			this.watcher.close();
+		} catch( final IOException ex ) {
+			Log.warn( getClass(), "Unable to close WatchService: " + ex.getMessage() );
+		} finally {
+			this.watcher = null;
+		}
+	}
+
+	/**
+	 * Return the number of workers with the given status.
+	 *
+	 * @param status Worker status
+	 * @return Count
+	 */
+	public int count( final Status status ) {
+		int count = 0;
+		for( final Status s: this.status.values() )
+			if( s == status ) count++;
+		return count;
+	}
+
+	/**
+	 * Return the number of workers that have started, including finished workers.
+	 *
+	 * @return Count
+	 */
+	public int getNumStarted() {
+		return size() - count( Status.QUEUED );
+	}
+
+	/**
+	 * Return the worker scripts with the given status.
+	 *
+	 * @param status Worker status
+	 * @return Worker scripts
+	 */
+	public List<File> getWorkers( final Status status ) {
+		final List<File> scripts = new ArrayList<>();
+		for( final String name: this.workers.keySet() )
+			if( this.status.get( name ) == status ) scripts.add( this.workers.get( name ) );
+		return scripts;
+	}
+
+	/**
+	 * Return true if all workers have finished, regardless of status.
+	 *
+	 * @return true if no workers are queued or running
+	 */
+	public boolean isDone() {
+		return size() > 0 && count( Status.SUCCESS ) + count( Status.FAILED ) == size();
+	}
+
+	/**
+	 * Return true if the WatchService is active.
+	 *
+	 * @return true if file system events are used to detect status changes
+	 */
+	public boolean isWatching() {
+		return this.watcher != null;
+	}
+
+	/**
+	 * Create the {@value biolockj.Constants#SCRIPT_FAILURES} indicator file for a worker that did not report its own
+	 * status.
+	 *
+	 * @param script Worker script
+	 * @throws IOException if unable to create the indicator file
+	 */
+	public void markFailed( final File script ) throws IOException {
+		getFlag( script, Constants.SCRIPT_FAILURES ).createNewFile();
+		this.status.put( script.getName(), Status.FAILED );
+	}
+
+	/**
+	 * Check the indicator files on disk for all workers that have not finished.
+	 *
+	 * @return true if the status of any worker changed
+	 */
+	public boolean refresh() {
+		boolean changed = false;
+		for( final String name: this.workers.keySet() ) {
+			final Status prev = this.status.get( name );
+			if( prev != null && prev.isDone() ) continue;
+			final Status next = readStatus( this.workers.get( name ) );
+			this.status.put( name, next );
+			changed = changed || next != prev;
+		}
+		return changed;
+	}
+
+	/**
+	 * Check the indicator files on disk for a single worker, unless it has already finished.
+	 *
+	 * @param script Worker script
+	 * @return Current worker status
+	 */
+	public Status refresh( final File script ) {
+		final Status prev = this.status.get( script.getName() );
+		if( prev == null || prev.isDone() ) return prev;
+		final Status next = readStatus( script );
+		this.status.put( script.getName(), next );
+		return next;
+	}
+
+	/**
+	 * Return the total number of worker scripts.
+	 *
+	 * @return Number of workers
+	 */
+	public int size() {
+		return this.workers.size();
+	}
+
+	/**
+	 * Return the status summary used in the pipeline log.
+	 *
+	 * @return Status summary
+	 */
+	public String statusSummary() {
+		return "(Total=" + size() + "): Success=" + count( Status.SUCCESS ) + "; Failed=" + count( Status.FAILED ) +
+			"; Running=" + count( Status.RUNNING ) + "; Queued=" + count( Status.QUEUED );
+	}
+
+	private boolean update( final String fileName ) {
+		for( final String suffix: FLAG_SUFFIXES ) {
+			if( !fileName.endsWith( "_" + suffix ) ) continue;
+			final String name = fileName.substring( 0, fileName.length() - suffix.length() - 1 );
+			final Status prev = this.status.get( name );
+			if( prev == null || prev.isDone() ) return false;
+			final Status next = readStatus( this.workers.get( name ) );
+			this.status.put( name, next );
+			return next != prev;
+		}
+		return false;
+	}
+
+	private static File getFlag( final File script, final String suffix ) {
+		return new File( script.getAbsolutePath() + "_" + suffix );
+	}
+
+	private static Status readStatus( final File script ) {
+		if( getFlag( script, Constants.SCRIPT_FAILURES ).isFile() ) return Status.FAILED;
+		if( getFlag( script, Constants.SCRIPT_SUCCESS ).isFile() ) return Status.SUCCESS;
+		if( getFlag( script, Constants.SCRIPT_STARTED ).isFile() ) return Status.RUNNING;
+		return Status.QUEUED;
+	}
+
+	private static WatchService registerWatcher( final File dir ) {
+		WatchService watchService = null;
+		try {
+			watchService = FileSystems.getDefault().newWatchService();
+			dir.toPath().register( watchService, StandardWatchEventKinds.ENTRY_CREATE,
+				StandardWatchEventKinds.ENTRY_MODIFY );
+			return watchService;
+		} catch( final IOException | UnsupportedOperationException ex ) {
+			Log.warn( WorkerScriptMonitor.class,
+				"Unable to watch " + dir.getAbsolutePath() + " --> fall back to polling: " + ex.getMessage() );
+			if( watchService != null ) try {
+				watchService.close();
+			} catch( final IOException ex2 ) {
+				// ignore
+			}
+		}
+		return null;
+	}
+
+	private final File scriptDir;
+	private final Map<String, Status> status = new HashMap<>();
+	private WatchService watcher = null;
+	private final Map<String, File> workers = new TreeMap<>();
+	private static final String[] FLAG_SUFFIXES =
+		{ Constants.SCRIPT_STARTED, Constants.SCRIPT_SUCCESS, Constants.SCRIPT_FAILURES };
+}